@@ -8,32 +8,84 @@ db.createCollection("menu")
 db.createCollection("gallery")
 db.createCollection("reviews")
 db.createCollection("quotes")
+// Archived quotes are rarely read, so trade CPU for disk with zstd block compression
+db.createCollection("quotes_archive", { storageEngine: { wiredTiger: { configString: "block_compressor=zstd" } } })
+db.createCollection("idempotency_keys")
+db.createCollection("quote_daily_rollups")
+db.createCollection("rollup_watermarks")
+db.createCollection("upload_sessions")
+db.createCollection("revoked_tokens")
+db.createCollection("outbox")
+
+// Listings sort by (sortBy, _id), so every sortable field is indexed together with _id.
+// Drop the single-field indexes these replace; a missing index is not an error.
+function dropIndexIfExists(collection, name) {
+    if (db[collection].getIndexes().some(function(index) { return index.name === name })) {
+        db[collection].dropIndex(name)
+    }
+}
+dropIndexIfExists("menu", "idx_menu_name")
+dropIndexIfExists("menu", "idx_menu_price")
+dropIndexIfExists("menu", "idx_menu_createdAt")
+dropIndexIfExists("gallery", "idx_gallery_type")
+dropIndexIfExists("gallery", "idx_gallery_name")
+dropIndexIfExists("gallery", "idx_gallery_createdAt")
+dropIndexIfExists("reviews", "idx_reviews_stars")
+dropIndexIfExists("reviews", "idx_reviews_type")
+dropIndexIfExists("reviews", "idx_reviews_guestsCount")
+dropIndexIfExists("reviews", "idx_reviews_createdAt")
+dropIndexIfExists("quotes", "idx_quotes_email")
+dropIndexIfExists("quotes", "idx_quotes_phoneNumber")
+dropIndexIfExists("quotes", "idx_quotes_eventDate")
+dropIndexIfExists("quotes", "idx_quotes_eventType")
+dropIndexIfExists("quotes", "idx_quotes_createdAt")
 
 // Create indexes for Menu
 db.menu.createIndex({ "imageId": 1 }, { unique: true, name: "idx_menu_imageId" })
-db.menu.createIndex({ "name": 1 }, { name: "idx_menu_name" })
-db.menu.createIndex({ "price": 1 }, { name: "idx_menu_price" })
-db.menu.createIndex({ "createdAt": -1 }, { name: "idx_menu_createdAt" })
+db.menu.createIndex({ "name": 1, "_id": 1 }, { name: "idx_menu_name_id" })
+db.menu.createIndex({ "price": 1, "_id": 1 }, { name: "idx_menu_price_id" })
+db.menu.createIndex({ "createdAt": -1, "_id": -1 }, { name: "idx_menu_createdAt_id" })
 
 // Create indexes for Gallery
 db.gallery.createIndex({ "imageId": 1 }, { unique: true, name: "idx_gallery_imageId" })
-db.gallery.createIndex({ "type": 1 }, { name: "idx_gallery_type" })
-db.gallery.createIndex({ "name": 1 }, { name: "idx_gallery_name" })
-db.gallery.createIndex({ "createdAt": -1 }, { name: "idx_gallery_createdAt" })
+db.gallery.createIndex({ "type": 1, "_id": 1 }, { name: "idx_gallery_type_id" })
+db.gallery.createIndex({ "name": 1, "_id": 1 }, { name: "idx_gallery_name_id" })
+db.gallery.createIndex({ "createdAt": -1, "_id": -1 }, { name: "idx_gallery_createdAt_id" })
+
+// Revoked tokens are only kept until the token would have expired anyway
+db.revoked_tokens.createIndex({ "expireAt": 1 }, { expireAfterSeconds: 0, name: "idx_revoked_tokens_expireAt" })
+
+// Upload sessions are swept by status once they expire
+db.upload_sessions.createIndex({ "status": 1, "expiresAt": 1 }, { name: "idx_upload_sessions_status_expiresAt" })
+
+// Outbox messages are claimed oldest-first while pending and dropped after the retention period once done
+db.outbox.createIndex({ "status": 1, "availableAt": 1 }, { name: "idx_outbox_status_availableAt" })
+db.outbox.createIndex({ "expireAt": 1 }, { expireAfterSeconds: 0, name: "idx_outbox_expireAt" })
 
 // Create indexes for Reviews
 db.reviews.createIndex({ "imageId": 1 }, { unique: true, name: "idx_reviews_imageId" })
-db.reviews.createIndex({ "stars": -1 }, { name: "idx_reviews_stars" })
-db.reviews.createIndex({ "type": 1 }, { name: "idx_reviews_type" })
-db.reviews.createIndex({ "guestsCount": -1 }, { name: "idx_reviews_guestsCount" })
-db.reviews.createIndex({ "createdAt": -1 }, { name: "idx_reviews_createdAt" })
+db.reviews.createIndex({ "stars": -1, "_id": -1 }, { name: "idx_reviews_stars_id" })
+db.reviews.createIndex({ "type": 1, "_id": 1 }, { name: "idx_reviews_type_id" })
+db.reviews.createIndex({ "guestsCount": -1, "_id": -1 }, { name: "idx_reviews_guestsCount_id" })
+db.reviews.createIndex({ "createdAt": -1, "_id": -1 }, { name: "idx_reviews_createdAt_id" })
 
 // Create indexes for Quotes
-db.quotes.createIndex({ "email": 1 }, { name: "idx_quotes_email" })
-db.quotes.createIndex({ "phoneNumber": 1 }, { name: "idx_quotes_phoneNumber" })
-db.quotes.createIndex({ "eventDate": 1 }, { name: "idx_quotes_eventDate" })
-db.quotes.createIndex({ "eventType": 1 }, { name: "idx_quotes_eventType" })
-db.quotes.createIndex({ "createdAt": -1 }, { name: "idx_quotes_createdAt" })
+db.quotes.createIndex({ "email": 1, "_id": 1 }, { name: "idx_quotes_email_id" })
+db.quotes.createIndex({ "phoneNumber": 1, "_id": 1 }, { name: "idx_quotes_phoneNumber_id" })
+db.quotes.createIndex({ "eventDate": 1, "_id": 1 }, { name: "idx_quotes_eventDate_id" })
+db.quotes.createIndex({ "eventType": 1, "_id": 1 }, { name: "idx_quotes_eventType_id" })
+db.quotes.createIndex({ "createdAt": -1, "_id": -1 }, { name: "idx_quotes_createdAt_id" })
+// The rollup job finds quotes written since its watermark, then recomputes their creation days across both collections
+db.quotes.createIndex({ "changedAt": 1 }, { name: "idx_quotes_changedAt" })
+db.quotes_archive.createIndex({ "createdAt": 1 }, { name: "idx_quotes_archive_createdAt" })
+// The outbox dispatcher picks up notifications embedded in newly inserted quotes; only those quotes are indexed
+db.quotes.createIndex({ "createdAt": 1 }, { partialFilterExpression: { "pendingNotifications": { $exists: true } }, name: "idx_quotes_pendingNotifications" })
+
+// Create indexes for Idempotency Keys
+db.idempotency_keys.createIndex({ "expireAt": 1 }, { expireAfterSeconds: 0, name: "idx_idempotency_keys_expireAt" })
+
+// Create indexes for Quote Daily Rollups
+db.quote_daily_rollups.createIndex({ "day": 1, "eventType": 1 }, { name: "idx_quote_daily_rollups_day_eventType" })
 
 // Insert sample data for testing (optional)
 
@@ -96,6 +148,12 @@ db.quotes.insertOne({
     "updatedAt": new Date()
 })
 
+// Backfill optimistic-locking versions for documents written before the version field existed
+db.menu.updateMany({ "version": { $exists: false } }, { $set: { "version": NumberLong(0) } })
+db.gallery.updateMany({ "version": { $exists: false } }, { $set: { "version": NumberLong(0) } })
+db.reviews.updateMany({ "version": { $exists: false } }, { $set: { "version": NumberLong(0) } })
+db.quotes.updateMany({ "version": { $exists: false } }, { $set: { "version": NumberLong(0) } })
+
 // Verify collections and indexes
 print("\n=== Collections ===")
 db.getCollectionNames().forEach(function(collection) {
@@ -122,6 +180,16 @@ db.quotes.getIndexes().forEach(function(index) {
     print(index.name)
 })
 
+print("\n=== Idempotency Keys Indexes ===")
+db.idempotency_keys.getIndexes().forEach(function(index) {
+    print(index.name)
+})
+
+print("\n=== Quote Daily Rollups Indexes ===")
+db.quote_daily_rollups.getIndexes().forEach(function(index) {
+    print(index.name)
+})
+
 print("\n=== Document Counts ===")
 print("Menu: " + db.menu.countDocuments())
 print("Gallery: " + db.gallery.countDocuments())
@@ -0,0 +1,140 @@
+#!/usr/bin/env bash
+# Starts the native image against a running MongoDB and calls every controller once.
+# The image must be built with -Dnative.storage.type=filesystem so FileController is present.
+# Set SMOKE_ADMIN_PASSWORD and ADMIN_PASSWORD_HASH (its BCrypt hash) to also run the authenticated upload flow.
+# Usage: scripts/native-smoke-test.sh [path-to-binary]
+set -euo pipefail
+
+BINARY="${1:-target/sri-karthikeya-caterers}"
+PORT="${SMOKE_PORT:-18080}"
+BASE="http://localhost:${PORT}"
+WORK_DIR="$(mktemp -d)"
+FAILURES=0
+
+cleanup() {
+    if [[ -n "${APP_PID:-}" ]]; then
+        kill "${APP_PID}" 2>/dev/null || true
+        wait "${APP_PID}" 2>/dev/null || true
+    fi
+    rm -rf "${WORK_DIR}"
+}
+trap cleanup EXIT
+
+expect() {
+    local expected="$1" method="$2" path="$3"
+    shift 3
+    local status
+    status=$(curl -s -o "${WORK_DIR}/body" -w '%{http_code}' -X "${method}" "$@" "${BASE}${path}")
+    if [[ ",${expected}," == *",${status},"* ]]; then
+        echo "ok    ${status} ${method} ${path}"
+    else
+        echo "FAIL  ${status} ${method} ${path} (expected ${expected})"
+        head -c 500 "${WORK_DIR}/body"; echo
+        FAILURES=$((FAILURES + 1))
+    fi
+}
+
+START=$(date +%s%N)
+SERVER_PORT="${PORT}" \
+STORAGE_TYPE=filesystem \
+CATALOG_DIR="${WORK_DIR}/catalog" \
+STORAGE_ROOT="${WORK_DIR}/objects" \
+QUOTE_JOURNAL_DIR="${WORK_DIR}/journal" \
+AWS_ACCESS_KEY="${AWS_ACCESS_KEY:-smoke}" \
+AWS_SECRET_KEY="${AWS_SECRET_KEY:-smoke}" \
+"${BINARY}" > "${WORK_DIR}/app.log" 2>&1 &
+APP_PID=$!
+
+for _ in $(seq 1 200); do
+    if curl -sf "${BASE}/actuator/health" > /dev/null; then
+        break
+    fi
+    if ! kill -0 "${APP_PID}" 2>/dev/null; then
+        cat "${WORK_DIR}/app.log"
+        echo "Application exited during startup"
+        exit 1
+    fi
+    sleep 0.05
+done
+READY=$(( ($(date +%s%N) - START) / 1000000 ))
+echo "Ready in ${READY} ms"
+
+FROM=$(date +%F)
+TO=$(date -d '+30 days' +%F)
+EVENT_DATE=$(date -d '+60 days' +%F)
+
+expect 200 GET "/actuator/health"
+expect 200,404 GET "/api/catalog" -H 'Accept-Encoding: gzip'
+expect 200 GET "/api/menu?page=0&size=5&includeImageUrls=true"
+expect 200 GET "/api/gallery?page=0&size=5"
+expect 200 GET "/api/reviews?page=0&size=5"
+expect 200 GET "/api/quotes?page=0&size=5"
+expect 200 GET "/api/menu/batch?ids=00000000-0000-4000-8000-000000000000"
+expect 404 GET "/api/reviews/00000000-0000-4000-8000-000000000000"
+expect 200 GET "/api/quotes/availability?from=${FROM}&to=${TO}"
+expect 200 GET "/api/analytics/quotes/daily?from=${FROM}&to=${TO}"
+expect 200 GET "/api/analytics/quotes/event-types?from=${FROM}&to=${TO}"
+expect 201 POST "/api/quotes" -H 'Content-Type: application/json' \
+    -d "{\"fullName\":\"Native Smoke\",\"phoneNumber\":\"9876543210\",\"email\":\"smoke@example.com\",\"eventDate\":\"${EVENT_DATE}\",\"eventType\":\"WEDDING\",\"expectedGuests\":120}"
+QUOTE_ID=$(sed -n 's/.*"id":"\([0-9a-fA-F-]\{36\}\)".*/\1/p' "${WORK_DIR}/body")
+if [[ -n "${QUOTE_ID}" ]]; then
+    expect 200 GET "/api/quotes/${QUOTE_ID}"
+fi
+expect 400 POST "/api/quotes" -H 'Content-Type: application/json' -d '{}'
+expect 401,403 POST "/api/menu" -H 'Content-Type: application/json' -d '{}'
+expect 401 POST "/api/auth/login" -H 'Content-Type: application/json' -d '{"username":"smoke","password":"smoke"}'
+expect 401,403 DELETE "/api/gallery/00000000-0000-4000-8000-000000000000"
+expect 401,403 POST "/api/gallery/uploads" -H 'Content-Type: application/json' -d '{}'
+expect 401,403 GET "/api/gallery/uploads/00000000-0000-4000-8000-000000000000"
+expect 404 GET "/files/gallery/smoke.png?expires=0&signature=invalid"
+expect 404 PUT "/files/gallery/smoke.png?expires=0&signature=invalid" -H 'Content-Type: image/png' --data-binary 'smoke'
+
+json_field() {
+    sed -n "s/.*\"$1\":\"\([^\"]*\)\".*/\1/p" "${WORK_DIR}/body"
+}
+
+if [[ -n "${SMOKE_ADMIN_PASSWORD:-}" ]]; then
+    # 1x1 transparent PNG
+    printf '%s' 'iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==' \
+        | base64 -d > "${WORK_DIR}/smoke.png"
+    IMAGE_SIZE=$(stat -c %s "${WORK_DIR}/smoke.png")
+    UPLOAD_REQUEST="{\"type\":\"GALLERY\",\"name\":\"Native Smoke\",\"description\":\"Native smoke test\",\"contentType\":\"image/png\",\"size\":${IMAGE_SIZE}}"
+
+    expect 200 POST "/api/auth/login" -H 'Content-Type: application/json' \
+        -d "{\"username\":\"${ADMIN_USERNAME:-admin}\",\"password\":\"${SMOKE_ADMIN_PASSWORD}\"}"
+    AUTH="Authorization: Bearer $(json_field accessToken)"
+
+    expect 201 POST "/api/gallery/uploads" -H "${AUTH}" -H 'Content-Type: application/json' -d "${UPLOAD_REQUEST}"
+    UPLOAD_ID=$(json_field id)
+    UPLOAD_URL=$(json_field uploadUrl)
+    if [[ -n "${UPLOAD_ID}" && -n "${UPLOAD_URL}" ]]; then
+        expect 200 PUT "${UPLOAD_URL#"${BASE}"}" -H 'Content-Type: image/png' --data-binary "@${WORK_DIR}/smoke.png"
+        expect 201 POST "/api/gallery/uploads/${UPLOAD_ID}/complete" -H "${AUTH}"
+        IMAGE_URL=$(json_field imageUrl)
+        if [[ -n "${IMAGE_URL}" ]]; then
+            expect 200 GET "${IMAGE_URL#"${BASE}"}"
+        fi
+        expect 200 DELETE "/api/gallery/${UPLOAD_ID}" -H "${AUTH}"
+    fi
+
+    expect 201 POST "/api/gallery/uploads/resumable" -H "${AUTH}" -H 'Content-Type: application/json' -d "${UPLOAD_REQUEST}"
+    RESUMABLE_ID=$(json_field id)
+    if [[ -n "${RESUMABLE_ID}" ]]; then
+        expect 200 PUT "/api/gallery/uploads/${RESUMABLE_ID}/chunks/1" -H "${AUTH}" \
+            -H 'Content-Type: application/octet-stream' --data-binary "@${WORK_DIR}/smoke.png"
+        expect 200 GET "/api/gallery/uploads/${RESUMABLE_ID}" -H "${AUTH}"
+        expect 201 POST "/api/gallery/uploads/${RESUMABLE_ID}/complete" -H "${AUTH}"
+        expect 200 DELETE "/api/gallery/${RESUMABLE_ID}" -H "${AUTH}"
+    fi
+else
+    echo "skip  authenticated upload flow (SMOKE_ADMIN_PASSWORD not set)"
+fi
+
+RSS_KB=$(awk '/VmRSS/ {print $2}' "/proc/${APP_PID}/status" 2>/dev/null || echo "?")
+echo "Resident memory: ${RSS_KB} kB"
+
+if (( FAILURES > 0 )); then
+    echo "${FAILURES} smoke check(s) failed"
+    exit 1
+fi
+echo "All smoke checks passed"
@@ -0,0 +1,77 @@
+package sri.karthikeya.caterers.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+public final class BaselineComparator {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD = 0.10;
+
+    private BaselineComparator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(System.getProperty("jmh.threshold", String.valueOf(DEFAULT_THRESHOLD)));
+
+        if (!Files.exists(baseline)) {
+            log.warn("No baseline at {} - copy {} there to record one", baseline, result);
+            return;
+        }
+
+        Map<String, double[]> current = read(result);
+        Map<String, double[]> previous = read(baseline);
+        int regressions = 0;
+
+        StringBuilder table = new StringBuilder(String.format("%-90s %14s %14s %9s %14s %14s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Base B/op", "Curr B/op"));
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] before = previous.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            double[] after = entry.getValue();
+            double change = (after[0] - before[0]) / before[0];
+            boolean regressed = change > threshold || after[1] > before[1] * (1 + threshold);
+            if (regressed) {
+                regressions++;
+            }
+            table.append(String.format("%-90s %14.3f %14.3f %+8.1f%% %14.1f %14.1f%s%n",
+                    entry.getKey(), before[0], after[0], change * 100, before[1], after[1], regressed ? "  REGRESSION" : ""));
+        }
+        log.info("Benchmark results against {}:\n{}", baseline, table);
+
+        if (regressions > 0) {
+            log.error("{} benchmark(s) regressed by more than {}%", regressions, (int) (threshold * 100));
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, double[]> read(Path path) throws IOException {
+        Map<String, double[]> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(param ->
+                        name.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+            }
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score");
+            scores.put(name.toString(), new double[]{
+                    run.get("primaryMetric").get("score").asDouble(),
+                    allocation.isMissingNode() ? 0 : allocation.asDouble()
+            });
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,110 @@
+package sri.karthikeya.caterers.benchmark;
+
+import sri.karthikeya.caterers.dto.request.MenuRequest;
+import sri.karthikeya.caterers.dto.request.QuoteRequest;
+import sri.karthikeya.caterers.dto.request.ReviewRequest;
+import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.MenuResponse;
+import sri.karthikeya.caterers.dto.response.PageResponse;
+import sri.karthikeya.caterers.entity.Gallery;
+import sri.karthikeya.caterers.entity.Menu;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.entity.Review;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+import sri.karthikeya.caterers.enums.TopPicks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+    static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30, 45);
+    static final List<String> MENU_ITEMS = List.of(
+            "Chicken Biryani", "Paneer Butter Masala", "Dal Makhani", "Butter Naan", "Raita", "Gulab Jamun");
+
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static Menu menu(int index) {
+        Menu menu = new Menu(UUID.nameUUIDFromBytes(("menu-" + index).getBytes()).toString(),
+                UUID.nameUUIDFromBytes(("image-" + index).getBytes()).toString(),
+                "Wedding Special Package " + index, 599.99 + index,
+                "Complete wedding catering package with traditional dishes", MENU_ITEMS);
+        menu.setCreatedAt(CREATED_AT);
+        menu.setUpdatedAt(CREATED_AT);
+        return menu;
+    }
+
+    static MenuRequest menuRequest() {
+        return new MenuRequest(UUID.randomUUID().toString(), "Wedding Special Package", 599.99,
+                "Complete wedding catering package with traditional dishes", MENU_ITEMS);
+    }
+
+    static Review review(int index) {
+        Review review = new Review(UUID.nameUUIDFromBytes(("review-" + index).getBytes()).toString(),
+                UUID.nameUUIDFromBytes(("image-" + index).getBytes()).toString(),
+                "December 2024", 500, 5,
+                "Excellent service and delicious food. The team was very professional.",
+                List.of(TopPicks.FOOD, TopPicks.SERVICE, TopPicks.PRESENTATION), ReviewEventType.WEDDING);
+        review.setCreatedAt(CREATED_AT);
+        review.setUpdatedAt(CREATED_AT);
+        return review;
+    }
+
+    static ReviewRequest reviewRequest() {
+        return new ReviewRequest(UUID.randomUUID().toString(), "December 2024", 500, 5,
+                "Excellent service and delicious food. The team was very professional.",
+                List.of(TopPicks.FOOD, TopPicks.SERVICE, TopPicks.PRESENTATION), ReviewEventType.WEDDING);
+    }
+
+    static Quote quote(int index) {
+        Quote quote = new Quote(UUID.nameUUIDFromBytes(("quote-" + index).getBytes()).toString(),
+                "John Doe", "+919876543210", "john.doe@example.com", LocalDate.of(2026, 12, 25),
+                ReviewEventType.WEDDING, 300, "Need vegetarian options only.", null, null);
+        quote.setCreatedAt(CREATED_AT);
+        quote.setUpdatedAt(CREATED_AT);
+        return quote;
+    }
+
+    static QuoteRequest quoteRequest() {
+        return new QuoteRequest("John Doe", "+919876543210", "john.doe@example.com", LocalDate.of(2026, 12, 25),
+                ReviewEventType.WEDDING, 300, "Need vegetarian options only.");
+    }
+
+    static Gallery gallery(int index) {
+        Gallery gallery = new Gallery(UUID.nameUUIDFromBytes(("gallery-" + index).getBytes()).toString(),
+                "gallery/" + UUID.nameUUIDFromBytes(("image-" + index).getBytes()) + ".jpg",
+                GalleryType.GALLERY, "Professional Catering Service " + index,
+                "Our experienced team providing excellent catering services");
+        gallery.setCreatedAt(CREATED_AT);
+        gallery.setUpdatedAt(CREATED_AT);
+        return gallery;
+    }
+
+    static ApiResponse<PageResponse<MenuResponse>> menuPage(int size) {
+        List<MenuResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Menu menu = menu(i);
+            content.add(new MenuResponse(menu.getId(), menu.getImageId(),
+                    "https://images.example.com/" + menu.getImageId(), menu.getName(), menu.getPrice(),
+                    menu.getDescription(), menu.getItems(), menu.getCreatedAt(), menu.getUpdatedAt(), 0L));
+        }
+        PageResponse<MenuResponse> page = PageResponse.<MenuResponse>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(size)
+                .totalElements(size)
+                .totalPages(1)
+                .last(true)
+                .build();
+        return ApiResponse.<PageResponse<MenuResponse>>builder()
+                .success(true)
+                .message("Menus retrieved successfully")
+                .data(page)
+                .build();
+    }
+}
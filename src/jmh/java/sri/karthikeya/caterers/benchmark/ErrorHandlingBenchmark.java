@@ -0,0 +1,43 @@
+package sri.karthikeya.caterers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import sri.karthikeya.caterers.dto.response.ErrorResponse;
+import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
+import sri.karthikeya.caterers.exception.handler.GlobalExceptionHandler;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorHandlingBenchmark {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException exception;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/menu/550e8400-e29b-41d4-a716-446655440000");
+        exception = new ResourceNotFoundException("Menu not found with id: 550e8400-e29b-41d4-a716-446655440000");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> buildErrorResponse() {
+        return handler.handleResourceNotFound(exception, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> throwAndBuildErrorResponse() {
+        try {
+            throw new ResourceNotFoundException("Menu not found with id: 550e8400-e29b-41d4-a716-446655440000");
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFound(e, request);
+        }
+    }
+}
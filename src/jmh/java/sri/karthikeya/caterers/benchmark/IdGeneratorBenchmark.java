@@ -0,0 +1,32 @@
+package sri.karthikeya.caterers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrderedUuid() {
+        return IdGenerator.newId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String timeOrderedUuidContended() {
+        return IdGenerator.newId();
+    }
+}
@@ -0,0 +1,88 @@
+package sri.karthikeya.caterers.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import sri.karthikeya.caterers.dto.request.MenuRequest;
+import sri.karthikeya.caterers.dto.request.QuoteRequest;
+import sri.karthikeya.caterers.dto.request.ReviewRequest;
+import sri.karthikeya.caterers.dto.response.GalleryResponse;
+import sri.karthikeya.caterers.dto.response.MenuResponse;
+import sri.karthikeya.caterers.dto.response.QuoteResponse;
+import sri.karthikeya.caterers.dto.response.ReviewResponse;
+import sri.karthikeya.caterers.entity.Gallery;
+import sri.karthikeya.caterers.entity.Menu;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.entity.Review;
+import sri.karthikeya.caterers.mapper.GalleryMapper;
+import sri.karthikeya.caterers.mapper.MenuMapper;
+import sri.karthikeya.caterers.mapper.QuoteMapper;
+import sri.karthikeya.caterers.mapper.ReviewMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final MenuMapper menuMapper = Mappers.getMapper(MenuMapper.class);
+    private final ReviewMapper reviewMapper = Mappers.getMapper(ReviewMapper.class);
+    private final QuoteMapper quoteMapper = Mappers.getMapper(QuoteMapper.class);
+    private final GalleryMapper galleryMapper = Mappers.getMapper(GalleryMapper.class);
+
+    private Menu menu;
+    private MenuRequest menuRequest;
+    private Review review;
+    private ReviewRequest reviewRequest;
+    private Quote quote;
+    private QuoteRequest quoteRequest;
+    private Gallery gallery;
+
+    @Setup
+    public void setUp() {
+        menu = BenchmarkFixtures.menu(0);
+        menuRequest = BenchmarkFixtures.menuRequest();
+        review = BenchmarkFixtures.review(0);
+        reviewRequest = BenchmarkFixtures.reviewRequest();
+        quote = BenchmarkFixtures.quote(0);
+        quoteRequest = BenchmarkFixtures.quoteRequest();
+        gallery = BenchmarkFixtures.gallery(0);
+    }
+
+    @Benchmark
+    public MenuResponse menuToResponse() {
+        return menuMapper.toResponse(menu);
+    }
+
+    @Benchmark
+    public Menu menuToEntity() {
+        return menuMapper.toEntity(menuRequest);
+    }
+
+    @Benchmark
+    public ReviewResponse reviewToResponse() {
+        return reviewMapper.toResponse(review);
+    }
+
+    @Benchmark
+    public Review reviewToEntity() {
+        return reviewMapper.toEntity(reviewRequest);
+    }
+
+    @Benchmark
+    public QuoteResponse quoteToResponse() {
+        return quoteMapper.toResponse(quote);
+    }
+
+    @Benchmark
+    public Quote quoteToEntity() {
+        return quoteMapper.toEntity(quoteRequest);
+    }
+
+    @Benchmark
+    public GalleryResponse galleryToResponse() {
+        return galleryMapper.toResponse(gallery);
+    }
+}
@@ -0,0 +1,25 @@
+package sri.karthikeya.caterers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sri.karthikeya.caterers.engine.s3.S3PathConstants;
+import sri.karthikeya.caterers.enums.GalleryType;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class S3PathBenchmark {
+    private final GalleryType[] types = GalleryType.values();
+
+    @Benchmark
+    public void getPathByType(Blackhole blackhole) {
+        for (GalleryType type : types) {
+            blackhole.consume(S3PathConstants.getPathByType(type));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package sri.karthikeya.caterers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sri.karthikeya.caterers.config.JacksonConfig;
+import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.MenuResponse;
+import sri.karthikeya.caterers.dto.response.PageResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"false", "true"})
+    private boolean optimized;
+
+    private JsonMapper jsonMapper;
+    private ApiResponse<PageResponse<MenuResponse>> menuPage;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JacksonConfig.customizeJsonMapper(JsonMapper.builder(), optimized).build();
+        menuPage = BenchmarkFixtures.menuPage(pageSize);
+
+        byte[] expected = JacksonConfig.customizeJsonMapper(JsonMapper.builder(), false).build().writeValueAsBytes(menuPage);
+        if (!Arrays.equals(expected, jsonMapper.writeValueAsBytes(menuPage))) {
+            throw new IllegalStateException("Optimized serialization output differs from the default mapper");
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeMenuPageToBytes() {
+        return jsonMapper.writeValueAsBytes(menuPage);
+    }
+
+    @Benchmark
+    public void serializeMenuPageToStream() {
+        jsonMapper.writeValue(OutputStream.nullOutputStream(), menuPage);
+    }
+}
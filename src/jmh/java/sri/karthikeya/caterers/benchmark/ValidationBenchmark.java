@@ -0,0 +1,44 @@
+package sri.karthikeya.caterers.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sri.karthikeya.caterers.exception.custom.ValidationException;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private String validUuid;
+    private String invalidUuid;
+
+    @Setup
+    public void setUp() {
+        validUuid = "550e8400-e29b-41d4-a716-446655440000";
+        invalidUuid = "550e8400-e29b-41d4-a716-44665544zzzz";
+    }
+
+    @Benchmark
+    public void validateValidUuid() {
+        ValidationUtil.validateUUID(validUuid, "id");
+    }
+
+    @Benchmark
+    public void validateInvalidUuid(Blackhole blackhole) {
+        try {
+            ValidationUtil.validateUUID(invalidUuid, "id");
+        } catch (ValidationException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void validatePagination() {
+        ValidationUtil.validatePagination(0, 10);
+    }
+}
@@ -0,0 +1,82 @@
+package sri.karthikeya.caterers.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfiguration.class)
+@SpringBootTest
+class IdLocalityLoadTest {
+    private static final Path RESULT = Path.of("target", "loadtest", "id-locality.json");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void insertThroughputByIdVersion() throws IOException {
+        int documents = Integer.getInteger("loadtest.ids.documents", 200_000);
+        int batchSize = Integer.getInteger("loadtest.ids.batch-size", 1_000);
+
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        results.put("uuid-v4", insert("loadtest_ids_v4", () -> UUID.randomUUID().toString(), documents, batchSize));
+        results.put("uuid-v7", insert("loadtest_ids_v7", IdGenerator::newId, documents, batchSize));
+
+        StringBuilder json = new StringBuilder("{\n");
+        results.forEach((name, metrics) -> {
+            log.info(String.format("%-8s %,10.0f docs/s  _id index %,d bytes", name,
+                    metrics.get("docsPerSecond"), metrics.get("idIndexBytes")));
+            json.append("  \"").append(name).append("\": {\"docsPerSecond\": ")
+                    .append(Math.round((Double) metrics.get("docsPerSecond")))
+                    .append(", \"idIndexBytes\": ").append(metrics.get("idIndexBytes")).append("},\n");
+        });
+        json.setLength(json.length() - 2);
+        json.append("\n}\n");
+        Files.createDirectories(RESULT.getParent());
+        Files.writeString(RESULT, json);
+    }
+
+    private Map<String, Object> insert(String collection, Supplier<String> ids, int documents, int batchSize) {
+        mongoTemplate.dropCollection(collection);
+        mongoTemplate.createCollection(collection);
+        String filler = "x".repeat(256);
+
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < documents; inserted += batchSize) {
+            List<Document> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < Math.min(batchSize, documents - inserted); i++) {
+                batch.add(new Document("_id", ids.get()).append("sequence", inserted + i).append("payload", filler));
+            }
+            mongoTemplate.getCollection(collection).insertMany(batch);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Document stats = mongoTemplate.getDb().runCommand(new Document("collStats", collection));
+        Object idIndexBytes = stats.get("indexSizes", Document.class).get("_id_");
+        mongoTemplate.dropCollection(collection);
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("docsPerSecond", documents / seconds);
+        metrics.put("idIndexBytes", ((Number) idIndexBytes).longValue());
+        return metrics;
+    }
+}
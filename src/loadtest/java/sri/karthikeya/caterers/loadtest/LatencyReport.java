@@ -0,0 +1,81 @@
+package sri.karthikeya.caterers.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+record LatencyReport(Map<String, EndpointStats> endpoints) {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    record EndpointStats(long requests, long errors, double throughput,
+                         double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    static LatencyReport of(Map<String, Histogram> histograms, Map<String, LongAdder> errors, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        histograms.forEach((endpoint, histogram) -> {
+            LongAdder failed = errors.get(endpoint);
+            endpoints.put(endpoint, new EndpointStats(
+                    histogram.getTotalCount(),
+                    failed == null ? 0 : failed.sum(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI));
+        });
+        return new LatencyReport(endpoints);
+    }
+
+    static LatencyReport read(Path path) throws IOException {
+        return new LatencyReport(MAPPER.readValue(path.toFile(), new TypeReference<TreeMap<String, EndpointStats>>() {
+        }));
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        MAPPER.writeValue(path.toFile(), endpoints);
+    }
+
+    String format() {
+        StringBuilder out = new StringBuilder(String.format("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        endpoints.forEach((endpoint, stats) -> out.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, stats.requests(), stats.errors(), stats.throughput(),
+                stats.p50Millis(), stats.p99Millis(), stats.p999Millis(), stats.maxMillis())));
+        return out.toString();
+    }
+
+    List<String> regressionsAgainst(LatencyReport baseline, double threshold, double maxErrorRate) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, current) -> {
+            if (current.requests() > 0 && (double) current.errors() / current.requests() > maxErrorRate) {
+                regressions.add(endpoint + ": error rate " + current.errors() + "/" + current.requests());
+            }
+            EndpointStats before = baseline.endpoints().get(endpoint);
+            if (before == null) {
+                return;
+            }
+            if (current.p99Millis() > before.p99Millis() * (1 + threshold)) {
+                regressions.add(String.format("%s: p99 %.2f ms vs baseline %.2f ms", endpoint, current.p99Millis(), before.p99Millis()));
+            }
+            if (current.throughput() < before.throughput() * (1 - threshold)) {
+                regressions.add(String.format("%s: %.1f req/s vs baseline %.1f req/s", endpoint, current.throughput(), before.throughput()));
+            }
+        });
+        return regressions;
+    }
+}
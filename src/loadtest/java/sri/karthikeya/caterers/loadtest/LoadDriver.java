@@ -0,0 +1,91 @@
+package sri.karthikeya.caterers.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+class LoadDriver {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<LoadScenario> scenarios;
+    private final int totalWeight;
+
+    LoadDriver(URI baseUri, List<LoadScenario> scenarios) {
+        this.baseUri = baseUri;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(LoadScenario::weight).sum();
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    LatencyReport run(double requestsPerSecond, Duration duration, long seed) {
+        Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        Random random = new Random(seed);
+        long intervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long sent = 0;
+            for (long intended = start; intended < end; intended = start + ++sent * intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                LoadScenario scenario = pick(random);
+                Random requestRandom = new Random(random.nextLong());
+                long intendedStart = intended;
+                executor.submit(() -> execute(scenario, requestRandom, intendedStart, histograms, errors));
+            }
+        }
+        return LatencyReport.of(histograms, errors, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void execute(LoadScenario scenario, Random random, long intendedStart,
+                         Map<String, Histogram> histograms, Map<String, LongAdder> errors) {
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(scenario.request().apply(baseUri, random),
+                    HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (Exception e) {
+            ok = false;
+        }
+        // Latency is measured from when the request was due, not when it was sent,
+        // so a stalled server is not hidden by the driver falling behind.
+        long latency = System.nanoTime() - intendedStart;
+        histograms.computeIfAbsent(scenario.endpoint(), endpoint -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(latency);
+        if (!ok) {
+            errors.computeIfAbsent(scenario.endpoint(), endpoint -> new LongAdder()).increment();
+        }
+    }
+
+    private LoadScenario pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (LoadScenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.getLast();
+    }
+}
@@ -0,0 +1,9 @@
+package sri.karthikeya.caterers.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+record LoadScenario(String endpoint, int weight, BiFunction<URI, Random, HttpRequest> request) {
+}
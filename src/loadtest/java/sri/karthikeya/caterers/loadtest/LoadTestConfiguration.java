@@ -0,0 +1,29 @@
+package sri.karthikeya.caterers.loadtest;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.testcontainers.mongodb.MongoDBContainer;
+
+@TestConfiguration(proxyBeanMethods = false)
+class LoadTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    MongoDBContainer mongoDbContainer() {
+        return new MongoDBContainer("mongo:7.0");
+    }
+
+    @Bean
+    @Order(0)
+    SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher("/api/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .build();
+    }
+}
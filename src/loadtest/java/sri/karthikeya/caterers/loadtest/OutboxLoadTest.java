@@ -0,0 +1,159 @@
+package sri.karthikeya.caterers.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import sri.karthikeya.caterers.dto.request.QuoteRequest;
+import sri.karthikeya.caterers.engine.outbox.OutboxDispatcher;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+import sri.karthikeya.caterers.repository.OutboxRepository;
+import sri.karthikeya.caterers.service.QuoteService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfiguration.class)
+@SpringBootTest
+class OutboxLoadTest {
+    private static final String STAFF_EMAIL = "staff@loadtest.local";
+    private static final Pattern REFERENCE = Pattern.compile("Reference: (\\S+)");
+    private static final int NODES = 4;
+
+    private static SmtpStandIn smtp;
+    private static WebhookStandIn webhook;
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @DynamicPropertySource
+    static void notificationStandIns(DynamicPropertyRegistry registry) {
+        try {
+            smtp = new SmtpStandIn();
+            webhook = new WebhookStandIn(0.1, 20);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtp::port);
+        registry.add("caterers.notifications.enabled", () -> "true");
+        registry.add("caterers.notifications.staff.emails", () -> STAFF_EMAIL);
+        registry.add("caterers.notifications.staff.webhook-url", webhook::url);
+        registry.add("caterers.notifications.outbox.poll-interval", () -> "200ms");
+        registry.add("caterers.notifications.outbox.initial-backoff", () -> "100ms");
+        registry.add("caterers.notifications.outbox.max-backoff", () -> "1s");
+        registry.add("caterers.notifications.outbox.max-attempts", () -> "50");
+    }
+
+    @AfterAll
+    static void stopStandIns() throws IOException {
+        smtp.close();
+        webhook.close();
+    }
+
+    @Test
+    void everyQuoteIsNotifiedExactlyOnce() throws Exception {
+        int quotes = Integer.getInteger("loadtest.outbox.quotes", 500);
+        Histogram createLatency = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService nodes = Executors.newFixedThreadPool(NODES);
+        List<Future<?>> dispatchers = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            dispatchers.add(nodes.submit(() -> {
+                while (running.get()) {
+                    if (outboxDispatcher.dispatchBatch() == 0) {
+                        Thread.sleep(50);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        List<String> quoteIds = new ArrayList<>(quotes);
+        for (int i = 0; i < quotes; i++) {
+            long start = System.nanoTime();
+            quoteIds.add(quoteService.create(new QuoteRequest("Outbox Test " + i, "9876543" + String.format("%03d", i % 1000),
+                    "customer" + i + "@loadtest.local", LocalDate.now().plusDays(30 + i % 300),
+                    ReviewEventType.values()[i % ReviewEventType.values().length], 50 + i % 400, null)).getId());
+            createLatency.recordValue(System.nanoTime() - start);
+        }
+
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (outboxRepository.countPending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(200);
+        }
+        running.set(false);
+        for (Future<?> dispatcher : dispatchers) {
+            dispatcher.get(30, TimeUnit.SECONDS);
+        }
+        nodes.shutdown();
+
+        log.info(String.format("Created %d quotes: create p50 %.2f ms, p99 %.2f ms; webhook retried %d rejections", quotes,
+                createLatency.getValueAtPercentile(50) / 1e6, createLatency.getValueAtPercentile(99) / 1e6,
+                webhook.rejected()));
+        assertEquals(0, outboxRepository.countPending(), "Outbox was not drained");
+
+        Map<String, Long> webhooks = counts(webhook.delivered(), id -> id.substring(0, id.indexOf(':')));
+        Map<String, Long> staffEmails = counts(references(true), Function.identity());
+        Map<String, Long> customerEmails = counts(references(false), Function.identity());
+        for (String id : quoteIds) {
+            assertEquals(1L, webhooks.getOrDefault(id, 0L), "Webhook deliveries for " + id);
+            assertEquals(1L, staffEmails.getOrDefault(id, 0L), "Staff emails for " + id);
+            assertEquals(1L, customerEmails.getOrDefault(id, 0L), "Customer emails for " + id);
+        }
+        assertTrue(webhook.rejected() > 0, "Webhook stand-in never failed, retries were not exercised");
+    }
+
+    private List<String> references(boolean staff) {
+        List<String> references = new ArrayList<>();
+        for (SmtpStandIn.Mail mail : smtp.received()) {
+            if (mail.recipients().contains(STAFF_EMAIL) != staff) {
+                continue;
+            }
+            Matcher matcher = REFERENCE.matcher(mail.data());
+            if (matcher.find()) {
+                references.add(matcher.group(1));
+            }
+        }
+        return references;
+    }
+
+    private static Map<String, Long> counts(List<String> values, Function<String, String> key) {
+        return values.stream().collect(Collectors.groupingBy(key, HashMap::new, Collectors.counting()));
+    }
+}
@@ -0,0 +1,186 @@
+package sri.karthikeya.caterers.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import sri.karthikeya.caterers.dto.request.GalleryCreateRequest;
+import sri.karthikeya.caterers.dto.request.MenuRequest;
+import sri.karthikeya.caterers.dto.request.ReviewRequest;
+import sri.karthikeya.caterers.engine.catalog.CatalogPublisher;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+import sri.karthikeya.caterers.enums.TopPicks;
+import sri.karthikeya.caterers.service.GalleryService;
+import sri.karthikeya.caterers.service.MenuService;
+import sri.karthikeya.caterers.service.ReviewService;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ScenarioLoadTest {
+    private static final int SEED_GALLERY = 40;
+    private static final int SEED_MENUS = 60;
+    private static final int SEED_REVIEWS = 80;
+    private static final String BOUNDARY = "loadtest-boundary-7f3a9c";
+    private static final byte[] PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mP8z8DwHwAFBQIAX8jx0gAAAABJRU5ErkJggg==");
+    private static final Path RESULT = Path.of("target", "loadtest", "storefront.json");
+    private static final Path BASELINE = Path.of("src", "loadtest", "baselines", "storefront.json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GalleryService galleryService;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private CatalogPublisher catalogPublisher;
+
+    private final List<String> menuIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() throws InterruptedException {
+        List<String> galleryIds = new ArrayList<>();
+        for (int i = 0; i < SEED_GALLERY; i++) {
+            MockMultipartFile image = new MockMultipartFile("image", "seed-" + i + ".png", "image/png", PNG);
+            galleryIds.add(galleryService.create(new GalleryCreateRequest(image, GalleryType.values()[i % GalleryType.values().length],
+                    "Gallery item " + i, "Seeded gallery item " + i)).getId());
+        }
+        for (int i = 0; i < SEED_MENUS; i++) {
+            menuIds.add(menuService.create(new MenuRequest(galleryIds.get(i % SEED_GALLERY), "Menu " + i, 250.0 + i,
+                    "Seeded menu " + i, List.of("Starter " + i, "Main " + i, "Dessert " + i))).getId());
+        }
+        for (int i = 0; i < SEED_REVIEWS; i++) {
+            reviewService.create(new ReviewRequest(galleryIds.get(i % SEED_GALLERY), "March 2026", 50 + i, 1 + i % 5,
+                    "Seeded review " + i, List.of(TopPicks.FOOD, TopPicks.SERVICE),
+                    ReviewEventType.values()[i % ReviewEventType.values().length]));
+        }
+
+        catalogPublisher.requestPublish();
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (catalogPublisher.current().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    void storefrontMix() throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        double threshold = Double.parseDouble(System.getProperty("loadtest.threshold", "0.20"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        long seed = Long.getLong("loadtest.seed", 42L);
+
+        LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), scenarios());
+        driver.run(rate, warmup, seed);
+        LatencyReport report = driver.run(rate, duration, seed + 1);
+
+        log.info("Load test results:\n{}", report.format());
+        report.write(RESULT);
+        if (!Files.exists(BASELINE)) {
+            log.warn("No baseline at {} - copy {} there to record one", BASELINE, RESULT);
+            List<String> errors = report.regressionsAgainst(new LatencyReport(Map.of()), threshold, maxErrorRate);
+            assertTrue(errors.isEmpty(), String.join("\n", errors));
+            return;
+        }
+
+        List<String> regressions = report.regressionsAgainst(LatencyReport.read(BASELINE), threshold, maxErrorRate);
+        assertTrue(regressions.isEmpty(), "Load test regressed beyond " + threshold + ":\n" + String.join("\n", regressions));
+    }
+
+    private List<LoadScenario> scenarios() {
+        return List.of(
+                new LoadScenario("GET /api/catalog", 30, (base, random) -> get(base, "/api/catalog", "br, gzip")),
+                new LoadScenario("GET /api/menu", 20, (base, random) ->
+                        get(base, "/api/menu?page=" + random.nextInt(3) + "&size=20", null)),
+                new LoadScenario("GET /api/gallery", 15, (base, random) ->
+                        get(base, "/api/gallery?page=" + random.nextInt(2) + "&size=20&includeImageUrls=true", null)),
+                new LoadScenario("GET /api/reviews", 10, (base, random) ->
+                        get(base, "/api/reviews?page=" + random.nextInt(4) + "&size=20", null)),
+                new LoadScenario("GET /api/reviews/featured", 5, (base, random) ->
+                        get(base, "/api/reviews/featured?limit=6", null)),
+                new LoadScenario("GET /api/menu/{id}", 12, (base, random) ->
+                        get(base, "/api/menu/" + menuIds.get(random.nextInt(menuIds.size())), null)),
+                new LoadScenario("POST /api/quotes", 6, this::quote),
+                new LoadScenario("POST /api/gallery", 1, (base, random) -> upload(base, random, "/api/gallery")),
+                new LoadScenario("POST /api/gallery/stream", 1, (base, random) -> upload(base, random, "/api/gallery/stream")));
+    }
+
+    private HttpRequest get(URI base, String path, String acceptEncoding) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(10)).GET();
+        if (acceptEncoding != null) {
+            builder.header("Accept-Encoding", acceptEncoding);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest quote(URI base, Random random) {
+        String body = """
+                {"fullName":"Load Test %d","phoneNumber":"9%09d","email":"load%d@example.com",\
+                "eventDate":"%s","eventType":"%s","expectedGuests":%d,"additionalDetails":"Generated by load test"}"""
+                .formatted(random.nextInt(10_000), random.nextInt(1_000_000_000), random.nextInt(10_000),
+                        LocalDate.now().plusDays(7 + random.nextInt(365)),
+                        ReviewEventType.values()[random.nextInt(ReviewEventType.values().length)],
+                        20 + random.nextInt(500));
+        return HttpRequest.newBuilder(base.resolve("/api/quotes"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest upload(URI base, Random random, String path) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        part(body, "Content-Disposition: form-data; name=\"type\"\r\n\r\nGALLERY");
+        part(body, "Content-Disposition: form-data; name=\"name\"\r\n\r\nUpload " + random.nextInt(10_000));
+        part(body, "Content-Disposition: form-data; name=\"description\"\r\n\r\nUploaded by load test");
+        part(body, "Content-Disposition: form-data; name=\"image\"; filename=\"upload.png\"\r\nContent-Type: image/png\r\n\r\n");
+        body.writeBytes(PNG);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void part(ByteArrayOutputStream body, String headersAndValue) {
+        boolean first = body.size() == 0;
+        String prefix = first ? "--" + BOUNDARY + "\r\n" : "\r\n--" + BOUNDARY + "\r\n";
+        body.writeBytes((prefix + headersAndValue).getBytes(StandardCharsets.UTF_8));
+    }
+}
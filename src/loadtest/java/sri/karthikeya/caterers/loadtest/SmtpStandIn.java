@@ -0,0 +1,105 @@
+package sri.karthikeya.caterers.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class SmtpStandIn implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "smtp-stand-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<Mail> received = new ConcurrentLinkedQueue<>();
+
+    SmtpStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        connections.submit(this::acceptLoop);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<Mail> received() {
+        return List.copyOf(received);
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> converse(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void converse(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost ESMTP stand-in");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipients = new ArrayList<>();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    recipients.add(line.substring(line.indexOf(':') + 1).trim().replaceAll("[<>]", ""));
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                    }
+                    received.add(new Mail(List.copyOf(recipients), data.toString()));
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else if (command.startsWith("RSET") || command.startsWith("NOOP")) {
+                    reply(out, "250 OK");
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    record Mail(List<String> recipients, String data) {
+    }
+}
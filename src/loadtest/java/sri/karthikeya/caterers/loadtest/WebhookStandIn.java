@@ -0,0 +1,67 @@
+package sri.karthikeya.caterers.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class WebhookStandIn implements AutoCloseable {
+    private static final String PATH = "/hooks/quotes";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final Queue<String> delivered = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final double failureRate;
+    private final long delayMillis;
+
+    WebhookStandIn(double failureRate, long delayMillis) throws IOException {
+        this.failureRate = failureRate;
+        this.delayMillis = delayMillis;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext(PATH, exchange -> {
+            try (exchange; InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+                Thread.sleep(delayMillis);
+                if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    rejected.incrementAndGet();
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                delivered.add(exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+                exchange.sendResponseHeaders(204, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    List<String> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    int rejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -10,9 +10,14 @@ import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.NativeDetector;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,8 +26,8 @@ import java.time.format.DateTimeFormatter;
 @Configuration
 public class JacksonConfig {
 
-    private static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
-    private static final String DATE_FORMAT = "yyyy-MM-dd";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @Bean
     @Primary
@@ -30,14 +35,10 @@ public class JacksonConfig {
         ObjectMapper mapper = new ObjectMapper();
         
         JavaTimeModule javaTimeModule = new JavaTimeModule();
-        javaTimeModule.addSerializer(LocalDateTime.class, 
-                new LocalDateTimeSerializer(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT)));
-        javaTimeModule.addDeserializer(LocalDateTime.class, 
-                new LocalDateTimeDeserializer(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT)));
-        javaTimeModule.addSerializer(LocalDate.class, 
-                new LocalDateSerializer(DateTimeFormatter.ofPattern(DATE_FORMAT)));
-        javaTimeModule.addDeserializer(LocalDate.class, 
-                new LocalDateDeserializer(DateTimeFormatter.ofPattern(DATE_FORMAT)));
+        javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DATE_TIME_FORMATTER));
+        javaTimeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DATE_TIME_FORMATTER));
+        javaTimeModule.addSerializer(LocalDate.class, new LocalDateSerializer(DATE_FORMATTER));
+        javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(DATE_FORMATTER));
         
         mapper.registerModule(javaTimeModule);
         mapper.setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
@@ -47,4 +48,21 @@ public class JacksonConfig {
         
         return mapper;
     }
+
+    /**
+     * Spring MVC writes responses with the auto-configured Jackson 3 {@link JsonMapper}, not the ObjectMapper above,
+     * so the optimized mode is applied to that mapper.
+     */
+    @Bean
+    public JsonMapperBuilderCustomizer optimizedJsonMapperCustomizer(
+            @Value("${caterers.jackson.optimized:false}") boolean optimized) {
+        return builder -> customizeJsonMapper(builder, optimized);
+    }
+
+    public static JsonMapper.Builder customizeJsonMapper(JsonMapper.Builder builder, boolean optimized) {
+        if (optimized && !NativeDetector.inNativeImage()) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,20 @@
+package sri.karthikeya.caterers.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    /**
+     * Timer for the read and quote-submission paths that carry most traffic. Only these publish percentile
+     * histograms; every other service method records a plain timer under caterers.service.
+     */
+    public static final String HOT_PATH_TIMER = "caterers.service.hot-path";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -1,9 +1,35 @@
 package sri.karthikeya.caterers.config;
 
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableMongoAuditing
 public class MongoConfig {
+
+    public static final String READ_MONGO_TEMPLATE = "readMongoTemplate";
+
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    @Bean(READ_MONGO_TEMPLATE)
+    public MongoTemplate readMongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter,
+                                           @Value("${caterers.mongo.read.max-staleness:90s}") Duration maxStaleness) {
+        MongoTemplate template = new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+        template.setReadPreference(ReadPreference.secondaryPreferred(maxStaleness.toSeconds(), TimeUnit.SECONDS));
+        return template;
+    }
 }
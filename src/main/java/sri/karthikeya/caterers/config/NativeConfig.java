@@ -0,0 +1,91 @@
+package sri.karthikeya.caterers.config;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import sri.karthikeya.caterers.engine.logging.DebugSamplingFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeConfig.CaterersRuntimeHints.class)
+public class NativeConfig {
+
+    static class CaterersRuntimeHints implements RuntimeHintsRegistrar {
+        private static final String BASE_PACKAGE = "sri.karthikeya.caterers.";
+        private static final List<String> MAPPED_PACKAGES = List.of("entity", "enums", "dto.request", "dto.response");
+        private static final String AWS_INTERCEPTORS = "classpath*:software/amazon/awssdk/**/execution.interceptors";
+        private static final MemberCategory[] BINDING = {
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.ACCESS_DECLARED_FIELDS
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            registerMappedTypes(hints);
+            registerJacksonTimeTypes(hints);
+            registerAwsSdk(hints, classLoader);
+            hints.reflection().registerType(DebugSamplingFilter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        private void registerMappedTypes(RuntimeHints hints) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return beanDefinition.getMetadata().isIndependent();
+                }
+            };
+            scanner.addIncludeFilter((reader, factory) -> true);
+            for (String mappedPackage : MAPPED_PACKAGES) {
+                for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE + mappedPackage)) {
+                    hints.reflection().registerType(TypeReference.of(candidate.getBeanClassName()), BINDING);
+                }
+            }
+        }
+
+        private void registerJacksonTimeTypes(RuntimeHints hints) {
+            for (Class<?> type : List.of(JavaTimeModule.class, LocalDateSerializer.class, LocalDateDeserializer.class,
+                    LocalDateTimeSerializer.class, LocalDateTimeDeserializer.class)) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+
+        private void registerAwsSdk(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("software/amazon/awssdk/**/execution.interceptors");
+            hints.resources().registerPattern("software/amazon/awssdk/**/*.json");
+            try {
+                for (Resource resource : new PathMatchingResourcePatternResolver(classLoader).getResources(AWS_INTERCEPTORS)) {
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                        reader.lines()
+                                .map(String::trim)
+                                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                                .forEach(interceptor -> hints.reflection().registerType(TypeReference.of(interceptor),
+                                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read AWS SDK execution interceptors", e);
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package sri.karthikeya.caterers.config;
 
+import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +14,7 @@ import java.util.List;
 
 @Configuration
 public class OpenApiConfig {
+    private static final String BEARER_AUTH = "bearerAuth";
 
     @Bean
     public OpenAPI customOpenAPI() {
@@ -22,6 +26,11 @@ public class OpenApiConfig {
                         .contact(new Contact()
                                 .name("Sri Karthikeya Caterers")
                                 .email("info@srikarthikeyacaterers.com")))
+                .components(new Components()
+                        .addSecuritySchemes(BEARER_AUTH, new SecurityScheme()
+                                .type(SecurityScheme.Type.HTTP)
+                                .scheme("bearer")))
+                .addSecurityItem(new SecurityRequirement().addList(BEARER_AUTH))
                 .servers(List.of(
                         new Server().url("http://localhost:8080").description("Local Server"),
                         new Server().url("https://api.srikarthikeyacaterers.com").description("Production Server")
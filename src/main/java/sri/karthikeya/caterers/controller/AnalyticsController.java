@@ -0,0 +1,54 @@
+package sri.karthikeya.caterers.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.QuoteDemandResponse;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+import sri.karthikeya.caterers.service.QuoteAnalyticsService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Quote demand analytics APIs")
+public class AnalyticsController {
+    private final QuoteAnalyticsService quoteAnalyticsService;
+
+    @GetMapping("/quotes/daily")
+    @Operation(summary = "Get daily quote demand", description = "Quote count, total expected guests and average lead time per day the quotes were received")
+    public ResponseEntity<ApiResponse<List<QuoteDemandResponse>>> getDailyDemand(
+            @Parameter(description = "First day (inclusive), yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive), yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Restrict to one event type") @RequestParam(required = false) ReviewEventType eventType) {
+        List<QuoteDemandResponse> response = quoteAnalyticsService.getDailyDemand(from, to, eventType);
+        return ResponseEntity.ok(ApiResponse.<List<QuoteDemandResponse>>builder()
+                .success(true)
+                .message("Daily quote demand retrieved successfully")
+                .data(response)
+                .build());
+    }
+
+    @GetMapping("/quotes/event-types")
+    @Operation(summary = "Get quote demand by event type", description = "Quote count, total expected guests and average lead time per event type")
+    public ResponseEntity<ApiResponse<List<QuoteDemandResponse>>> getDemandByEventType(
+            @Parameter(description = "First day (inclusive), yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive), yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<QuoteDemandResponse> response = quoteAnalyticsService.getDemandByEventType(from, to);
+        return ResponseEntity.ok(ApiResponse.<List<QuoteDemandResponse>>builder()
+                .success(true)
+                .message("Quote demand by event type retrieved successfully")
+                .data(response)
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package sri.karthikeya.caterers.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sri.karthikeya.caterers.dto.request.LoginRequest;
+import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.LoginResponse;
+import sri.karthikeya.caterers.exception.custom.UnauthorizedException;
+import sri.karthikeya.caterers.security.TokenService;
+import sri.karthikeya.caterers.service.AuthService;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Auth", description = "Admin login and token APIs")
+public class AuthController {
+    private final AuthService authService;
+
+    @PostMapping("/login")
+    @Operation(summary = "Log in", description = "Checks the admin password once and returns a short-lived bearer token")
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+        LoginResponse response = authService.login(request);
+        return ResponseEntity.ok(ApiResponse.<LoginResponse>builder()
+                .success(true)
+                .message("Login successful")
+                .data(response)
+                .build());
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Log out", description = "Revokes the bearer token used for this request")
+    public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication) {
+        if (!(authentication.getCredentials() instanceof TokenService.VerifiedToken token)) {
+            throw new UnauthorizedException("A bearer token is required");
+        }
+        authService.logout(token);
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .message("Logout successful")
+                .build());
+    }
+}
@@ -0,0 +1,86 @@
+package sri.karthikeya.caterers.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sri.karthikeya.caterers.engine.catalog.CatalogPublisher;
+import sri.karthikeya.caterers.engine.catalog.CatalogSnapshot;
+import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+@Tag(name = "Catalog", description = "Precompressed catalog snapshot APIs")
+public class CatalogController {
+    private final CatalogPublisher catalogPublisher;
+
+    @GetMapping
+    @Operation(summary = "Get catalog snapshot", description = "Returns all menus, gallery items and reviews as one precompressed JSON document")
+    public ResponseEntity<byte[]> getCatalog(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogSnapshot snapshot = catalogPublisher.current()
+                .orElseThrow(() -> new ResourceNotFoundException("Catalog has not been published yet"));
+
+        String etag = "\"" + snapshot.version() + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (snapshot.hasBrotli() && accepts(acceptEncoding, "br")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "br").body(snapshot.brotli());
+        }
+        if (accepts(acceptEncoding, "gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return builder.body(snapshot.json());
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String token : ifNoneMatch.split(",")) {
+            String candidate = token.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(encoding)) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
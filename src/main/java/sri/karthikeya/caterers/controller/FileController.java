@@ -0,0 +1,87 @@
+package sri.karthikeya.caterers.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sri.karthikeya.caterers.engine.s3.FileSystemStorageService;
+import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/files")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "caterers.storage.type", havingValue = "filesystem")
+@Tag(name = "Files", description = "Signed local object download and upload APIs")
+public class FileController {
+    private final FileSystemStorageService storageService;
+
+    @GetMapping("/{*key}")
+    @Operation(summary = "Download object", description = "Serves a locally stored object for a signed, unexpired URL, honouring Range requests")
+    public ResponseEntity<Resource> download(
+            @PathVariable String key,
+            @RequestParam long expires,
+            @RequestParam(required = false) String signature) {
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        Path path = storageService.openSigned(objectKey, expires, signature)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found: " + objectKey));
+
+        long maxAge = Math.max(0, expires - Instant.now().getEpochSecond());
+        String encoding = contentEncoding(objectKey);
+        String filename = encoding == null ? objectKey : objectKey.substring(0, objectKey.lastIndexOf('.'));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate());
+        if (encoding != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        // The resource message converters set Content-Length and answer Range headers with 206 regions
+        return builder.body(new FileSystemResource(path));
+    }
+
+    @PutMapping("/{*key}")
+    @Operation(summary = "Upload object", description = "Stores an object for a signed, unexpired upload URL")
+    public ResponseEntity<Void> upload(
+            @PathVariable String key,
+            @RequestParam long expires,
+            @RequestParam(required = false) String signature,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+            HttpServletRequest request) throws IOException {
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        if (!storageService.acceptSignedUpload(objectKey, expires, signature, contentType, contentLength, request.getInputStream())) {
+            throw new ResourceNotFoundException("File not found: " + objectKey);
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private String contentEncoding(String key) {
+        if (key.endsWith(".gz")) {
+            return "gzip";
+        }
+        if (key.endsWith(".br")) {
+            return "br";
+        }
+        return null;
+    }
+}
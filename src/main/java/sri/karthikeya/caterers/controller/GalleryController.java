@@ -3,30 +3,94 @@ package sri.karthikeya.caterers.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sri.karthikeya.caterers.dto.request.GalleryCreateRequest;
+import sri.karthikeya.caterers.dto.request.GalleryStreamRequest;
 import sri.karthikeya.caterers.dto.request.GalleryUpdateRequest;
 import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.GalleryResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
+import sri.karthikeya.caterers.engine.s3.StreamingMultipartReader;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.ValidationException;
 import sri.karthikeya.caterers.service.GalleryService;
+import sri.karthikeya.caterers.service.IdempotencyService;
+import sri.karthikeya.caterers.util.RequestFingerprint;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/gallery")
 @RequiredArgsConstructor
 @Tag(name = "Gallery", description = "Gallery management APIs")
 public class GalleryController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String CONTENT_DIGEST_HEADER = "Content-Digest";
+
     private final GalleryService galleryService;
+    private final IdempotencyService idempotencyService;
+    private final StreamingMultipartReader multipartReader;
+    private final Validator validator;
+
+    @Value("${caterers.concurrency.require-if-match:false}")
+    private boolean requireIfMatch;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Create a new gallery item", description = "Creates a new gallery item with image upload")
-    public ResponseEntity<ApiResponse<GalleryResponse>> create(@Valid @ModelAttribute GalleryCreateRequest request) {
-        GalleryResponse response = galleryService.create(request);
+    public ResponseEntity<ApiResponse<GalleryResponse>> create(
+            @Parameter(description = "Key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @ModelAttribute GalleryCreateRequest request) {
+        GalleryResponse response = idempotencyService.execute(idempotencyKey, "gallery:create",
+                RequestFingerprint.of(request.getType(), request.getName(), request.getDescription(),
+                        RequestFingerprint.digest(request.getImage())),
+                GalleryResponse.class, () -> galleryService.create(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.<GalleryResponse>builder()
+                        .success(true)
+                        .message("Gallery created successfully")
+                        .data(response)
+                        .build());
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Create a gallery item from a streamed upload",
+            description = "Same form fields as create, but type, name and description must precede the image part. "
+                    + "The image is checked by its leading bytes and streamed to storage without spooling. "
+                    + "Retries with an Idempotency-Key must declare the body's sha-256 in Content-Digest")
+    public ResponseEntity<ApiResponse<GalleryResponse>> createStreamed(
+            @Parameter(description = "Key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "RFC 9530 digest of the request body, e.g. sha-256=:<base64>:")
+            @RequestHeader(value = CONTENT_DIGEST_HEADER, required = false) String contentDigest,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+        if (idempotencyKey != null && contentDigest == null) {
+            throw new BadRequestException("Content-Digest is required with Idempotency-Key on streamed uploads");
+        }
+        // The body cannot be hashed before it is streamed, so the request is identified by its declared digest
+        byte[] declared = contentDigest == null ? null : RequestFingerprint.contentDigest(contentDigest);
+        GalleryResponse response = idempotencyService.execute(idempotencyKey, "gallery:create",
+                RequestFingerprint.of("stream", httpRequest.getContentLengthLong(), declared), GalleryResponse.class,
+                () -> createStreamed(httpRequest, httpResponse, declared));
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.<GalleryResponse>builder()
                         .success(true)
@@ -35,6 +99,19 @@ public class GalleryController {
                         .build());
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get galleries by IDs", description = "Retrieves up to 100 gallery items in one request, in request order, and reports missing IDs")
+    public ResponseEntity<ApiResponse<BatchResponse<GalleryResponse>>> getByIds(
+            @Parameter(description = "Comma-separated Gallery IDs") @RequestParam List<String> ids,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        BatchResponse<GalleryResponse> response = galleryService.getByIds(ids, includeImageUrls);
+        return ResponseEntity.ok(ApiResponse.<BatchResponse<GalleryResponse>>builder()
+                .success(true)
+                .message("Galleries retrieved successfully")
+                .data(response)
+                .build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get gallery by ID", description = "Retrieves a gallery item by its unique identifier")
     public ResponseEntity<ApiResponse<GalleryResponse>> getById(
@@ -53,8 +130,9 @@ public class GalleryController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDir) {
-        PageResponse<GalleryResponse> response = galleryService.getAll(page, size, sortBy, sortDir);
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDir,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        PageResponse<GalleryResponse> response = galleryService.getAll(page, size, sortBy, sortDir, includeImageUrls);
         return ResponseEntity.ok(ApiResponse.<PageResponse<GalleryResponse>>builder()
                 .success(true)
                 .message("Galleries retrieved successfully")
@@ -66,8 +144,16 @@ public class GalleryController {
     @Operation(summary = "Update gallery", description = "Updates an existing gallery item with optional image update")
     public ResponseEntity<ApiResponse<GalleryResponse>> update(
             @Parameter(description = "Gallery ID") @PathVariable String id,
+            @Parameter(description = "Key that makes retries of this request safe")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "Expected version of the gallery; the update fails with 412 if it has changed. Required when caterers.concurrency.require-if-match is on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @ModelAttribute GalleryUpdateRequest request) {
-        GalleryResponse response = galleryService.update(id, request);
+        Long expectedVersion = ValidationUtil.parseVersion(ifMatch, requireIfMatch);
+        GalleryResponse response = idempotencyService.execute(idempotencyKey, "gallery:update:" + id,
+                RequestFingerprint.of(expectedVersion, request.getType(), request.getName(), request.getDescription(),
+                        RequestFingerprint.digest(request.getImage())),
+                GalleryResponse.class, () -> galleryService.update(id, request, expectedVersion));
         return ResponseEntity.ok(ApiResponse.<GalleryResponse>builder()
                 .success(true)
                 .message("Gallery updated successfully")
@@ -85,4 +171,38 @@ public class GalleryController {
                 .message("Gallery deleted successfully")
                 .build());
     }
+
+    private GalleryResponse createStreamed(HttpServletRequest httpRequest, HttpServletResponse httpResponse,
+                                           byte[] declared) {
+        MessageDigest digest = declared == null ? null : RequestFingerprint.sha256();
+        GalleryResponse created = multipartReader.read(httpRequest, httpResponse, "image", digest,
+                (fields, image) -> galleryService.create(toStreamRequest(fields), image));
+        if (digest != null && !MessageDigest.isEqual(digest.digest(), declared)) {
+            galleryService.delete(created.getId());
+            throw new BadRequestException("Content-Digest does not match the request body");
+        }
+        return created;
+    }
+
+    private GalleryStreamRequest toStreamRequest(Map<String, String> fields) {
+        GalleryType type = null;
+        String typeValue = fields.get("type");
+        if (typeValue != null) {
+            try {
+                type = GalleryType.valueOf(typeValue.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid gallery type: " + typeValue);
+            }
+        }
+
+        GalleryStreamRequest request = new GalleryStreamRequest(type, fields.get("name"), fields.get("description"));
+        Set<ConstraintViolation<GalleryStreamRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return request;
+    }
 }
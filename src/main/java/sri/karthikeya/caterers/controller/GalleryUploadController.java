@@ -0,0 +1,98 @@
+package sri.karthikeya.caterers.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sri.karthikeya.caterers.dto.request.UploadSessionRequest;
+import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.ChunkedUploadResponse;
+import sri.karthikeya.caterers.dto.response.GalleryResponse;
+import sri.karthikeya.caterers.dto.response.UploadSessionResponse;
+import sri.karthikeya.caterers.service.UploadSessionService;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/gallery/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Gallery Uploads", description = "Direct-to-storage gallery upload APIs")
+public class GalleryUploadController {
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    @Operation(summary = "Start a direct upload",
+            description = "Creates an upload session and returns a presigned URL the client uploads the image to directly")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> create(@Valid @RequestBody UploadSessionRequest request) {
+        UploadSessionResponse response = uploadSessionService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.<UploadSessionResponse>builder()
+                        .success(true)
+                        .message("Upload session created successfully")
+                        .data(response)
+                        .build());
+    }
+
+    @PostMapping("/resumable")
+    @Operation(summary = "Start a resumable upload",
+            description = "Creates an upload session that accepts the image in fixed-size chunks which can be retried individually")
+    public ResponseEntity<ApiResponse<ChunkedUploadResponse>> createResumable(@Valid @RequestBody UploadSessionRequest request) {
+        ChunkedUploadResponse response = uploadSessionService.createChunked(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.<ChunkedUploadResponse>builder()
+                        .success(true)
+                        .message("Upload session created successfully")
+                        .data(response)
+                        .build());
+    }
+
+    @PutMapping("/{id}/chunks/{chunkNumber}")
+    @Operation(summary = "Upload a chunk",
+            description = "Streams one chunk of a resumable upload into storage. Re-sending a chunk replaces it")
+    public ResponseEntity<ApiResponse<ChunkedUploadResponse>> uploadChunk(
+            @Parameter(description = "Upload session ID") @PathVariable String id,
+            @Parameter(description = "Chunk number, starting at 1") @PathVariable int chunkNumber,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+            HttpServletRequest request) throws IOException {
+        ChunkedUploadResponse response = uploadSessionService.uploadChunk(id, chunkNumber, contentLength,
+                request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.<ChunkedUploadResponse>builder()
+                .success(true)
+                .message("Chunk uploaded successfully")
+                .data(response)
+                .build());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get upload progress",
+            description = "Returns the contiguous byte offset received so far and which chunks are still missing")
+    public ResponseEntity<ApiResponse<ChunkedUploadResponse>> getProgress(
+            @Parameter(description = "Upload session ID") @PathVariable String id) {
+        ChunkedUploadResponse response = uploadSessionService.getProgress(id);
+        return ResponseEntity.ok(ApiResponse.<ChunkedUploadResponse>builder()
+                .success(true)
+                .message("Upload progress retrieved successfully")
+                .data(response)
+                .build());
+    }
+
+    @PostMapping("/{id}/complete")
+    @Operation(summary = "Complete a direct upload",
+            description = "Checks the uploaded object against the session and creates the gallery item. Safe to retry")
+    public ResponseEntity<ApiResponse<GalleryResponse>> complete(
+            @Parameter(description = "Upload session ID") @PathVariable String id) {
+        GalleryResponse response = uploadSessionService.complete(id);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.<GalleryResponse>builder()
+                        .success(true)
+                        .message("Gallery created successfully")
+                        .data(response)
+                        .build());
+    }
+}
@@ -5,14 +5,20 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sri.karthikeya.caterers.dto.request.MenuRequest;
 import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.MenuResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.service.MenuService;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/menu")
@@ -21,6 +27,9 @@ import sri.karthikeya.caterers.service.MenuService;
 public class MenuController {
     private final MenuService menuService;
 
+    @Value("${caterers.concurrency.require-if-match:false}")
+    private boolean requireIfMatch;
+
     @PostMapping
     @Operation(summary = "Create a new menu item", description = "Creates a new menu item with the provided details")
     public ResponseEntity<ApiResponse<MenuResponse>> create(@Valid @RequestBody MenuRequest request) {
@@ -33,6 +42,19 @@ public class MenuController {
                         .build());
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get menus by IDs", description = "Retrieves up to 100 menu items in one request, in request order, and reports missing IDs")
+    public ResponseEntity<ApiResponse<BatchResponse<MenuResponse>>> getByIds(
+            @Parameter(description = "Comma-separated Menu IDs") @RequestParam List<String> ids,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        BatchResponse<MenuResponse> response = menuService.getByIds(ids, includeImageUrls);
+        return ResponseEntity.ok(ApiResponse.<BatchResponse<MenuResponse>>builder()
+                .success(true)
+                .message("Menus retrieved successfully")
+                .data(response)
+                .build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get menu by ID", description = "Retrieves a menu item by its unique identifier")
     public ResponseEntity<ApiResponse<MenuResponse>> getById(
@@ -51,8 +73,9 @@ public class MenuController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDir) {
-        PageResponse<MenuResponse> response = menuService.getAll(page, size, sortBy, sortDir);
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDir,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        PageResponse<MenuResponse> response = menuService.getAll(page, size, sortBy, sortDir, includeImageUrls);
         return ResponseEntity.ok(ApiResponse.<PageResponse<MenuResponse>>builder()
                 .success(true)
                 .message("Menus retrieved successfully")
@@ -64,8 +87,10 @@ public class MenuController {
     @Operation(summary = "Update menu", description = "Updates an existing menu item")
     public ResponseEntity<ApiResponse<MenuResponse>> update(
             @Parameter(description = "Menu ID") @PathVariable String id,
+            @Parameter(description = "Expected version of the menu; the update fails with 412 if it has changed. Required when caterers.concurrency.require-if-match is on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MenuRequest request) {
-        MenuResponse response = menuService.update(id, request);
+        MenuResponse response = menuService.update(id, request, ValidationUtil.parseVersion(ifMatch, requireIfMatch));
         return ResponseEntity.ok(ApiResponse.<MenuResponse>builder()
                 .success(true)
                 .message("Menu updated successfully")
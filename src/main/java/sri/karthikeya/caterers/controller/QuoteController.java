@@ -5,14 +5,23 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sri.karthikeya.caterers.dto.request.QuoteRequest;
 import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.AvailabilityResponse;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.dto.response.QuoteResponse;
 import sri.karthikeya.caterers.service.QuoteService;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/quotes")
@@ -21,6 +30,9 @@ import sri.karthikeya.caterers.service.QuoteService;
 public class QuoteController {
     private final QuoteService quoteService;
 
+    @Value("${caterers.concurrency.require-if-match:false}")
+    private boolean requireIfMatch;
+
     @PostMapping
     @Operation(summary = "Create a new quote request", description = "Creates a new quote request with the provided details")
     public ResponseEntity<ApiResponse<QuoteResponse>> create(@Valid @RequestBody QuoteRequest request) {
@@ -33,6 +45,32 @@ public class QuoteController {
                         .build());
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get quotes by IDs", description = "Retrieves up to 100 quotes in one request, in request order, and reports missing IDs")
+    public ResponseEntity<ApiResponse<BatchResponse<QuoteResponse>>> getByIds(
+            @Parameter(description = "Comma-separated Quote IDs") @RequestParam List<String> ids) {
+        BatchResponse<QuoteResponse> response = quoteService.getByIds(ids);
+        return ResponseEntity.ok(ApiResponse.<BatchResponse<QuoteResponse>>builder()
+                .success(true)
+                .message("Quotes retrieved successfully")
+                .data(response)
+                .build());
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get booked capacity", description = "Quotes and expected guests booked per event date, answered from an in-memory index")
+    public ResponseEntity<ApiResponse<AvailabilityResponse>> getAvailability(
+            @Parameter(description = "First event date (inclusive), yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last event date (inclusive), yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Include a per-day breakdown") @RequestParam(defaultValue = "true") boolean includeDays) {
+        AvailabilityResponse response = quoteService.getAvailability(from, to, includeDays);
+        return ResponseEntity.ok(ApiResponse.<AvailabilityResponse>builder()
+                .success(true)
+                .message("Availability retrieved successfully")
+                .data(response)
+                .build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get quote by ID", description = "Retrieves a quote by its unique identifier")
     public ResponseEntity<ApiResponse<QuoteResponse>> getById(
@@ -64,8 +102,10 @@ public class QuoteController {
     @Operation(summary = "Update quote", description = "Updates an existing quote")
     public ResponseEntity<ApiResponse<QuoteResponse>> update(
             @Parameter(description = "Quote ID") @PathVariable String id,
+            @Parameter(description = "Expected version of the quote; the update fails with 412 if it has changed. Required when caterers.concurrency.require-if-match is on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody QuoteRequest request) {
-        QuoteResponse response = quoteService.update(id, request);
+        QuoteResponse response = quoteService.update(id, request, ValidationUtil.parseVersion(ifMatch, requireIfMatch));
         return ResponseEntity.ok(ApiResponse.<QuoteResponse>builder()
                 .success(true)
                 .message("Quote updated successfully")
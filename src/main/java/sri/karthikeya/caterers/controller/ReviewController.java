@@ -5,14 +5,20 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sri.karthikeya.caterers.dto.request.ReviewRequest;
 import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.dto.response.ReviewResponse;
 import sri.karthikeya.caterers.service.ReviewService;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -21,6 +27,9 @@ import sri.karthikeya.caterers.service.ReviewService;
 public class ReviewController {
     private final ReviewService reviewService;
 
+    @Value("${caterers.concurrency.require-if-match:false}")
+    private boolean requireIfMatch;
+
     @PostMapping
     @Operation(summary = "Create a new review", description = "Creates a new review with the provided details")
     public ResponseEntity<ApiResponse<ReviewResponse>> create(@Valid @RequestBody ReviewRequest request) {
@@ -33,6 +42,32 @@ public class ReviewController {
                         .build());
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get reviews by IDs", description = "Retrieves up to 100 reviews in one request, in request order, and reports missing IDs")
+    public ResponseEntity<ApiResponse<BatchResponse<ReviewResponse>>> getByIds(
+            @Parameter(description = "Comma-separated Review IDs") @RequestParam List<String> ids,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        BatchResponse<ReviewResponse> response = reviewService.getByIds(ids, includeImageUrls);
+        return ResponseEntity.ok(ApiResponse.<BatchResponse<ReviewResponse>>builder()
+                .success(true)
+                .message("Reviews retrieved successfully")
+                .data(response)
+                .build());
+    }
+
+    @GetMapping("/featured")
+    @Operation(summary = "Get featured reviews", description = "Returns the best reviews ranked by stars, guest count, top picks and recency from an in-memory index")
+    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getFeatured(
+            @Parameter(description = "Number of reviews to return, capped at the configured featured size") @RequestParam(defaultValue = "6") int limit,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        List<ReviewResponse> response = reviewService.getFeatured(limit, includeImageUrls);
+        return ResponseEntity.ok(ApiResponse.<List<ReviewResponse>>builder()
+                .success(true)
+                .message("Featured reviews retrieved successfully")
+                .data(response)
+                .build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get review by ID", description = "Retrieves a review by its unique identifier")
     public ResponseEntity<ApiResponse<ReviewResponse>> getById(
@@ -51,8 +86,9 @@ public class ReviewController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDir) {
-        PageResponse<ReviewResponse> response = reviewService.getAll(page, size, sortBy, sortDir);
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDir,
+            @Parameter(description = "Include resolved image URLs") @RequestParam(defaultValue = "false") boolean includeImageUrls) {
+        PageResponse<ReviewResponse> response = reviewService.getAll(page, size, sortBy, sortDir, includeImageUrls);
         return ResponseEntity.ok(ApiResponse.<PageResponse<ReviewResponse>>builder()
                 .success(true)
                 .message("Reviews retrieved successfully")
@@ -64,8 +100,10 @@ public class ReviewController {
     @Operation(summary = "Update review", description = "Updates an existing review")
     public ResponseEntity<ApiResponse<ReviewResponse>> update(
             @Parameter(description = "Review ID") @PathVariable String id,
+            @Parameter(description = "Expected version of the review; the update fails with 412 if it has changed. Required when caterers.concurrency.require-if-match is on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ReviewRequest request) {
-        ReviewResponse response = reviewService.update(id, request);
+        ReviewResponse response = reviewService.update(id, request, ValidationUtil.parseVersion(ifMatch, requireIfMatch));
         return ResponseEntity.ok(ApiResponse.<ReviewResponse>builder()
                 .success(true)
                 .message("Review updated successfully")
@@ -0,0 +1,20 @@
+package sri.karthikeya.caterers.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginRequest {
+    @NotBlank(message = "Username is required")
+    @Size(max = 100, message = "Username must not exceed 100 characters")
+    private String username;
+
+    @NotBlank(message = "Password is required")
+    @Size(max = 72, message = "Password must not exceed 72 characters")
+    private String password;
+}
@@ -0,0 +1,35 @@
+package sri.karthikeya.caterers.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sri.karthikeya.caterers.enums.GalleryType;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+    @NotNull(message = "Type is required")
+    private GalleryType type;
+
+    @NotBlank(message = "Name is required")
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @NotBlank(message = "Description is required")
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @NotNull(message = "Size is required")
+    @Min(value = 1, message = "Size must be at least 1 byte")
+    @Max(value = 10485760, message = "File size exceeds maximum limit of 10MB")
+    private Long size;
+}
@@ -0,0 +1,22 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private long quoteCount;
+    private long totalGuests;
+    private long dailyGuestCapacity;
+    private List<DayAvailabilityResponse> days;
+}
@@ -0,0 +1,17 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse<T> {
+    private List<T> content;
+    private List<String> missingIds;
+}
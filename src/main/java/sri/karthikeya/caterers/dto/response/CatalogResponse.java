@@ -0,0 +1,16 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogResponse {
+    private List<MenuResponse> menus;
+    private List<GalleryResponse> gallery;
+    private List<ReviewResponse> reviews;
+}
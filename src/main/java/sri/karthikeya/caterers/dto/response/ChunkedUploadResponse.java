@@ -0,0 +1,25 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadResponse {
+    private String id;
+    private String objectKey;
+    private Long size;
+    private Long chunkSize;
+    private Integer totalChunks;
+    private Long offset;
+    private List<Integer> receivedChunks;
+    private List<Integer> missingChunks;
+    private LocalDateTime expiresAt;
+}
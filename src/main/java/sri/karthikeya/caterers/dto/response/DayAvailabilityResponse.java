@@ -0,0 +1,17 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayAvailabilityResponse {
+    private LocalDate date;
+    private int quoteCount;
+    private long totalGuests;
+    private long remainingCapacity;
+}
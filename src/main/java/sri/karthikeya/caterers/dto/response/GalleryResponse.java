@@ -13,9 +13,11 @@ import java.time.LocalDateTime;
 public class GalleryResponse {
     private String id;
     private String imageId;
+    private String imageUrl;
     private GalleryType type;
     private String name;
     private String description;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -13,10 +13,12 @@ import java.util.List;
 public class MenuResponse {
     private String id;
     private String imageId;
+    private String imageUrl;
     private String name;
     private Double price;
     private String description;
     private List<String> items;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteDemandResponse {
+    private LocalDate day;
+    private ReviewEventType eventType;
+    private long quoteCount;
+    private long totalGuests;
+    private Double averageLeadTimeDays;
+}
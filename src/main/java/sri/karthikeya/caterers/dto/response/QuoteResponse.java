@@ -22,4 +22,5 @@ public class QuoteResponse {
     private String additionalDetails;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -15,6 +15,7 @@ import java.util.List;
 public class ReviewResponse {
     private String id;
     private String imageId;
+    private String imageUrl;
     private String timeline;
     private Integer guestsCount;
     private Integer stars;
@@ -23,4 +24,5 @@ public class ReviewResponse {
     private ReviewEventType type;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
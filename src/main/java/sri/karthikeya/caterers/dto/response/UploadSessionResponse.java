@@ -0,0 +1,23 @@
+package sri.karthikeya.caterers.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+    private String id;
+    private String objectKey;
+    private String uploadUrl;
+    private String method;
+    private Map<String, String> headers;
+    private LocalDateTime uploadExpiresAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,131 @@
+package sri.karthikeya.caterers.engine.analytics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.repository.QuoteAnalyticsRepository;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuoteRollupJob {
+    static final String WATERMARK = "quote_daily_rollups";
+
+    private final QuoteAnalyticsRepository quoteAnalyticsRepository;
+
+    @Value("${caterers.analytics.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${caterers.analytics.rollup.lag:5m}")
+    private Duration lag;
+
+    @Value("${caterers.analytics.rollup.lease:30m}")
+    private Duration lease;
+
+    @Value("${caterers.analytics.timezone:Asia/Kolkata}")
+    private ZoneId zone;
+
+    @Scheduled(initialDelayString = "${caterers.analytics.rollup.initial-delay:30s}",
+            fixedDelayString = "${caterers.analytics.rollup.interval:5m}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.error("Quote rollup refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${caterers.analytics.rollup.rebuild-cron:0 15 3 * * *}", zone = "${caterers.analytics.timezone:Asia/Kolkata}")
+    public void rebuildQuietly() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Quote rollup rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void run() {
+        withLease(owner -> {
+            LocalDateTime upper = LocalDateTime.now().minus(lag);
+            LocalDateTime watermark = quoteAnalyticsRepository.findWatermark(WATERMARK).orElse(null);
+            if (watermark == null) {
+                rebuildAll(owner);
+                quoteAnalyticsRepository.saveWatermark(WATERMARK, owner, upper);
+                return;
+            }
+            if (!watermark.isBefore(upper)) {
+                return;
+            }
+
+            long started = System.nanoTime();
+            List<String> days = quoteAnalyticsRepository.findTouchedDays(watermark, upper, zone);
+            if (rebuild(days, owner) && quoteAnalyticsRepository.saveWatermark(WATERMARK, owner, upper) && !days.isEmpty()) {
+                log.info("Refreshed quote rollups for {} days touched between {} and {} in {} ms", days.size(), watermark, upper,
+                        Duration.ofNanos(System.nanoTime() - started).toMillis());
+            }
+        });
+    }
+
+    /**
+     * Recomputes every day. Deleted quotes leave nothing behind for the incremental run to find,
+     * so their days are only corrected here.
+     */
+    void rebuild() {
+        withLease(this::rebuildAll);
+    }
+
+    private void rebuildAll(String owner) {
+        long started = System.nanoTime();
+        if (rebuild(null, owner)) {
+            log.info("Rebuilt all quote rollups in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+        }
+    }
+
+    /**
+     * Merges the days, then prunes their stale groups only if the lease is still held. A run that outlived its lease
+     * must not prune, or it would remove groups that the node now holding the lease has just rewritten.
+     */
+    private boolean rebuild(List<String> days, String owner) {
+        Date rebuiltAt = quoteAnalyticsRepository.mergeDailyRollups(days, zone);
+        if (!renew(owner)) {
+            log.warn("Lost the quote rollup lease while merging, skipping the prune");
+            return false;
+        }
+        quoteAnalyticsRepository.removeStaleRollups(days, rebuiltAt);
+        return true;
+    }
+
+    private void withLease(Consumer<String> task) {
+        String owner = IdGenerator.newId();
+        if (!renew(owner)) {
+            log.debug("Quote rollup lease is held by another node, skipping");
+            return;
+        }
+        try {
+            task.accept(owner);
+        } finally {
+            quoteAnalyticsRepository.releaseLease(WATERMARK, owner);
+        }
+    }
+
+    private boolean renew(String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        return quoteAnalyticsRepository.tryAcquireLease(WATERMARK, owner, now, now.plus(lease));
+    }
+}
@@ -0,0 +1,79 @@
+package sri.karthikeya.caterers.engine.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.repository.QuoteArchiveRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuoteArchiver {
+    private final QuoteRepository quoteRepository;
+    private final QuoteArchiveRepository quoteArchiveRepository;
+
+    @Value("${caterers.quotes.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${caterers.quotes.archive.after-months:12}")
+    private int afterMonths;
+
+    @Value("${caterers.quotes.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${caterers.quotes.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${caterers.quotes.archive.cron:0 30 2 * * *}", zone = "${caterers.analytics.timezone:Asia/Kolkata}")
+    public void archiveQuietly() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Quote archival failed, will retry on the next run: {}", e.getMessage(), e);
+        }
+    }
+
+    public long archive() {
+        LocalDate cutoff = LocalDate.now().minusMonths(afterMonths);
+        long started = System.nanoTime();
+        long archived = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Document> documents = quoteRepository.findRawWithEventDateBefore(cutoff, batchSize);
+            if (documents.isEmpty()) {
+                break;
+            }
+
+            Date archivedAt = new Date();
+            documents.forEach(document -> document.put("archivedAt", archivedAt));
+            List<Document> copied = quoteArchiveRepository.replaceAll(documents);
+            archived += quoteRepository.deleteUnchanged(copied);
+
+            if (copied.size() < documents.size()) {
+                log.warn("Failed to archive {} of {} quotes, will retry on the next run",
+                        documents.size() - copied.size(), documents.size());
+                break;
+            }
+            if (documents.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} quotes with event dates before {} in {} ms", archived, cutoff,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+        return archived;
+    }
+}
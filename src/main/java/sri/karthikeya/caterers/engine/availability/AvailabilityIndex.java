@@ -0,0 +1,155 @@
+package sri.karthikeya.caterers.engine.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.dto.response.AvailabilityResponse;
+import sri.karthikeya.caterers.dto.response.DayAvailabilityResponse;
+import sri.karthikeya.caterers.engine.journal.QuoteJournal;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+    private final QuoteRepository quoteRepository;
+    private final QuoteJournal quoteJournal;
+
+    @Value("${caterers.availability.past-days:30}")
+    private int pastDays;
+
+    @Value("${caterers.availability.future-days:1095}")
+    private int futureDays;
+
+    @Value("${caterers.availability.daily-guest-capacity:2000}")
+    private long dailyGuestCapacity;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CapacityCalendar calendar = new CapacityCalendar(LocalDate.now(), 1);
+    private List<Consumer<CapacityCalendar>> writesDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${caterers.availability.reload-interval:1h}",
+            fixedDelayString = "${caterers.availability.reload-interval:1h}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Failed to reload availability index: {}", e.getMessage(), e);
+        }
+    }
+
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        CapacityCalendar next = new CapacityCalendar(LocalDate.now().minusDays(pastDays), pastDays + futureDays + 1);
+
+        lock.writeLock().lock();
+        try {
+            writesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Quote> journaled = quoteJournal.pendingQuotes();
+        try (Stream<Quote> quotes = quoteRepository.streamByEventDateBetween(next.getStart(), next.getEnd())) {
+            quotes.forEach(quote -> book(next, quote));
+            journaled.forEach(quote -> book(next, quote));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                writesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            writesDuringReload.forEach(write -> write.accept(next));
+            writesDuringReload = null;
+            calendar = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded availability index with {} bookings between {} and {} in {} ms", next.size(),
+                next.getStart(), next.getEnd(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void record(Quote quote) {
+        write(target -> book(target, quote));
+    }
+
+    public void remove(String quoteId) {
+        write(target -> target.remove(quoteId));
+    }
+
+    public AvailabilityResponse query(LocalDate from, LocalDate to, boolean includeDays) {
+        lock.readLock().lock();
+        try {
+            if (!calendar.covers(from) || !calendar.covers(to)) {
+                throw new BadRequestException("Availability is only tracked between " + calendar.getStart()
+                        + " and " + calendar.getEnd());
+            }
+
+            List<DayAvailabilityResponse> days = null;
+            if (includeDays) {
+                days = new ArrayList<>();
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    long guests = calendar.guestsOn(date);
+                    days.add(new DayAvailabilityResponse(date, calendar.quotesOn(date), guests,
+                            Math.max(0, dailyGuestCapacity - guests)));
+                }
+            }
+
+            return AvailabilityResponse.builder()
+                    .from(from)
+                    .to(to)
+                    .quoteCount(calendar.quotesBetween(from, to))
+                    .totalGuests(calendar.guestsBetween(from, to))
+                    .dailyGuestCapacity(dailyGuestCapacity)
+                    .days(days)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<CapacityCalendar> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(calendar);
+            if (writesDuringReload != null) {
+                writesDuringReload.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void book(CapacityCalendar target, Quote quote) {
+        if (quote.getEventDate() == null) {
+            target.remove(quote.getId());
+            return;
+        }
+        int guests = quote.getExpectedGuests() == null ? 0 : quote.getExpectedGuests();
+        target.upsert(quote.getId(), quote.getEventDate(), guests);
+    }
+}
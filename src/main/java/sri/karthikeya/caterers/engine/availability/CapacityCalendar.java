@@ -0,0 +1,98 @@
+package sri.karthikeya.caterers.engine.availability;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+class CapacityCalendar {
+    private final LocalDate start;
+    private final int days;
+    private final long[] guestTree;
+    private final long[] quoteTree;
+    private final long[] guestsByDay;
+    private final int[] quotesByDay;
+    private final Map<String, Booking> bookings = new HashMap<>();
+
+    CapacityCalendar(LocalDate start, int days) {
+        this.start = start;
+        this.days = days;
+        this.guestTree = new long[days + 1];
+        this.quoteTree = new long[days + 1];
+        this.guestsByDay = new long[days];
+        this.quotesByDay = new int[days];
+    }
+
+    LocalDate getStart() {
+        return start;
+    }
+
+    LocalDate getEnd() {
+        return start.plusDays(days - 1);
+    }
+
+    boolean covers(LocalDate date) {
+        return indexOf(date) >= 0;
+    }
+
+    void upsert(String id, LocalDate eventDate, int guests) {
+        remove(id);
+        int index = indexOf(eventDate);
+        if (index < 0) {
+            return;
+        }
+        bookings.put(id, new Booking(index, guests));
+        apply(index, guests, 1);
+    }
+
+    void remove(String id) {
+        Booking previous = bookings.remove(id);
+        if (previous != null) {
+            apply(previous.dayIndex(), -previous.guests(), -1);
+        }
+    }
+
+    long guestsBetween(LocalDate from, LocalDate to) {
+        return prefix(guestTree, indexOf(to) + 1) - prefix(guestTree, indexOf(from));
+    }
+
+    long quotesBetween(LocalDate from, LocalDate to) {
+        return prefix(quoteTree, indexOf(to) + 1) - prefix(quoteTree, indexOf(from));
+    }
+
+    long guestsOn(LocalDate date) {
+        return guestsByDay[indexOf(date)];
+    }
+
+    int quotesOn(LocalDate date) {
+        return quotesByDay[indexOf(date)];
+    }
+
+    int size() {
+        return bookings.size();
+    }
+
+    private void apply(int index, long guests, int quotes) {
+        guestsByDay[index] += guests;
+        quotesByDay[index] += quotes;
+        for (int i = index + 1; i <= days; i += i & -i) {
+            guestTree[i] += guests;
+            quoteTree[i] += quotes;
+        }
+    }
+
+    private static long prefix(long[] tree, int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private int indexOf(LocalDate date) {
+        long offset = date.toEpochDay() - start.toEpochDay();
+        return offset < 0 || offset >= days ? -1 : (int) offset;
+    }
+
+    private record Booking(int dayIndex, int guests) {
+    }
+}
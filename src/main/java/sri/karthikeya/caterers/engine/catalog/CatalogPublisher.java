@@ -0,0 +1,213 @@
+package sri.karthikeya.caterers.engine.catalog;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.dto.response.CatalogResponse;
+import sri.karthikeya.caterers.engine.s3.S3Service;
+import sri.karthikeya.caterers.mapper.GalleryMapper;
+import sri.karthikeya.caterers.mapper.MenuMapper;
+import sri.karthikeya.caterers.mapper.ReviewMapper;
+import sri.karthikeya.caterers.repository.GalleryRepository;
+import sri.karthikeya.caterers.repository.MenuRepository;
+import sri.karthikeya.caterers.repository.ReviewRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogPublisher {
+    private static final String S3_PREFIX = "catalog/";
+    private static final String CONTENT_TYPE = "application/json";
+
+    private final MenuRepository menuRepository;
+    private final GalleryRepository galleryRepository;
+    private final ReviewRepository reviewRepository;
+    private final MenuMapper menuMapper;
+    private final GalleryMapper galleryMapper;
+    private final ReviewMapper reviewMapper;
+    private final ObjectMapper objectMapper;
+    private final S3Service s3Service;
+
+    @Value("${caterers.catalog.enabled:true}")
+    private boolean enabled;
+
+    @Value("${caterers.catalog.dir:./data/catalog}")
+    private Path catalogDir;
+
+    @Value("${caterers.catalog.publish-delay:500ms}")
+    private Duration publishDelay;
+
+    @Value("${caterers.catalog.retry-delay:30s}")
+    private Duration retryDelay;
+
+    @Value("${caterers.catalog.refresh-interval:5m}")
+    private Duration refreshInterval;
+
+    @Value("${caterers.catalog.upload-to-s3:false}")
+    private boolean uploadToS3;
+
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogSnapshot current;
+
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishOnStartup() {
+        requestPublish();
+        if (enabled && refreshInterval.isPositive()) {
+            // Catches writes this instance never saw (other instances, direct database edits);
+            // a rebuild whose hash matches the current version is a no-op
+            executor.scheduleWithFixedDelay(this::requestPublish,
+                    refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void requestPublish() {
+        schedulePublish(publishDelay);
+    }
+
+    private void schedulePublish(Duration delay) {
+        if (enabled && publishPending.compareAndSet(false, true)) {
+            executor.schedule(this::publishQuietly, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publishQuietly() {
+        publishPending.set(false);
+        try {
+            publish();
+        } catch (Exception e) {
+            log.error("Failed to publish catalog snapshot, retrying in {}: {}", retryDelay, e.getMessage(), e);
+            schedulePublish(retryDelay);
+        }
+    }
+
+    private void publish() throws IOException {
+        CatalogResponse catalog = new CatalogResponse(
+                menuRepository.findAll().stream().map(menuMapper::toResponse).toList(),
+                galleryRepository.findAll().stream().map(galleryMapper::toResponse).toList(),
+                reviewRepository.findAll().stream().map(reviewMapper::toResponse).toList());
+
+        byte[] json = toJson(catalog);
+        String version = sha256(json);
+        CatalogSnapshot previous = current;
+        if (previous != null && previous.version().equals(version)) {
+            log.debug("Catalog unchanged at version {}", version);
+            return;
+        }
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(version, LocalDateTime.now(), json, gzip(json), brotli(json));
+        store(snapshot);
+        current = snapshot;
+        if (previous != null) {
+            deleteLocal(previous.version());
+        }
+        log.info("Published catalog version {} ({} bytes, {} gzip, {} brotli)", version, json.length,
+                snapshot.gzip().length, snapshot.hasBrotli() ? snapshot.brotli().length : "no");
+    }
+
+    private void store(CatalogSnapshot snapshot) throws IOException {
+        Files.createDirectories(catalogDir);
+        writeAtomically(snapshot.version() + ".json", snapshot.json());
+        writeAtomically(snapshot.version() + ".json.gz", snapshot.gzip());
+        if (snapshot.hasBrotli()) {
+            writeAtomically(snapshot.version() + ".json.br", snapshot.brotli());
+        }
+
+        if (uploadToS3) {
+            s3Service.uploadBytes(S3_PREFIX + snapshot.version() + ".json", snapshot.json(), CONTENT_TYPE, null);
+            s3Service.uploadBytes(S3_PREFIX + snapshot.version() + ".json.gz", snapshot.gzip(), CONTENT_TYPE, "gzip");
+            if (snapshot.hasBrotli()) {
+                s3Service.uploadBytes(S3_PREFIX + snapshot.version() + ".json.br", snapshot.brotli(), CONTENT_TYPE, "br");
+            }
+        }
+    }
+
+    private void writeAtomically(String fileName, byte[] content) throws IOException {
+        Path target = catalogDir.resolve(fileName);
+        Path temp = Files.createTempFile(catalogDir, fileName, ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteLocal(String version) {
+        for (String suffix : new String[]{".json", ".json.gz", ".json.br"}) {
+            try {
+                Files.deleteIfExists(catalogDir.resolve(version + suffix));
+            } catch (IOException e) {
+                log.warn("Failed to delete old catalog file {}{}: {}", version, suffix, e.getMessage());
+            }
+        }
+    }
+
+    private byte[] toJson(CatalogResponse catalog) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] content) throws IOException {
+        if (NativeDetector.inNativeImage() || !Brotli4jLoader.isAvailable()) {
+            return null;
+        }
+        return Encoder.compress(content, new Encoder.Parameters().setQuality(11));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,10 @@
+package sri.karthikeya.caterers.engine.catalog;
+
+import java.time.LocalDateTime;
+
+public record CatalogSnapshot(String version, LocalDateTime generatedAt, byte[] json, byte[] gzip, byte[] brotli) {
+
+    public boolean hasBrotli() {
+        return brotli != null;
+    }
+}
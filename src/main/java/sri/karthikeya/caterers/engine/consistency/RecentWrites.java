@@ -0,0 +1,39 @@
+package sri.karthikeya.caterers.engine.consistency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers ids written through this node for longer than a secondary may lag behind, so reads that follow
+ * a write can go to the primary instead of returning a stale copy from a secondary.
+ */
+@Component
+public class RecentWrites {
+    private final Cache<String, Boolean> written;
+
+    public RecentWrites(@Value("${caterers.mongo.read.primary-after-write:2m}") Duration window,
+                        @Value("${caterers.mongo.read.recent-writes-size:100000}") long maximumSize) {
+        this.written = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void record(String id) {
+        written.put(id, Boolean.TRUE);
+    }
+
+    public boolean isRecent(String id) {
+        return written.getIfPresent(id) != null;
+    }
+
+    public List<String> recentOf(Collection<String> ids) {
+        return ids.stream().filter(this::isRecent).toList();
+    }
+}
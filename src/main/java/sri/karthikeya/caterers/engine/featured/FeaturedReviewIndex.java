@@ -0,0 +1,132 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.Review;
+import sri.karthikeya.caterers.repository.ReviewRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeaturedReviewIndex {
+    private final ReviewRepository reviewRepository;
+    private final ReviewScorer reviewScorer;
+
+    @Value("${caterers.reviews.featured.size:12}")
+    private int size;
+
+    @Value("${caterers.reviews.featured.capacity:48}")
+    private int capacity;
+
+    @Value("${caterers.reviews.featured.reload-interval:1h}")
+    private Duration reloadInterval;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TopKReviews reviews = new TopKReviews(1, 1);
+    private List<Consumer<TopKReviews>> writesDuringReload;
+    private volatile long lastReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${caterers.reviews.featured.check-interval:1m}",
+            fixedDelayString = "${caterers.reviews.featured.check-interval:1m}")
+    public void scheduledReload() {
+        boolean complete;
+        lock.readLock().lock();
+        try {
+            complete = reviews.isComplete();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (complete && System.nanoTime() - lastReload < reloadInterval.toNanos()) {
+            return;
+        }
+
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Failed to reload featured reviews: {}", e.getMessage(), e);
+        }
+    }
+
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        TopKReviews next = new TopKReviews(size, capacity);
+
+        lock.writeLock().lock();
+        try {
+            writesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try (Stream<Review> all = reviewRepository.streamAll()) {
+            all.forEach(review -> next.upsert(review, reviewScorer.score(review)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                writesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            writesDuringReload.forEach(write -> write.accept(next));
+            writesDuringReload = null;
+            reviews = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastReload = System.nanoTime();
+        log.info("Loaded featured reviews tracking {} candidates in {} ms", next.tracked(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void record(Review review) {
+        double score = reviewScorer.score(review);
+        write(target -> target.upsert(review, score));
+    }
+
+    public void remove(String reviewId) {
+        write(target -> target.remove(reviewId));
+    }
+
+    public List<Review> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return reviews.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<TopKReviews> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(reviews);
+            if (writesDuringReload != null) {
+                writesDuringReload.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import sri.karthikeya.caterers.entity.Review;
+
+@FunctionalInterface
+public interface ReviewScorer {
+    double score(Review review);
+}
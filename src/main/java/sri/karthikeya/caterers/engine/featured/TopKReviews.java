@@ -0,0 +1,104 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import sri.karthikeya.caterers.entity.Review;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+class TopKReviews {
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Ranked::id);
+
+    private final int size;
+    private final int capacity;
+    private final TreeSet<Ranked> ranked = new TreeSet<>(BEST_FIRST);
+    private final Map<String, Ranked> members = new HashMap<>();
+    private final Set<String> removed = new HashSet<>();
+    private double floor = Double.NEGATIVE_INFINITY;
+
+    TopKReviews(int size, int capacity) {
+        this.size = size;
+        this.capacity = Math.max(size, capacity);
+    }
+
+    /**
+     * Ignores a write that arrives after a newer version of the same review or after its removal,
+     * so concurrent writes and writes replayed after a reload cannot bring back stale data.
+     */
+    void upsert(Review review, double score) {
+        if (removed.contains(review.getId())) {
+            return;
+        }
+        Ranked existing = members.get(review.getId());
+        if (existing != null && versionOf(existing.review()) > versionOf(review)) {
+            return;
+        }
+        drop(review.getId());
+        if (ranked.size() >= capacity && score <= ranked.last().score()) {
+            floor = Math.max(floor, score);
+            return;
+        }
+
+        Ranked entry = new Ranked(review.getId(), score, review);
+        ranked.add(entry);
+        members.put(entry.id(), entry);
+        if (ranked.size() > capacity) {
+            Ranked evicted = ranked.pollLast();
+            members.remove(evicted.id());
+            floor = Math.max(floor, evicted.score());
+        }
+    }
+
+    void remove(String id) {
+        removed.add(id);
+        drop(id);
+    }
+
+    private void drop(String id) {
+        Ranked existing = members.remove(id);
+        if (existing != null) {
+            ranked.remove(existing);
+        }
+    }
+
+    List<Review> top(int limit) {
+        List<Review> top = new ArrayList<>(Math.min(limit, size));
+        for (Ranked entry : ranked) {
+            if (top.size() >= Math.min(limit, size) || entry.score() < floor) {
+                break;
+            }
+            top.add(entry.review());
+        }
+        return top;
+    }
+
+    boolean isComplete() {
+        if (floor == Double.NEGATIVE_INFINITY) {
+            return true;
+        }
+        int trusted = 0;
+        for (Ranked entry : ranked) {
+            if (entry.score() < floor || ++trusted >= size) {
+                break;
+            }
+        }
+        return trusted >= size;
+    }
+
+    int tracked() {
+        return ranked.size();
+    }
+
+    private static long versionOf(Review review) {
+        return review.getVersion() == null ? -1 : review.getVersion();
+    }
+
+    private record Ranked(String id, double score, Review review) {
+    }
+}
@@ -0,0 +1,51 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.Review;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+public class WeightedReviewScorer implements ReviewScorer {
+    private final double starsWeight;
+    private final double guestsWeight;
+    private final double topPicksWeight;
+    private final double recencyWeight;
+    private final double recencyPeriodSeconds;
+    private Clock clock = Clock.systemDefaultZone();
+
+    public WeightedReviewScorer(@Value("${caterers.reviews.featured.weights.stars:2.0}") double starsWeight,
+                                @Value("${caterers.reviews.featured.weights.guests:1.0}") double guestsWeight,
+                                @Value("${caterers.reviews.featured.weights.top-picks:0.5}") double topPicksWeight,
+                                @Value("${caterers.reviews.featured.weights.recency:1.0}") double recencyWeight,
+                                @Value("${caterers.reviews.featured.recency-period:90d}") Duration recencyPeriod) {
+        this.starsWeight = starsWeight;
+        this.guestsWeight = guestsWeight;
+        this.topPicksWeight = topPicksWeight;
+        this.recencyWeight = recencyWeight;
+        this.recencyPeriodSeconds = recencyPeriod.toSeconds();
+    }
+
+    @Override
+    public double score(Review review) {
+        double stars = review.getStars() == null ? 0 : review.getStars();
+        double guests = review.getGuestsCount() == null ? 0 : review.getGuestsCount();
+        double topPicks = review.getTopPicks() == null ? 0 : review.getTopPicks().size();
+        return starsWeight * stars + guestsWeight * Math.log10(1 + guests) + topPicksWeight * topPicks
+                + recencyWeight * recency(review.getCreatedAt());
+    }
+
+    /**
+     * Decays from 1 for a review created now towards 0, losing about 63% per recency period.
+     */
+    private double recency(LocalDateTime createdAt) {
+        if (createdAt == null || recencyPeriodSeconds <= 0) {
+            return 0;
+        }
+        long ageSeconds = Math.max(0, Duration.between(createdAt, LocalDateTime.now(clock)).toSeconds());
+        return Math.exp(-ageSeconds / recencyPeriodSeconds);
+    }
+}
@@ -0,0 +1,139 @@
+package sri.karthikeya.caterers.engine.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+class JournalSegment {
+    private static final int HEADER_SIZE = 8;
+
+    private final Path path;
+    private final long sequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private volatile int writePosition;
+    private int drainPosition;
+
+    private JournalSegment(Path path, long sequence, FileChannel channel, MappedByteBuffer buffer, int writePosition) {
+        this.path = path;
+        this.sequence = sequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+    }
+
+    static JournalSegment create(Path path, long sequence, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new JournalSegment(path, sequence, channel, buffer, 0);
+    }
+
+    static JournalSegment open(Path path, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        JournalSegment segment = new JournalSegment(path, sequence, channel, buffer, 0);
+        segment.scanValidRecords();
+        return segment;
+    }
+
+    private void scanValidRecords() {
+        int position = 0;
+        boolean drained = true;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int header = buffer.getInt(position);
+            int length = Math.abs(header);
+            if (header == 0 || header == Integer.MIN_VALUE || position + HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            if (checksum(payload) != buffer.getInt(position + 4)) {
+                break;
+            }
+            if (header > 0) {
+                drained = false;
+            } else if (drained) {
+                drainPosition = position + HEADER_SIZE + length;
+            }
+            position += HEADER_SIZE + length;
+        }
+        writePosition = position;
+    }
+
+    boolean tryAppend(byte[] payload) {
+        int position = writePosition;
+        if (position + HEADER_SIZE + payload.length > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position + 4, checksum(payload));
+        buffer.putInt(position, payload.length);
+        writePosition = position + HEADER_SIZE + payload.length;
+        return true;
+    }
+
+    List<byte[]> readPending(int maxRecords) {
+        List<byte[]> records = new ArrayList<>();
+        int position = drainPosition;
+        int limit = writePosition;
+        while (position < limit && records.size() < maxRecords) {
+            int length = buffer.getInt(position);
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            records.add(payload);
+            position += HEADER_SIZE + length;
+        }
+        return records;
+    }
+
+    void markDrained(List<byte[]> records) {
+        for (byte[] record : records) {
+            buffer.putInt(drainPosition, -record.length);
+            drainPosition += HEADER_SIZE + record.length;
+        }
+        buffer.force();
+    }
+
+    boolean isFullyDrained() {
+        return drainPosition >= writePosition;
+    }
+
+    boolean isEmpty() {
+        return writePosition == 0;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,368 @@
+package sri.karthikeya.caterers.engine.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.exception.custom.InternalServerException;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuoteJournal {
+    private static final String SEGMENT_PREFIX = "quotes-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String DELETED = "_journalDeleted";
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    private final QuoteRepository quoteRepository;
+
+    @Value("${caterers.quotes.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${caterers.quotes.write-behind.journal-dir:./data/quote-journal}")
+    private Path journalDir;
+
+    @Value("${caterers.quotes.write-behind.segment-size:16MB}")
+    private DataSize segmentSize;
+
+    @Value("${caterers.quotes.write-behind.sync-interval:5ms}")
+    private Duration syncInterval;
+
+    @Value("${caterers.quotes.write-behind.await-sync:true}")
+    private boolean awaitSync;
+
+    @Value("${caterers.quotes.write-behind.drain-interval:200ms}")
+    private Duration drainInterval;
+
+    @Value("${caterers.quotes.write-behind.drain-batch-size:500}")
+    private int drainBatchSize;
+
+    private final Deque<JournalSegment> segments = new ArrayDeque<>();
+    private final Map<String, Quote> pending = new ConcurrentHashMap<>();
+    private final Object drainLock = new Object();
+
+    private JournalSegment active;
+    private int syncedPosition;
+    private CompletableFuture<Void> nextSync = new CompletableFuture<>();
+    private ScheduledExecutorService scheduler;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(journalDir);
+
+        long lastSequence = 0;
+        int replayed = 0;
+        for (Path path : listSegments()) {
+            long sequence = sequenceOf(path);
+            JournalSegment segment = JournalSegment.open(path, sequence);
+            for (byte[] record : segment.readPending(Integer.MAX_VALUE)) {
+                Document document = decode(record);
+                if (isTombstone(document)) {
+                    pending.remove(document.getString("_id"));
+                    continue;
+                }
+                Quote quote = quoteRepository.fromDocument(document);
+                pending.put(quote.getId(), quote);
+                replayed++;
+            }
+            segments.addLast(segment);
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+        active = newSegment(lastSequence + 1);
+        log.info("Quote journal started in {} - {} journaled quotes pending replay", journalDir, replayed);
+
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "quote-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync,
+                syncInterval.toNanos(), syncInterval.toNanos(), TimeUnit.NANOSECONDS);
+        scheduler.scheduleWithFixedDelay(this::drainQuietly,
+                drainInterval.toMillis(), drainInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void append(Quote quote) {
+        byte[] record = encode(quoteRepository.toDocument(quote));
+        CompletableFuture<Void> syncFuture;
+        synchronized (this) {
+            write(record);
+            pending.put(quote.getId(), quote);
+            syncFuture = nextSync;
+        }
+        awaitSync(syncFuture);
+    }
+
+    /**
+     * Journals a delete of a quote that has not been drained yet, so the drain removes it after inserting it
+     * and a replay does not bring it back. Returns false if the quote is not pending.
+     */
+    public boolean remove(String id) {
+        if (!enabled) {
+            return false;
+        }
+        CompletableFuture<Void> syncFuture;
+        synchronized (this) {
+            if (pending.remove(id) == null) {
+                return false;
+            }
+            write(encode(new Document("_id", id).append(DELETED, true)));
+            syncFuture = nextSync;
+        }
+        awaitSync(syncFuture);
+        return true;
+    }
+
+    /**
+     * Inserts a single pending quote ahead of the drain so it can be updated in MongoDB. The journal record
+     * stays in place; draining it later is a no-op because duplicate inserts are ignored.
+     */
+    public void persistPending(String id) {
+        Quote quote = pending.get(id);
+        if (quote != null) {
+            quoteRepository.insertAllIgnoringDuplicates(List.of(quoteRepository.toDocument(quote)));
+        }
+    }
+
+    public void replacePending(Quote quote) {
+        pending.computeIfPresent(quote.getId(), (id, previous) -> quote);
+    }
+
+    public Optional<Quote> findPending(String id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    public List<Quote> pendingQuotes() {
+        return List.copyOf(pending.values());
+    }
+
+    private void write(byte[] record) {
+        if (!active.tryAppend(record)) {
+            roll();
+            if (!active.tryAppend(record)) {
+                throw new InternalServerException("Quote is too large for the journal");
+            }
+        }
+    }
+
+    private void awaitSync(CompletableFuture<Void> syncFuture) {
+        if (awaitSync) {
+            syncFuture.join();
+        }
+    }
+
+    private void roll() {
+        active.force();
+        syncedPosition = 0;
+        completeSync();
+        segments.addLast(active);
+        try {
+            active = newSegment(active.getSequence() + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sync() {
+        JournalSegment segment;
+        int position;
+        CompletableFuture<Void> completed;
+        synchronized (this) {
+            segment = active;
+            position = segment.getWritePosition();
+            if (position == syncedPosition) {
+                return;
+            }
+            completed = nextSync;
+            nextSync = new CompletableFuture<>();
+        }
+        try {
+            segment.force();
+        } catch (RuntimeException e) {
+            log.error("Failed to sync quote journal: {}", e.getMessage());
+        }
+        synchronized (this) {
+            if (segment == active) {
+                syncedPosition = position;
+            }
+        }
+        completed.complete(null);
+    }
+
+    private void completeSync() {
+        nextSync.complete(null);
+        nextSync = new CompletableFuture<>();
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Quote journal drain failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    void drain() {
+        synchronized (drainLock) {
+            for (JournalSegment segment : snapshotSegments()) {
+                drainSegment(segment);
+                boolean sealed;
+                synchronized (this) {
+                    sealed = segment != active;
+                }
+                if (!sealed || !segment.isFullyDrained()) {
+                    return;
+                }
+                synchronized (this) {
+                    segments.remove(segment);
+                }
+                try {
+                    segment.delete();
+                } catch (IOException e) {
+                    log.warn("Failed to delete drained journal segment {}: {}", segment.getSequence(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void drainSegment(JournalSegment segment) {
+        List<byte[]> records;
+        while (!(records = segment.readPending(drainBatchSize)).isEmpty()) {
+            List<Document> documents = new ArrayList<>(records.size());
+            Set<String> deleted = new HashSet<>();
+            for (byte[] record : records) {
+                Document document = decode(record);
+                if (isTombstone(document)) {
+                    deleted.add(document.getString("_id"));
+                } else {
+                    documents.add(document);
+                }
+            }
+            // A quote deleted within the same batch is never inserted
+            documents.removeIf(document -> deleted.contains(document.getString("_id")));
+            if (!documents.isEmpty()) {
+                quoteRepository.insertAllIgnoringDuplicates(documents);
+            }
+            for (String id : deleted) {
+                quoteRepository.deleteById(id);
+            }
+            segment.markDrained(records);
+            for (Document document : documents) {
+                pending.remove(document.getString("_id"));
+            }
+            log.debug("Drained {} journaled quotes and {} deletes into MongoDB", documents.size(), deleted.size());
+        }
+    }
+
+    private synchronized List<JournalSegment> snapshotSegments() {
+        List<JournalSegment> snapshot = new ArrayList<>(segments);
+        snapshot.add(active);
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+        drainQuietly();
+        synchronized (this) {
+            for (JournalSegment segment : snapshotSegments()) {
+                try {
+                    if (segment.isEmpty() || segment.isFullyDrained()) {
+                        segment.delete();
+                    } else {
+                        segment.close();
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to close journal segment {}: {}", segment.getSequence(), e.getMessage());
+                }
+            }
+        }
+        log.info("Quote journal stopped - {} quotes left for replay", pending.size());
+    }
+
+    private JournalSegment newSegment(long sequence) throws IOException {
+        Path path = journalDir.resolve(SEGMENT_PREFIX + String.format("%019d", sequence) + SEGMENT_SUFFIX);
+        return JournalSegment.create(path, sequence, (int) segmentSize.toBytes());
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isTombstone(Document document) {
+        return document.getBoolean(DELETED, false);
+    }
+
+    private static byte[] encode(Document document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    private static Document decode(byte[] record) {
+        return CODEC.decode(new BsonBinaryReader(ByteBuffer.wrap(record)), DecoderContext.builder().build());
+    }
+}
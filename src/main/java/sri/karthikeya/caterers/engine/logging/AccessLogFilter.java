@@ -0,0 +1,44 @@
+package sri.karthikeya.caterers.engine.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("caterers.access");
+
+    @Value("${caterers.logging.access.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !ACCESS_LOG.isInfoEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            double durationMillis = (System.nanoTime() - start) / 1_000L / 1_000.0;
+            ACCESS_LOG.info("method={} path={} status={} durationMs={} client={}",
+                    request.getMethod(), request.getRequestURI(), status, durationMillis, request.getRemoteAddr());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package sri.karthikeya.caterers.engine.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@Setter
+public class DebugSamplingFilter extends Filter<ILoggingEvent> {
+    private double sampleRate = 1.0;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (sampleRate >= 1.0 || event.getLevel().isGreaterOrEqual(Level.INFO)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
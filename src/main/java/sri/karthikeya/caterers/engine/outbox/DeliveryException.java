@@ -0,0 +1,19 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+public class DeliveryException extends RuntimeException {
+    private final boolean retryable;
+
+    public DeliveryException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public DeliveryException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
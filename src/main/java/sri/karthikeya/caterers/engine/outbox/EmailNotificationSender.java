@@ -0,0 +1,88 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+
+import java.util.Arrays;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "caterers.notifications.enabled", havingValue = "true")
+public class EmailNotificationSender implements NotificationSender {
+    private final JavaMailSender mailSender;
+
+    @Value("${caterers.notifications.from}")
+    private String from;
+
+    @Value("${caterers.notifications.staff.emails:}")
+    private String[] staffEmails;
+
+    @Override
+    public Set<NotificationChannel> channels() {
+        return Set.of(NotificationChannel.STAFF_EMAIL, NotificationChannel.CUSTOMER_EMAIL);
+    }
+
+    @Override
+    public void send(OutboxMessage message, Quote quote) {
+        SimpleMailMessage mail = message.getChannel() == NotificationChannel.STAFF_EMAIL
+                ? staffNotification(quote)
+                : customerAcknowledgement(quote);
+        mail.setFrom(from);
+        try {
+            mailSender.send(mail);
+        } catch (MailParseException | MailPreparationException e) {
+            throw new DeliveryException("Invalid email: " + e.getMessage(), false, e);
+        } catch (MailException e) {
+            throw new DeliveryException("SMTP delivery failed: " + e.getMessage(), true, e);
+        }
+    }
+
+    private SimpleMailMessage staffNotification(Quote quote) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(Arrays.stream(staffEmails).map(String::trim).filter(email -> !email.isEmpty()).toArray(String[]::new));
+        mail.setReplyTo(quote.getEmail());
+        mail.setSubject("New quote request: " + quote.getEventType() + " on " + quote.getEventDate());
+        mail.setText("""
+                A new quote request has arrived.
+
+                Name: %s
+                Phone: %s
+                Email: %s
+                Event: %s on %s
+                Expected guests: %d
+                Details: %s
+
+                Reference: %s
+                """.formatted(quote.getFullName(), quote.getPhoneNumber(), quote.getEmail(), quote.getEventType(),
+                quote.getEventDate(), quote.getExpectedGuests(),
+                quote.getAdditionalDetails() == null ? "-" : quote.getAdditionalDetails(), quote.getId()));
+        return mail;
+    }
+
+    private SimpleMailMessage customerAcknowledgement(Quote quote) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(quote.getEmail());
+        mail.setSubject("We received your quote request - Sri Karthikeya Caterers");
+        mail.setText("""
+                Dear %s,
+
+                Thank you for your interest in Sri Karthikeya Caterers. We have received your request for
+                a %s on %s for %d guests, and our team will contact you shortly.
+
+                Reference: %s
+                """.formatted(quote.getFullName(), quote.getEventType(), quote.getEventDate(),
+                quote.getExpectedGuests(), quote.getId()));
+        return mail;
+    }
+}
@@ -0,0 +1,14 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+
+import java.util.Set;
+
+public interface NotificationSender {
+
+    Set<NotificationChannel> channels();
+
+    void send(OutboxMessage message, Quote quote);
+}
@@ -0,0 +1,212 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+import sri.karthikeya.caterers.enums.OutboxStatus;
+import sri.karthikeya.caterers.repository.OutboxRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "caterers.notifications.enabled", havingValue = "true")
+public class OutboxDispatcher {
+    private static final String METRIC = "caterers.outbox.deliveries";
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private final OutboxRepository outboxRepository;
+    private final QuoteRepository quoteRepository;
+    private final QuoteOutbox quoteOutbox;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationChannel, NotificationSender> senders = new EnumMap<>(NotificationChannel.class);
+
+    @Value("${caterers.notifications.outbox.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${caterers.notifications.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${caterers.notifications.outbox.max-batches-per-poll:5}")
+    private int maxBatchesPerPoll;
+
+    @Value("${caterers.notifications.outbox.lease:2m}")
+    private Duration lease;
+
+    @Value("${caterers.notifications.outbox.send-budget:15s}")
+    private Duration sendBudget;
+
+    @Value("${caterers.notifications.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${caterers.notifications.outbox.initial-backoff:10s}")
+    private Duration initialBackoff;
+
+    @Value("${caterers.notifications.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${caterers.notifications.outbox.orphan-grace:2m}")
+    private Duration orphanGrace;
+
+    @Value("${caterers.notifications.outbox.retention:7d}")
+    private Duration retention;
+
+    public OutboxDispatcher(OutboxRepository outboxRepository,
+                            QuoteRepository quoteRepository,
+                            QuoteOutbox quoteOutbox,
+                            MeterRegistry meterRegistry,
+                            List<NotificationSender> senders) {
+        this.outboxRepository = outboxRepository;
+        this.quoteRepository = quoteRepository;
+        this.quoteOutbox = quoteOutbox;
+        this.meterRegistry = meterRegistry;
+        for (NotificationSender sender : senders) {
+            sender.channels().forEach(channel -> this.senders.put(channel, sender));
+        }
+    }
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(sendBudget.toSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void poll() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll && quoteOutbox.extract(batchSize) == batchSize; batch++) {
+                log.debug("More quotes have embedded notifications, extracting the next batch");
+            }
+            for (int batch = 0; batch < maxBatchesPerPoll && dispatchBatch() == batchSize; batch++) {
+                log.debug("Outbox batch was full, claiming the next one");
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed, leased messages will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    public int dispatchBatch() {
+        String owner = IdGenerator.newId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(lease);
+        List<OutboxMessage> claimed = outboxRepository.claim(owner, now, leaseUntil, batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> quoteIds = claimed.stream().map(OutboxMessage::getQuoteId).collect(Collectors.toSet());
+        Map<String, Quote> quotes = quoteRepository.findAllByIdsFromPrimary(quoteIds).stream()
+                .collect(Collectors.toMap(Quote::getId, Function.identity()));
+        for (OutboxMessage message : claimed) {
+            if (LocalDateTime.now().plus(sendBudget).isAfter(leaseUntil)) {
+                outboxRepository.release(message.getId(), owner, LocalDateTime.now());
+                continue;
+            }
+            deliver(message, quotes.get(message.getQuoteId()), owner);
+        }
+        log.debug("Dispatched {} outbox messages", claimed.size());
+        return claimed.size();
+    }
+
+    private void deliver(OutboxMessage message, Quote quote, String owner) {
+        if (quote == null) {
+            if (message.getCreatedAt().plus(orphanGrace).isBefore(LocalDateTime.now())) {
+                finish(message, owner, OutboxStatus.DISCARDED, "Quote " + message.getQuoteId() + " does not exist");
+            } else {
+                retry(message, owner, "Quote " + message.getQuoteId() + " is not visible yet");
+            }
+            return;
+        }
+
+        NotificationSender sender = senders.get(message.getChannel());
+        if (sender == null) {
+            finish(message, owner, OutboxStatus.FAILED, "No sender configured for " + message.getChannel());
+            return;
+        }
+        try {
+            sender.send(message, quote);
+            finish(message, owner, OutboxStatus.SENT, null);
+        } catch (DeliveryException e) {
+            failed(message, owner, e.getMessage(), e.isRetryable());
+        } catch (RuntimeException e) {
+            failed(message, owner, e.getMessage(), true);
+        }
+    }
+
+    private void failed(OutboxMessage message, String owner, String error, boolean retryable) {
+        if (retryable && message.getAttempts() < maxAttempts) {
+            retry(message, owner, error);
+            return;
+        }
+        log.error("Giving up on outbox message {} after {} attempts: {}", message.getId(), message.getAttempts(), error);
+        finish(message, owner, OutboxStatus.FAILED, error);
+    }
+
+    private void retry(OutboxMessage message, String owner, String error) {
+        LocalDateTime availableAt = LocalDateTime.now().plus(backoff(message.getAttempts()));
+        if (outboxRepository.reschedule(message.getId(), owner, availableAt, error)) {
+            log.warn("Outbox message {} attempt {} failed, retrying at {}: {}", message.getId(), message.getAttempts(),
+                    availableAt, error);
+        }
+        count(message, "retried");
+    }
+
+    private void finish(OutboxMessage message, String owner, OutboxStatus status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!outboxRepository.complete(message.getId(), owner, status, error, now, now.plus(retention))) {
+            log.warn("Lease on outbox message {} was lost before it could be marked {}", message.getId(), status);
+        }
+        count(message, status.name().toLowerCase());
+    }
+
+    private Duration backoff(int attempts) {
+        long doublings = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_DOUBLINGS);
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << doublings);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void count(OutboxMessage message, String result) {
+        Counter.builder(METRIC)
+                .tag("channel", message.getChannel().name().toLowerCase())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,94 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+import sri.karthikeya.caterers.enums.OutboxStatus;
+import sri.karthikeya.caterers.repository.OutboxRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuoteOutbox {
+    private final OutboxRepository outboxRepository;
+    private final QuoteRepository quoteRepository;
+
+    @Value("${caterers.notifications.enabled:false}")
+    private boolean enabled;
+
+    @Value("${caterers.notifications.staff.emails:}")
+    private String[] staffEmails;
+
+    @Value("${caterers.notifications.staff.webhook-url:}")
+    private String webhookUrl;
+
+    @Value("${caterers.notifications.customer-acknowledgement:true}")
+    private boolean customerAcknowledgement;
+
+    /**
+     * Records the notifications a new quote needs on the quote itself, so they are inserted atomically with it
+     * and without an extra round trip. The dispatcher later moves them into the outbox with {@link #extract}.
+     */
+    public void attach(Quote quote) {
+        if (!enabled) {
+            return;
+        }
+        List<NotificationChannel> channels = channels();
+        if (!channels.isEmpty()) {
+            quote.setPendingNotifications(channels);
+        }
+    }
+
+    /**
+     * Creates outbox messages for up to {@code limit} quotes with embedded notifications, then clears them from
+     * the quotes. Message ids are deterministic, so a crash between the two steps only repeats ignored inserts.
+     */
+    public int extract(int limit) {
+        List<Quote> quotes = quoteRepository.findWithPendingNotifications(limit);
+        if (quotes.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (Quote quote : quotes) {
+            for (NotificationChannel channel : quote.getPendingNotifications()) {
+                messages.add(new OutboxMessage(messageId(quote.getId(), channel), quote.getId(), channel,
+                        OutboxStatus.PENDING, 0, now, null, null, now, null, null));
+            }
+        }
+        if (!messages.isEmpty()) {
+            outboxRepository.insertAllIgnoringDuplicates(messages);
+        }
+        quoteRepository.clearPendingNotifications(quotes.stream().map(Quote::getId).toList());
+        log.debug("Moved notifications of {} quotes into the outbox", quotes.size());
+        return quotes.size();
+    }
+
+    private List<NotificationChannel> channels() {
+        List<NotificationChannel> channels = new ArrayList<>(3);
+        if (Arrays.stream(staffEmails).anyMatch(email -> !email.isBlank())) {
+            channels.add(NotificationChannel.STAFF_EMAIL);
+        }
+        if (!webhookUrl.isBlank()) {
+            channels.add(NotificationChannel.STAFF_WEBHOOK);
+        }
+        if (customerAcknowledgement) {
+            channels.add(NotificationChannel.CUSTOMER_EMAIL);
+        }
+        return channels;
+    }
+
+    private static String messageId(String quoteId, NotificationChannel channel) {
+        return quoteId + ":" + channel.name().toLowerCase();
+    }
+}
@@ -0,0 +1,90 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+import sri.karthikeya.caterers.mapper.QuoteMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "caterers.notifications.enabled", havingValue = "true")
+public class WebhookNotificationSender implements NotificationSender {
+    private static final String EVENT = "quote.created";
+
+    private final ObjectMapper objectMapper;
+    private final QuoteMapper quoteMapper;
+    private final HttpClient httpClient;
+    private final URI webhookUrl;
+    private final Duration timeout;
+
+    public WebhookNotificationSender(ObjectMapper objectMapper,
+                                     QuoteMapper quoteMapper,
+                                     @Value("${caterers.notifications.staff.webhook-url:}") String webhookUrl,
+                                     @Value("${caterers.notifications.webhook-timeout:5s}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.quoteMapper = quoteMapper;
+        this.webhookUrl = webhookUrl.isBlank() ? null : URI.create(webhookUrl);
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public Set<NotificationChannel> channels() {
+        return Set.of(NotificationChannel.STAFF_WEBHOOK);
+    }
+
+    @Override
+    public void send(OutboxMessage message, Quote quote) {
+        if (webhookUrl == null) {
+            throw new DeliveryException("No webhook URL configured", false);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("event", EVENT);
+        payload.put("id", message.getId());
+        payload.put("quote", quoteMapper.toResponse(quote));
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(webhookUrl)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", message.getId())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new DeliveryException("Failed to serialize webhook payload", false, e);
+        }
+
+        int status;
+        try {
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new DeliveryException("Webhook request failed: " + e.getMessage(), true, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted while calling webhook", true, e);
+        }
+        if (status >= 200 && status < 300) {
+            return;
+        }
+        boolean retryable = status >= 500 || status == 408 || status == 429;
+        throw new DeliveryException("Webhook responded with HTTP " + status, retryable);
+    }
+}
@@ -0,0 +1,387 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.InternalServerException;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "caterers.storage.type", havingValue = "filesystem")
+public class FileSystemStorageService implements S3Service {
+    public static final String URL_PREFIX = "/files/";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String MULTIPART_DIR = ".multipart/";
+
+    private final Path root;
+    private final String publicBaseUrl;
+    private final SecretKeySpec signingKey;
+
+    public FileSystemStorageService(@Value("${caterers.storage.filesystem.root:./data/objects}") Path root,
+                                    @Value("${caterers.storage.filesystem.public-base-url:}") String publicBaseUrl,
+                                    @Value("${caterers.storage.filesystem.signing-key:}") String signingKey) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+        this.signingKey = new SecretKeySpec(signingKeyBytes(signingKey), HMAC_ALGORITHM);
+        Files.createDirectories(this.root);
+        log.info("Storing objects on the local filesystem under {}", this.root);
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file, String path) {
+        log.debug("Uploading file to local storage: {}", file.getOriginalFilename());
+        UploadValidator.validate(file);
+
+        String key = UploadValidator.generateKey(path, file.getOriginalFilename());
+        try {
+            Path target = resolve(key);
+            Path temp = tempFileFor(target);
+            try {
+                file.transferTo(temp);
+                moveAtomically(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("File stored successfully: {}", key);
+            return key;
+        } catch (IOException e) {
+            log.error("Local upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to store file");
+        }
+    }
+
+    @Override
+    public String uploadStream(ImageStream image, String path) {
+        String key = UploadValidator.generateKey(path, image.extension());
+        log.debug("Streaming upload to local storage: {}", key);
+
+        try {
+            Path target = resolve(key);
+            Path temp = tempFileFor(target);
+            try {
+                Files.copy(image.content(), temp, StandardCopyOption.REPLACE_EXISTING);
+                moveAtomically(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("File stored successfully: {}", key);
+            return key;
+        } catch (IOException e) {
+            log.error("Local upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to store file");
+        }
+    }
+
+    @Override
+    public String updateFile(String existingKey, MultipartFile newFile) {
+        log.debug("Updating file in local storage: {}", existingKey);
+        UploadValidator.validate(newFile);
+
+        if (!fileExists(existingKey)) {
+            log.warn("File not found for update: {}", existingKey);
+            throw new BadRequestException("File not found: " + existingKey);
+        }
+
+        deleteFile(existingKey);
+        String path = existingKey.substring(0, existingKey.lastIndexOf('/') + 1);
+        return uploadFile(newFile, path);
+    }
+
+    @Override
+    public void uploadBytes(String key, byte[] content, String contentType, String contentEncoding) {
+        log.debug("Storing {} bytes locally: {}", content.length, key);
+
+        try {
+            Path target = resolve(key);
+            Path temp = tempFileFor(target);
+            try {
+                Files.write(temp, content);
+                moveAtomically(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.error("Local upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to store file");
+        }
+    }
+
+    @Override
+    public void deleteFile(String key) {
+        log.debug("Deleting file from local storage: {}", key);
+
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            log.error("Local delete failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to delete file");
+        }
+    }
+
+    @Override
+    public String getPresignedUrl(String key, int expirationMinutes) {
+        long expires = Instant.now().plusSeconds(expirationMinutes * 60L).getEpochSecond();
+        return publicBaseUrl + URL_PREFIX + key + "?expires=" + expires + "&signature=" + sign(key + "\n" + expires);
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, long contentLength, int expirationMinutes) {
+        Instant expiresAt = Instant.now().plusSeconds(expirationMinutes * 60L);
+        long expires = expiresAt.getEpochSecond();
+        String signature = sign(uploadPayload(key, expires, contentType, contentLength));
+        return new PresignedUpload(publicBaseUrl + URL_PREFIX + key + "?expires=" + expires + "&signature=" + signature,
+                "PUT", Map.of(HttpHeaders.CONTENT_TYPE, contentType), expiresAt);
+    }
+
+    @Override
+    public Optional<StoredObject> headObject(String key) {
+        Path path = resolve(key);
+        try {
+            long size = Files.size(path);
+            String contentType = MediaTypeFactory.getMediaType(key).map(MediaType::toString).orElse(null);
+            return Optional.of(new StoredObject(size, contentType));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("Error reading object metadata: {}", e.getMessage());
+            throw new InternalServerException("Failed to read object metadata");
+        }
+    }
+
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        String uploadId = IdGenerator.newId();
+        log.debug("Starting local multipart upload {} for: {}", uploadId, key);
+
+        try {
+            Files.createDirectories(resolve(MULTIPART_DIR + uploadId));
+            return uploadId;
+        } catch (IOException e) {
+            log.error("Failed to start local multipart upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to start multipart upload");
+        }
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream content, long contentLength) {
+        log.debug("Storing part {} of {} ({} bytes)", partNumber, key, contentLength);
+        Path directory = resolve(MULTIPART_DIR + uploadId);
+        if (!Files.isDirectory(directory)) {
+            throw new BadRequestException("Multipart upload no longer exists for: " + key);
+        }
+
+        try {
+            Path target = directory.resolve(Integer.toString(partNumber));
+            Path temp = tempFileFor(target);
+            try {
+                CheckedInputStream checked = new CheckedInputStream(content, new CRC32());
+                long written = Files.copy(checked, temp, StandardCopyOption.REPLACE_EXISTING);
+                if (written != contentLength) {
+                    throw new BadRequestException("Chunk size does not match Content-Length");
+                }
+                moveAtomically(temp, target);
+                return Long.toHexString(checked.getChecksum().getValue());
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to store part {} of {}: {}", partNumber, key, e.getMessage());
+            throw new BadRequestException("Failed to read chunk");
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, SortedMap<Integer, String> partETags) {
+        log.debug("Completing local multipart upload of {} with {} parts", key, partETags.size());
+        Path directory = resolve(MULTIPART_DIR + uploadId);
+        if (!Files.isDirectory(directory)) {
+            log.warn("Multipart upload already completed or aborted: {}", key);
+            return;
+        }
+
+        try {
+            Path target = resolve(key);
+            Path temp = tempFileFor(target);
+            try {
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    for (Integer partNumber : partETags.keySet()) {
+                        try (FileChannel in = FileChannel.open(directory.resolve(partNumber.toString()), StandardOpenOption.READ)) {
+                            long size = in.size();
+                            long position = 0;
+                            while (position < size) {
+                                long transferred = in.transferTo(position, size - position, out);
+                                if (transferred <= 0) {
+                                    break;
+                                }
+                                position += transferred;
+                            }
+                        }
+                    }
+                }
+                moveAtomically(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            deleteDirectory(directory);
+            log.info("Multipart upload completed: {}", key);
+        } catch (NoSuchFileException e) {
+            throw new BadRequestException("Missing part for multipart upload: " + key);
+        } catch (IOException e) {
+            log.error("Failed to complete local multipart upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to complete multipart upload");
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        log.debug("Aborting local multipart upload of: {}", key);
+
+        try {
+            deleteDirectory(resolve(MULTIPART_DIR + uploadId));
+        } catch (IOException e) {
+            log.error("Failed to abort local multipart upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to abort multipart upload");
+        }
+    }
+
+    @Override
+    public long minimumPartSize() {
+        return 1;
+    }
+
+    @Override
+    public boolean fileExists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    public Optional<Path> openSigned(String key, long expires, String signature) {
+        if (!verify(key + "\n" + expires, expires, signature)) {
+            return Optional.empty();
+        }
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public boolean acceptSignedUpload(String key, long expires, String signature, String contentType,
+                                      long contentLength, InputStream content) {
+        if (!verify(uploadPayload(key, expires, contentType, contentLength), expires, signature)) {
+            return false;
+        }
+        if (contentLength > UploadValidator.MAX_FILE_SIZE) {
+            throw new BadRequestException("File size exceeds maximum limit of 10MB");
+        }
+
+        try {
+            Path target = resolve(key);
+            Path temp = tempFileFor(target);
+            try {
+                long written = Files.copy(UploadValidator.inspect(content).content(), temp, StandardCopyOption.REPLACE_EXISTING);
+                if (written != contentLength) {
+                    throw new BadRequestException("Uploaded size does not match the signed Content-Length");
+                }
+                moveAtomically(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("File stored successfully: {}", key);
+            return true;
+        } catch (IOException e) {
+            log.error("Local upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to store file");
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new BadRequestException("Invalid object key: " + key);
+        }
+        return path;
+    }
+
+    private Path tempFileFor(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    }
+
+    private void moveAtomically(Path temp, Path target) throws IOException {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private boolean verify(String payload, long expires, String signature) {
+        if (signature == null || expires < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String uploadPayload(String key, long expires, String contentType, long contentLength) {
+        return "PUT\n" + key + "\n" + expires + "\n" + contentType + "\n" + contentLength;
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] signingKeyBytes(String signingKey) {
+        if (!signingKey.isBlank()) {
+            return signingKey.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("No caterers.storage.filesystem.signing-key configured, local URLs will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -0,0 +1,6 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import java.io.InputStream;
+
+public record ImageStream(String extension, String contentType, InputStream content) {
+}
@@ -0,0 +1,116 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.Gallery;
+import sri.karthikeya.caterers.repository.GalleryRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ImageUrlResolver {
+    private final S3Service s3Service;
+    private final GalleryRepository galleryRepository;
+    private final String publicBaseUrl;
+    private final int expirationMinutes;
+    private final ExecutorService executor;
+
+    public ImageUrlResolver(S3Service s3Service,
+                            GalleryRepository galleryRepository,
+                            @Value("${caterers.images.public-base-url:}") String publicBaseUrl,
+                            @Value("${caterers.images.url-expiration-minutes:60}") int expirationMinutes,
+                            @Value("${caterers.images.resolver-threads:8}") int resolverThreads) {
+        this.s3Service = s3Service;
+        this.galleryRepository = galleryRepository;
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+        this.expirationMinutes = expirationMinutes;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(resolverThreads, runnable -> {
+            Thread thread = new Thread(runnable, "image-url-resolver-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Map<String, String> resolveKeys(Collection<String> keys) {
+        Set<String> uniqueKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (uniqueKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        if (!publicBaseUrl.isEmpty()) {
+            return uniqueKeys.stream()
+                    .collect(Collectors.toMap(Function.identity(), key -> publicBaseUrl + "/" + key));
+        }
+
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        for (String key : uniqueKeys) {
+            futures.put(key, CompletableFuture.supplyAsync(() -> presign(key), executor));
+        }
+
+        Map<String, String> urls = new HashMap<>(futures.size());
+        futures.forEach((key, future) -> {
+            String url = future.join();
+            if (url != null) {
+                urls.put(key, url);
+            }
+        });
+        log.debug("Resolved {} of {} image URLs", urls.size(), uniqueKeys.size());
+        return urls;
+    }
+
+    public Map<String, String> resolveGalleryIds(Collection<String> galleryIds) {
+        Set<String> uniqueIds = galleryIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (uniqueIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Gallery> galleries = galleryRepository.findAllByIds(uniqueIds);
+        Map<String, String> urlsByKey = resolveKeys(galleries.stream().map(Gallery::getImageId).toList());
+
+        Map<String, String> urls = new HashMap<>(galleries.size());
+        for (Gallery gallery : galleries) {
+            String url = urlsByKey.get(gallery.getImageId());
+            if (url != null) {
+                urls.put(gallery.getId(), url);
+            }
+        }
+        return urls;
+    }
+
+    private String presign(String key) {
+        try {
+            return s3Service.getPresignedUrl(key, expirationMinutes);
+        } catch (RuntimeException e) {
+            log.warn("Failed to resolve image URL for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
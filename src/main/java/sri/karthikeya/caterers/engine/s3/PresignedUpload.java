@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record PresignedUpload(String url, String method, Map<String, String> headers, Instant expiresAt) {
+}
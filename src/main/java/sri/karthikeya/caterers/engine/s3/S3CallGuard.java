@@ -0,0 +1,138 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import sri.karthikeya.caterers.exception.custom.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "caterers.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3CallGuard {
+    private static final String NAME = "s3";
+    private static final String CLIENT_PACED_NAME = "s3-client-paced";
+    private static final String REJECTIONS_METRIC = "caterers.s3.rejections";
+    private static final String TIMEOUTS_METRIC = "caterers.s3.timeouts";
+
+    private final Bulkhead bulkhead;
+    private final Bulkhead clientPacedBulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long retryAfterSeconds;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter timeouts;
+
+    public S3CallGuard(MeterRegistry meterRegistry,
+                       @Value("${caterers.s3.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                       @Value("${caterers.s3.bulkhead.max-wait:50ms}") Duration maxWait,
+                       @Value("${caterers.s3.bulkhead.client-paced-max-concurrent-calls:20}") int clientPacedMaxConcurrentCalls,
+                       @Value("${caterers.s3.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                       @Value("${caterers.s3.circuit-breaker.slow-call-threshold:5s}") Duration slowCallThreshold,
+                       @Value("${caterers.s3.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                       @Value("${caterers.s3.circuit-breaker.window-size:50}") int windowSize,
+                       @Value("${caterers.s3.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                       @Value("${caterers.s3.circuit-breaker.open-duration:30s}") Duration openDuration,
+                       @Value("${caterers.s3.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(S3CallGuard::isStorageFault)
+                .build());
+
+        this.bulkhead = bulkheads.bulkhead(NAME);
+        this.clientPacedBulkhead = bulkheads.bulkhead(CLIENT_PACED_NAME, BulkheadConfig.custom()
+                .maxConcurrentCalls(clientPacedMaxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(NAME);
+        this.retryAfterSeconds = Math.max(1, openDuration.toSeconds());
+        this.bulkheadRejections = rejections(meterRegistry, "bulkhead_full");
+        this.circuitRejections = rejections(meterRegistry, "circuit_open");
+        this.timeouts = Counter.builder(TIMEOUTS_METRIC).register(meterRegistry);
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("S3 circuit breaker {}", event.getStateTransition()));
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        return isolate(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call));
+    }
+
+    public <T> T executeClientPaced(Supplier<T> call) {
+        return isolate(clientPacedBulkhead, () -> {
+            circuitBreaker.acquirePermission();
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+        });
+    }
+
+    private <T> T isolate(Bulkhead target, Supplier<T> call) {
+        try {
+            return Bulkhead.decorateSupplier(target, call).get();
+        } catch (BulkheadFullException e) {
+            bulkheadRejections.increment();
+            throw new ServiceUnavailableException("Object storage is busy, please retry", 1);
+        } catch (CallNotPermittedException e) {
+            circuitRejections.increment();
+            throw new ServiceUnavailableException("Object storage is unavailable, please retry later", retryAfterSeconds);
+        } catch (ApiCallTimeoutException | ApiCallAttemptTimeoutException e) {
+            timeouts.increment();
+            log.warn("S3 call timed out: {}", e.getMessage());
+            throw new ServiceUnavailableException("Object storage timed out, please retry", 1);
+        }
+    }
+
+    private static boolean isStorageFault(Throwable e) {
+        if (e instanceof S3Exception s3Exception) {
+            return s3Exception.statusCode() >= 500 || s3Exception.statusCode() == 429;
+        }
+        return e instanceof SdkClientException;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTIONS_METRIC)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
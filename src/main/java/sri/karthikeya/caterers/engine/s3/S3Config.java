@@ -1,15 +1,20 @@
 package sri.karthikeya.caterers.engine.s3;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.time.Duration;
+
 @Configuration
+@ConditionalOnProperty(name = "caterers.storage.type", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
 
     @Value("${aws.s3.access-key}")
@@ -21,12 +26,22 @@ public class S3Config {
     @Value("${aws.s3.region}")
     private String region;
 
+    @Value("${caterers.s3.timeouts.call:3s}")
+    private Duration callTimeout;
+
+    @Value("${caterers.s3.timeouts.attempt:1s}")
+    private Duration attemptTimeout;
+
     @Bean
     public S3Client s3Client() {
         AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
         return S3Client.builder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallTimeout(callTimeout)
+                        .apiCallAttemptTimeout(attemptTimeout)
+                        .build())
                 .build();
     }
 
@@ -2,10 +2,23 @@ package sri.karthikeya.caterers.engine.s3;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.SortedMap;
+
 public interface S3Service {
     String uploadFile(MultipartFile file, String path);
+    String uploadStream(ImageStream image, String path);
     String updateFile(String existingKey, MultipartFile newFile);
+    void uploadBytes(String key, byte[] content, String contentType, String contentEncoding);
     void deleteFile(String key);
     String getPresignedUrl(String key, int expirationMinutes);
+    PresignedUpload presignUpload(String key, String contentType, long contentLength, int expirationMinutes);
+    Optional<StoredObject> headObject(String key);
+    String createMultipartUpload(String key, String contentType);
+    String uploadPart(String key, String uploadId, int partNumber, InputStream content, long contentLength);
+    void completeMultipartUpload(String key, String uploadId, SortedMap<Integer, String> partETags);
+    void abortMultipartUpload(String key, String uploadId);
+    long minimumPartSize();
     boolean fileExists(String key);
 }
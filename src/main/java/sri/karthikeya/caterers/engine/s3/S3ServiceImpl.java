@@ -1,52 +1,80 @@
 package sri.karthikeya.caterers.engine.s3;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 import sri.karthikeya.caterers.exception.custom.BadRequestException;
 import sri.karthikeya.caterers.exception.custom.InternalServerException;
+import sri.karthikeya.caterers.exception.custom.ServiceUnavailableException;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
-import java.util.UUID;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "caterers.storage.type", havingValue = "s3", matchIfMissing = true)
 public class S3ServiceImpl implements S3Service {
 
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
+    private final S3CallGuard callGuard;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
-    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
-    private static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".webp"};
+    @Value("${caterers.s3.timeouts.transfer:30s}")
+    private Duration transferTimeout;
+
+    @Value("${caterers.s3.timeouts.part-upload:2m}")
+    private Duration partUploadTimeout;
+
+    private static final String TIMER_NAME = "caterers.s3.requests";
+    private static final long MINIMUM_PART_SIZE = 5 * 1024 * 1024;
 
     @Override
     public String uploadFile(MultipartFile file, String path) {
-        log.info("Uploading file to S3: {}", file.getOriginalFilename());
-        validateFile(file);
+        log.debug("Uploading file to S3: {}", file.getOriginalFilename());
+        UploadValidator.validate(file);
 
-        String key = generateKey(path, file.getOriginalFilename());
+        String key = UploadValidator.generateKey(path, file.getOriginalFilename());
         
         try {
             PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
                     .contentType(file.getContentType())
+                    .overrideConfiguration(timeout(transferTimeout))
                     .build();
 
-            s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
+            RequestBody body = RequestBody.fromBytes(file.getBytes());
+            guarded("putObject", () -> s3Client.putObject(request, body));
             log.info("File uploaded successfully: {}", key);
             return key;
         } catch (IOException e) {
@@ -58,10 +86,36 @@ public class S3ServiceImpl implements S3Service {
         }
     }
 
+    @Override
+    public String uploadStream(ImageStream image, String path) {
+        String key = UploadValidator.generateKey(path, image.extension());
+        log.debug("Streaming upload to S3: {}", key);
+
+        try {
+            byte[] content = image.content().readAllBytes();
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(image.contentType())
+                    .overrideConfiguration(timeout(transferTimeout))
+                    .build();
+
+            guarded("putObject", () -> s3Client.putObject(request, RequestBody.fromBytes(content)));
+            log.info("File uploaded successfully: {}", key);
+            return key;
+        } catch (IOException e) {
+            log.error("Failed to read upload stream: {}", e.getMessage());
+            throw new BadRequestException("Failed to read file");
+        } catch (S3Exception e) {
+            log.error("S3 upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to upload file to S3");
+        }
+    }
+
     @Override
     public String updateFile(String existingKey, MultipartFile newFile) {
-        log.info("Updating file in S3: {}", existingKey);
-        validateFile(newFile);
+        log.debug("Updating file in S3: {}", existingKey);
+        UploadValidator.validate(newFile);
 
         if (!fileExists(existingKey)) {
             log.warn("File not found for update: {}", existingKey);
@@ -73,9 +127,30 @@ public class S3ServiceImpl implements S3Service {
         return uploadFile(newFile, path);
     }
 
+    @Override
+    public void uploadBytes(String key, byte[] content, String contentType, String contentEncoding) {
+        log.debug("Uploading {} bytes to S3: {}", content.length, key);
+
+        try {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentEncoding(contentEncoding)
+                    .overrideConfiguration(timeout(transferTimeout))
+                    .build();
+
+            guarded("putObject", () -> s3Client.putObject(request, RequestBody.fromBytes(content)));
+            log.info("Bytes uploaded successfully: {}", key);
+        } catch (S3Exception e) {
+            log.error("S3 upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to upload file to S3");
+        }
+    }
+
     @Override
     public void deleteFile(String key) {
-        log.info("Deleting file from S3: {}", key);
+        log.debug("Deleting file from S3: {}", key);
         
         try {
             DeleteObjectRequest request = DeleteObjectRequest.builder()
@@ -83,7 +158,7 @@ public class S3ServiceImpl implements S3Service {
                     .key(key)
                     .build();
 
-            s3Client.deleteObject(request);
+            guarded("deleteObject", () -> s3Client.deleteObject(request));
             log.info("File deleted successfully: {}", key);
         } catch (S3Exception e) {
             log.error("S3 delete failed: {}", e.getMessage());
@@ -93,7 +168,7 @@ public class S3ServiceImpl implements S3Service {
 
     @Override
     public String getPresignedUrl(String key, int expirationMinutes) {
-        log.info("Generating presigned URL for: {}", key);
+        log.debug("Generating presigned URL for: {}", key);
         
         try {
             GetObjectRequest request = GetObjectRequest.builder()
@@ -106,9 +181,10 @@ public class S3ServiceImpl implements S3Service {
                     .getObjectRequest(request)
                     .build();
 
-            PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
+            PresignedGetObjectRequest presignedRequest = timed("presignGetObject",
+                    () -> s3Presigner.presignGetObject(presignRequest));
             String url = presignedRequest.url().toString();
-            log.info("Presigned URL generated successfully");
+            log.debug("Presigned URL generated successfully");
             return url;
         } catch (S3Exception e) {
             log.error("Failed to generate presigned URL: {}", e.getMessage());
@@ -116,6 +192,163 @@ public class S3ServiceImpl implements S3Service {
         }
     }
 
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, long contentLength, int expirationMinutes) {
+        log.debug("Generating presigned upload for: {}", key);
+
+        try {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+
+            PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                    .signatureDuration(Duration.ofMinutes(expirationMinutes))
+                    .putObjectRequest(request)
+                    .build();
+
+            PresignedPutObjectRequest presignedRequest = timed("presignPutObject",
+                    () -> s3Presigner.presignPutObject(presignRequest));
+            Map<String, String> headers = new LinkedHashMap<>();
+            presignedRequest.signedHeaders().forEach((name, values) -> {
+                if (!name.equalsIgnoreCase("host")) {
+                    headers.put(name, String.join(",", values));
+                }
+            });
+            return new PresignedUpload(presignedRequest.url().toString(), "PUT", headers, presignedRequest.expiration());
+        } catch (S3Exception e) {
+            log.error("Failed to generate presigned upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to generate presigned upload");
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> headObject(String key) {
+        try {
+            HeadObjectRequest request = HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build();
+
+            HeadObjectResponse response = guarded("headObject", () -> s3Client.headObject(request));
+            return Optional.of(new StoredObject(response.contentLength(), response.contentType()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            log.error("Error reading object metadata: {}", e.getMessage());
+            throw new InternalServerException("Failed to read object metadata");
+        }
+    }
+
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        log.debug("Starting multipart upload for: {}", key);
+
+        try {
+            CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .build();
+
+            return guarded("createMultipartUpload", () -> s3Client.createMultipartUpload(request)).uploadId();
+        } catch (S3Exception e) {
+            log.error("Failed to start multipart upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to start multipart upload");
+        }
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream content, long contentLength) {
+        log.debug("Uploading part {} of {} ({} bytes)", partNumber, key, contentLength);
+
+        try {
+            UploadPartRequest request = UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength(contentLength)
+                    .overrideConfiguration(timeout(partUploadTimeout))
+                    .build();
+
+            ClientInputStream clientContent = new ClientInputStream(content);
+            RequestBody body = RequestBody.fromInputStream(clientContent, contentLength);
+            return timed("uploadPart", () -> callGuard.executeClientPaced(() -> {
+                try {
+                    return s3Client.uploadPart(request, body);
+                } catch (SdkClientException e) {
+                    if (!clientContent.failed) {
+                        throw e;
+                    }
+                    log.warn("Failed to read part {} of {}: {}", partNumber, key, e.getMessage());
+                    throw new BadRequestException("Failed to read chunk");
+                }
+            })).eTag();
+        } catch (NoSuchUploadException e) {
+            throw new BadRequestException("Multipart upload no longer exists for: " + key);
+        } catch (S3Exception e) {
+            log.error("S3 part upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to upload part to S3");
+        } catch (SdkClientException e) {
+            log.error("S3 part upload failed: {}", e.getMessage());
+            throw new InternalServerException("Failed to upload part to S3");
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, SortedMap<Integer, String> partETags) {
+        log.debug("Completing multipart upload of {} with {} parts", key, partETags.size());
+
+        try {
+            List<CompletedPart> parts = partETags.entrySet().stream()
+                    .map(part -> CompletedPart.builder().partNumber(part.getKey()).eTag(part.getValue()).build())
+                    .toList();
+            CompleteMultipartUploadRequest request = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .overrideConfiguration(timeout(transferTimeout))
+                    .build();
+
+            guarded("completeMultipartUpload", () -> s3Client.completeMultipartUpload(request));
+            log.info("Multipart upload completed: {}", key);
+        } catch (NoSuchUploadException e) {
+            log.warn("Multipart upload already completed or aborted: {}", key);
+        } catch (S3Exception e) {
+            log.error("Failed to complete multipart upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to complete multipart upload");
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        log.debug("Aborting multipart upload of: {}", key);
+
+        try {
+            AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build();
+
+            guarded("abortMultipartUpload", () -> s3Client.abortMultipartUpload(request));
+        } catch (NoSuchUploadException e) {
+            log.debug("Multipart upload already completed or aborted: {}", key);
+        } catch (S3Exception e) {
+            log.error("Failed to abort multipart upload: {}", e.getMessage());
+            throw new InternalServerException("Failed to abort multipart upload");
+        }
+    }
+
+    @Override
+    public long minimumPartSize() {
+        return MINIMUM_PART_SIZE;
+    }
+
     @Override
     public boolean fileExists(String key) {
         try {
@@ -124,7 +357,7 @@ public class S3ServiceImpl implements S3Service {
                     .key(key)
                     .build();
 
-            s3Client.headObject(request);
+            guarded("headObject", () -> s3Client.headObject(request));
             return true;
         } catch (NoSuchKeyException e) {
             return false;
@@ -134,33 +367,65 @@ public class S3ServiceImpl implements S3Service {
         }
     }
 
-    private void validateFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new BadRequestException("File cannot be empty");
-        }
+    private <T> T guarded(String operation, Supplier<T> call) {
+        return timed(operation, () -> callGuard.execute(call));
+    }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new BadRequestException("File size exceeds maximum limit of 10MB");
-        }
+    private AwsRequestOverrideConfiguration timeout(Duration timeout) {
+        return AwsRequestOverrideConfiguration.builder()
+                .apiCallTimeout(timeout)
+                .apiCallAttemptTimeout(timeout)
+                .build();
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + ":" + outcome, key -> Timer.builder(TIMER_NAME)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
 
-        String filename = file.getOriginalFilename();
-        if (filename == null || !isValidExtension(filename)) {
-            throw new BadRequestException("Invalid file type. Allowed: jpg, jpeg, png, gif, webp");
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (ServiceUnavailableException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(timer(operation, outcome));
         }
     }
 
-    private boolean isValidExtension(String filename) {
-        String lowerFilename = filename.toLowerCase();
-        for (String ext : ALLOWED_EXTENSIONS) {
-            if (lowerFilename.endsWith(ext)) {
-                return true;
+    private static final class ClientInputStream extends FilterInputStream {
+        private volatile boolean failed;
+
+        private ClientInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
             }
         }
-        return false;
-    }
 
-    private String generateKey(String path, String originalFilename) {
-        String extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
-        return path + UUID.randomUUID() + extension;
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                return super.read(buffer, offset, length);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
     }
 }
@@ -0,0 +1,4 @@
+package sri.karthikeya.caterers.engine.s3;
+
+public record StoredObject(long size, String contentType) {
+}
@@ -0,0 +1,131 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUpload;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.UploadContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@Slf4j
+@Component
+public class StreamingMultipartReader {
+    private static final int MAX_FIELD_LENGTH = 4096;
+    private static final long MAX_OVERHEAD = 64 * 1024;
+    private static final String MULTIPART = "multipart/";
+
+    public <T> T read(HttpServletRequest request, HttpServletResponse response, String fileField,
+                      BiFunction<Map<String, String>, ImageStream, T> handler) {
+        return read(request, response, fileField, null, handler);
+    }
+
+    /**
+     * Same as {@link #read(HttpServletRequest, HttpServletResponse, String, BiFunction)}, but when
+     * {@code bodyDigest} is given it sees every byte of the request body, which is then read to the end.
+     */
+    public <T> T read(HttpServletRequest request, HttpServletResponse response, String fileField,
+                      MessageDigest bodyDigest, BiFunction<Map<String, String>, ImageStream, T> handler) {
+        try {
+            return parse(request, fileField, bodyDigest, handler);
+        } catch (BadRequestException | ValidationException e) {
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            throw e;
+        } catch (IOException | FileUploadException e) {
+            log.warn("Failed to read multipart upload: {}", e.getMessage());
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            throw new BadRequestException("Failed to read multipart upload");
+        }
+    }
+
+    private <T> T parse(HttpServletRequest request, String fileField, MessageDigest bodyDigest,
+                        BiFunction<Map<String, String>, ImageStream, T> handler) throws IOException, FileUploadException {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith(MULTIPART)) {
+            throw new BadRequestException("Request must be multipart/form-data");
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > UploadValidator.MAX_FILE_SIZE + MAX_OVERHEAD) {
+            throw new BadRequestException("File size exceeds maximum limit of 10MB");
+        }
+
+        // Parts are read straight off the request stream; no FileItemFactory, so nothing is spooled
+        FileUpload upload = new FileUpload();
+        upload.setSizeMax(UploadValidator.MAX_FILE_SIZE + MAX_OVERHEAD);
+        Map<String, String> fields = new HashMap<>();
+        InputStream body = bodyDigest == null
+                ? request.getInputStream()
+                : new DigestInputStream(request.getInputStream(), bodyDigest);
+        FileItemIterator items = upload.getItemIterator(new ServletUploadContext(request, body));
+        while (items.hasNext()) {
+            FileItemStream item = items.next();
+            if (item.isFormField()) {
+                fields.put(item.getFieldName(), readField(item));
+            } else if (fileField.equals(item.getFieldName())) {
+                T result;
+                try (InputStream content = item.openStream()) {
+                    result = handler.apply(fields, UploadValidator.inspect(content));
+                }
+                if (bodyDigest != null) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+                return result;
+            }
+        }
+        throw new BadRequestException("Image file is required");
+    }
+
+    private String readField(FileItemStream item) throws IOException {
+        try (InputStream content = item.openStream()) {
+            byte[] value = content.readNBytes(MAX_FIELD_LENGTH + 1);
+            if (value.length > MAX_FIELD_LENGTH) {
+                throw new BadRequestException("Form field '" + item.getFieldName() + "' is too long");
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private record ServletUploadContext(HttpServletRequest request, InputStream body) implements UploadContext {
+        @Override
+        public String getCharacterEncoding() {
+            return request.getCharacterEncoding();
+        }
+
+        @Override
+        public String getContentType() {
+            return request.getContentType();
+        }
+
+        @Override
+        @Deprecated
+        public int getContentLength() {
+            return request.getContentLength();
+        }
+
+        @Override
+        public long contentLength() {
+            return request.getContentLengthLong();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import org.springframework.web.multipart.MultipartFile;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public final class UploadValidator {
+    public static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".webp"};
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87 = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89 = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private UploadValidator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void validate(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("File cannot be empty");
+        }
+
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new BadRequestException("File size exceeds maximum limit of 10MB");
+        }
+
+        String filename = file.getOriginalFilename();
+        if (filename == null || !isValidExtension(filename)) {
+            throw new BadRequestException("Invalid file type. Allowed: jpg, jpeg, png, gif, webp");
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            detectImageType(content.readNBytes(SIGNATURE_LENGTH));
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read file");
+        }
+    }
+
+    public static String extensionForContentType(String contentType) {
+        for (ImageType type : ImageType.values()) {
+            if (type.contentType().equalsIgnoreCase(contentType)) {
+                return type.extension();
+            }
+        }
+        throw new BadRequestException("Invalid content type. Allowed: image/jpeg, image/png, image/gif, image/webp");
+    }
+
+    public static ImageStream inspect(InputStream content) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(content);
+        buffered.mark(SIGNATURE_LENGTH);
+        byte[] signature = buffered.readNBytes(SIGNATURE_LENGTH);
+        buffered.reset();
+        ImageType type = detectImageType(signature);
+        return new ImageStream(type.extension(), type.contentType(), new LimitedInputStream(buffered, MAX_FILE_SIZE));
+    }
+
+    public static String generateKey(String path, String originalFilename) {
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
+        return path + IdGenerator.newId() + extension;
+    }
+
+    private static ImageType detectImageType(byte[] signature) {
+        if (startsWith(signature, 0, JPEG)) {
+            return ImageType.JPEG;
+        }
+        if (startsWith(signature, 0, PNG)) {
+            return ImageType.PNG;
+        }
+        if (startsWith(signature, 0, GIF87) || startsWith(signature, 0, GIF89)) {
+            return ImageType.GIF;
+        }
+        if (startsWith(signature, 0, RIFF) && startsWith(signature, 8, WEBP)) {
+            return ImageType.WEBP;
+        }
+        throw new BadRequestException("File content is not a JPEG, PNG, GIF or WebP image");
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] prefix) {
+        if (content.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (content[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidExtension(String filename) {
+        String lowerFilename = filename.toLowerCase();
+        for (String ext : ALLOWED_EXTENSIONS) {
+            if (lowerFilename.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum ImageType {
+        JPEG(".jpg", "image/jpeg"),
+        PNG(".png", "image/png"),
+        GIF(".gif", "image/gif"),
+        WEBP(".webp", "image/webp");
+
+        private final String extension;
+        private final String contentType;
+
+        ImageType(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        String extension() {
+            return extension;
+        }
+
+        String contentType() {
+            return contentType;
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        private void advance(long read) {
+            count += read;
+            if (count > limit) {
+                throw new BadRequestException("File size exceeds maximum limit of 10MB");
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package sri.karthikeya.caterers.engine.upload;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.engine.s3.S3Service;
+import sri.karthikeya.caterers.entity.UploadSession;
+import sri.karthikeya.caterers.enums.UploadStatus;
+import sri.karthikeya.caterers.repository.GalleryRepository;
+import sri.karthikeya.caterers.repository.UploadSessionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionSweeper {
+    private static final Duration GRACE = Duration.ofMinutes(10);
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final S3Service s3Service;
+    private final GalleryRepository galleryRepository;
+
+    @Value("${caterers.uploads.sweep-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${caterers.uploads.sweep-initial-delay:1m}",
+            fixedDelayString = "${caterers.uploads.sweep-interval:15m}")
+    public void sweep() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(GRACE);
+            int abandoned = sweep(UploadStatus.PENDING, cutoff);
+            int completed = sweep(UploadStatus.COMPLETED, cutoff) + sweep(UploadStatus.COMPLETING, cutoff);
+            if (abandoned + completed > 0) {
+                log.info("Swept {} abandoned and {} completed upload sessions", abandoned, completed);
+            }
+        } catch (RuntimeException e) {
+            log.error("Upload session sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int sweep(UploadStatus status, LocalDateTime cutoff) {
+        List<UploadSession> expired = uploadSessionRepository.findExpired(status, cutoff, batchSize);
+        int removed = 0;
+        for (UploadSession session : expired) {
+            if (!uploadSessionRepository.deleteIfStatus(session.getId(), status)) {
+                continue;
+            }
+            if (status != UploadStatus.COMPLETED
+                    && !galleryRepository.existsByIdOrImageId(session.getId(), session.getObjectKey())) {
+                if (session.getMultipartUploadId() != null) {
+                    s3Service.abortMultipartUpload(session.getObjectKey(), session.getMultipartUploadId());
+                }
+                s3Service.deleteFile(session.getObjectKey());
+            }
+            removed++;
+        }
+        return removed;
+    }
+}
@@ -3,6 +3,7 @@ package sri.karthikeya.caterers.entity;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 
 import java.time.LocalDateTime;
 
@@ -13,4 +14,7 @@ public abstract class BaseEntity {
     
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
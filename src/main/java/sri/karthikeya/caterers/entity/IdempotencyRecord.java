@@ -0,0 +1,27 @@
+package sri.karthikeya.caterers.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sri.karthikeya.caterers.enums.IdempotencyStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String id;
+    private String scope;
+    private String requestHash;
+    private IdempotencyStatus status;
+    private String response;
+    private LocalDateTime createdAt;
+    private String owner;
+    private LocalDateTime lockedUntil;
+    private LocalDateTime expireAt;
+}
@@ -0,0 +1,30 @@
+package sri.karthikeya.caterers.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+import sri.karthikeya.caterers.enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox")
+public class OutboxMessage {
+    @Id
+    private String id;
+    private String quoteId;
+    private NotificationChannel channel;
+    private OutboxStatus status;
+    private int attempts;
+    private LocalDateTime availableAt;
+    private String leaseOwner;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expireAt;
+}
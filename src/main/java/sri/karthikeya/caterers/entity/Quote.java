@@ -6,9 +6,12 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import sri.karthikeya.caterers.enums.NotificationChannel;
 import sri.karthikeya.caterers.enums.ReviewEventType;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -25,4 +28,8 @@ public class Quote extends BaseEntity {
     private ReviewEventType eventType;
     private Integer expectedGuests;
     private String additionalDetails;
+    // Set on insert and moved into the outbox by the dispatcher, so the quote and its notifications are written atomically
+    private List<NotificationChannel> pendingNotifications;
+    // Stamped by the repository whenever the quote reaches MongoDB, including write-behind drains; the rollup job watermarks on it
+    private LocalDateTime changedAt;
 }
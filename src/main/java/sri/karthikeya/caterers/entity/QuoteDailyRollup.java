@@ -0,0 +1,25 @@
+package sri.karthikeya.caterers.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "quote_daily_rollups")
+public class QuoteDailyRollup {
+    @Id
+    private String id;
+    private String day;
+    private ReviewEventType eventType;
+    private long quoteCount;
+    private long totalGuests;
+    private long totalLeadTimeDays;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package sri.karthikeya.caterers.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String id;
+    private String subject;
+    private LocalDateTime revokedAt;
+    private LocalDateTime expireAt;
+}
@@ -0,0 +1,22 @@
+package sri.karthikeya.caterers.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rollup_watermarks")
+public class RollupWatermark {
+    @Id
+    private String id;
+    private LocalDateTime watermark;
+    private LocalDateTime updatedAt;
+    private String leaseOwner;
+    private LocalDateTime leaseUntil;
+}
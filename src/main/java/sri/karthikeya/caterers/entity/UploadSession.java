@@ -0,0 +1,33 @@
+package sri.karthikeya.caterers.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.enums.UploadStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "upload_sessions")
+public class UploadSession {
+    @Id
+    private String id;
+    private String objectKey;
+    private GalleryType type;
+    private String name;
+    private String description;
+    private String contentType;
+    private Long size;
+    private UploadStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private String multipartUploadId;
+    private Long chunkSize;
+    private Map<String, UploadPart> parts;
+}
@@ -0,0 +1,6 @@
+package sri.karthikeya.caterers.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
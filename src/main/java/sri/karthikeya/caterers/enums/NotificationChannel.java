@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.enums;
+
+public enum NotificationChannel {
+    STAFF_EMAIL,
+    STAFF_WEBHOOK,
+    CUSTOMER_EMAIL
+}
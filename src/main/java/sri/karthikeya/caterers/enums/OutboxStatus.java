@@ -0,0 +1,8 @@
+package sri.karthikeya.caterers.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+    DISCARDED
+}
@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.enums;
+
+public enum UploadStatus {
+    PENDING,
+    COMPLETING,
+    COMPLETED
+}
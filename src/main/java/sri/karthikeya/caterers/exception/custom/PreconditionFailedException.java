@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.exception.custom;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
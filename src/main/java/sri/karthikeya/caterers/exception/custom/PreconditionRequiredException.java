@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.exception.custom;
+
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.exception.custom;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
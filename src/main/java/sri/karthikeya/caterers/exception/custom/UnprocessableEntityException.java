@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.exception.custom;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
@@ -8,5 +8,6 @@ import sri.karthikeya.caterers.entity.Gallery;
 
 @Mapper(componentModel = "spring")
 public interface GalleryMapper {
+    @Mapping(target = "imageUrl", ignore = true)
     GalleryResponse toResponse(Gallery gallery);
 }
@@ -2,7 +2,6 @@ package sri.karthikeya.caterers.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.MappingTarget;
 import sri.karthikeya.caterers.dto.request.MenuRequest;
 import sri.karthikeya.caterers.dto.response.MenuResponse;
 import sri.karthikeya.caterers.entity.Menu;
@@ -12,12 +11,9 @@ public interface MenuMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Menu toEntity(MenuRequest request);
 
+    @Mapping(target = "imageUrl", ignore = true)
     MenuResponse toResponse(Menu menu);
-
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "createdAt", ignore = true)
-    @Mapping(target = "updatedAt", ignore = true)
-    void updateEntity(MenuRequest request, @MappingTarget Menu menu);
 }
@@ -2,7 +2,6 @@ package sri.karthikeya.caterers.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.MappingTarget;
 import sri.karthikeya.caterers.dto.request.ReviewRequest;
 import sri.karthikeya.caterers.dto.response.ReviewResponse;
 import sri.karthikeya.caterers.entity.Review;
@@ -12,12 +11,9 @@ public interface ReviewMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Review toEntity(ReviewRequest request);
 
+    @Mapping(target = "imageUrl", ignore = true)
     ReviewResponse toResponse(Review review);
-
-    @Mapping(target = "id", ignore = true)
-    @Mapping(target = "createdAt", ignore = true)
-    @Mapping(target = "updatedAt", ignore = true)
-    void updateEntity(ReviewRequest request, @MappingTarget Review review);
 }
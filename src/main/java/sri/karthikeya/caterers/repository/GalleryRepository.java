@@ -1,13 +1,18 @@
 package sri.karthikeya.caterers.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.config.MongoConfig;
 import sri.karthikeya.caterers.entity.Gallery;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,38 +21,81 @@ import java.util.Optional;
 public class GalleryRepository {
     private final MongoTemplate mongoTemplate;
 
-    public Gallery save(Gallery gallery) {
-        return mongoTemplate.save(gallery);
+    @Qualifier(MongoConfig.READ_MONGO_TEMPLATE)
+    private final MongoTemplate readMongoTemplate;
+
+    public Gallery insert(Gallery gallery) {
+        return mongoTemplate.insert(gallery);
     }
 
     public Optional<Gallery> findById(String id) {
+        return Optional.ofNullable(readMongoTemplate.findById(id, Gallery.class));
+    }
+
+    public Optional<Gallery> findByIdFromPrimary(String id) {
         return Optional.ofNullable(mongoTemplate.findById(id, Gallery.class));
     }
 
+    public List<Gallery> findAllByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return readMongoTemplate.find(query, Gallery.class);
+    }
+
+    public List<Gallery> findAllByIdsFromPrimary(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return mongoTemplate.find(query, Gallery.class);
+    }
+
     public List<Gallery> findAll(int page, int size, String sortBy, String sortDir) {
         Query query = new Query();
-        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy));
+        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy, "_id"));
         query.skip((long) page * size);
         query.limit(size);
+        return readMongoTemplate.find(query, Gallery.class);
+    }
+
+    public List<Gallery> findAll() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "createdAt"));
         return mongoTemplate.find(query, Gallery.class);
     }
 
     public long count() {
-        return mongoTemplate.count(new Query(), Gallery.class);
+        return readMongoTemplate.count(new Query(), Gallery.class);
+    }
+
+    public Optional<Gallery> update(String id, Long expectedVersion, Gallery changes) {
+        Update update = new Update()
+                .set("type", changes.getType())
+                .set("name", changes.getName())
+                .set("description", changes.getDescription())
+                .set("updatedAt", changes.getUpdatedAt())
+                .inc("version", 1);
+        if (changes.getImageId() != null) {
+            update.set("imageId", changes.getImageId());
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(versionedQuery(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), Gallery.class));
     }
 
-    public void deleteById(String id) {
+    public Optional<Gallery> deleteById(String id) {
         Query query = new Query(Criteria.where("_id").is(id));
-        mongoTemplate.remove(query, Gallery.class);
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Gallery.class));
     }
 
-    public boolean existsByImageId(String imageId) {
-        Query query = new Query(Criteria.where("imageId").is(imageId));
-        return mongoTemplate.exists(query, Gallery.class);
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(id)), Gallery.class);
     }
 
-    public boolean existsByImageIdAndIdNot(String imageId, String id) {
-        Query query = new Query(Criteria.where("imageId").is(imageId).and("_id").ne(id));
+    public boolean existsByIdOrImageId(String id, String imageId) {
+        Query query = new Query(new Criteria().orOperator(Criteria.where("_id").is(id), Criteria.where("imageId").is(imageId)));
         return mongoTemplate.exists(query, Gallery.class);
     }
+
+    private Query versionedQuery(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        return new Query(criteria);
+    }
 }
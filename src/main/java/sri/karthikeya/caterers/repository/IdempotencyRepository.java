@@ -0,0 +1,66 @@
+package sri.karthikeya.caterers.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.entity.IdempotencyRecord;
+import sri.karthikeya.caterers.enums.IdempotencyStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+    private final MongoTemplate mongoTemplate;
+
+    public boolean tryReserve(IdempotencyRecord record) {
+        try {
+            mongoTemplate.insert(record);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public Optional<IdempotencyRecord> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, IdempotencyRecord.class));
+    }
+
+    public boolean tryTakeOver(String id, String owner, LocalDateTime now, LocalDateTime lockedUntil) {
+        Query query = new Query(Criteria.where("_id").is(id)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                .orOperator(Criteria.where("lockedUntil").lt(now), Criteria.where("lockedUntil").is(null)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("lockedUntil", lockedUntil);
+        return mongoTemplate.updateFirst(query, update, IdempotencyRecord.class).getModifiedCount() > 0;
+    }
+
+    public boolean renew(String id, String owner, LocalDateTime lockedUntil) {
+        return mongoTemplate.updateFirst(leased(id, owner), new Update().set("lockedUntil", lockedUntil),
+                IdempotencyRecord.class).getModifiedCount() > 0;
+    }
+
+    public boolean complete(String id, String owner, String response) {
+        Update update = new Update()
+                .set("status", IdempotencyStatus.COMPLETED)
+                .set("response", response)
+                .unset("lockedUntil");
+        return mongoTemplate.updateFirst(leased(id, owner), update, IdempotencyRecord.class).getModifiedCount() > 0;
+    }
+
+    public boolean release(String id, String owner) {
+        return mongoTemplate.remove(leased(id, owner), IdempotencyRecord.class).getDeletedCount() > 0;
+    }
+
+    private Query leased(String id, String owner) {
+        return new Query(Criteria.where("_id").is(id)
+                .and("owner").is(owner)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS));
+    }
+}
@@ -1,13 +1,18 @@
 package sri.karthikeya.caterers.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.config.MongoConfig;
 import sri.karthikeya.caterers.entity.Menu;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,38 +21,75 @@ import java.util.Optional;
 public class MenuRepository {
     private final MongoTemplate mongoTemplate;
 
-    public Menu save(Menu menu) {
-        return mongoTemplate.save(menu);
+    @Qualifier(MongoConfig.READ_MONGO_TEMPLATE)
+    private final MongoTemplate readMongoTemplate;
+
+    public Menu insert(Menu menu) {
+        return mongoTemplate.insert(menu);
     }
 
     public Optional<Menu> findById(String id) {
+        return Optional.ofNullable(readMongoTemplate.findById(id, Menu.class));
+    }
+
+    public Optional<Menu> findByIdFromPrimary(String id) {
         return Optional.ofNullable(mongoTemplate.findById(id, Menu.class));
     }
 
+    public List<Menu> findAllByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return readMongoTemplate.find(query, Menu.class);
+    }
+
+    public List<Menu> findAllByIdsFromPrimary(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return mongoTemplate.find(query, Menu.class);
+    }
+
     public List<Menu> findAll(int page, int size, String sortBy, String sortDir) {
         Query query = new Query();
-        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy));
+        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy, "_id"));
         query.skip((long) page * size);
         query.limit(size);
+        return readMongoTemplate.find(query, Menu.class);
+    }
+
+    public List<Menu> findAll() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "createdAt"));
         return mongoTemplate.find(query, Menu.class);
     }
 
     public long count() {
-        return mongoTemplate.count(new Query(), Menu.class);
+        return readMongoTemplate.count(new Query(), Menu.class);
+    }
+
+    public Optional<Menu> update(String id, Long expectedVersion, Menu changes) {
+        Update update = new Update()
+                .set("imageId", changes.getImageId())
+                .set("name", changes.getName())
+                .set("price", changes.getPrice())
+                .set("description", changes.getDescription())
+                .set("items", changes.getItems())
+                .set("updatedAt", changes.getUpdatedAt())
+                .inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(versionedQuery(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), Menu.class));
     }
 
-    public void deleteById(String id) {
+    public boolean deleteById(String id) {
         Query query = new Query(Criteria.where("_id").is(id));
-        mongoTemplate.remove(query, Menu.class);
+        return mongoTemplate.remove(query, Menu.class).getDeletedCount() > 0;
     }
 
-    public boolean existsByImageId(String imageId) {
-        Query query = new Query(Criteria.where("imageId").is(imageId));
-        return mongoTemplate.exists(query, Menu.class);
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(id)), Menu.class);
     }
 
-    public boolean existsByImageIdAndIdNot(String imageId, String id) {
-        Query query = new Query(Criteria.where("imageId").is(imageId).and("_id").ne(id));
-        return mongoTemplate.exists(query, Menu.class);
+    private Query versionedQuery(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        return new Query(criteria);
     }
 }
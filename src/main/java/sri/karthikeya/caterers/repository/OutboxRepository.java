@@ -0,0 +1,105 @@
+package sri.karthikeya.caterers.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public void insertAllIgnoringDuplicates(List<OutboxMessage> messages) {
+        List<Document> documents = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(message, document);
+            documents.add(document);
+        }
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(OutboxMessage.class))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            boolean onlyDuplicates = e.getWriteErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_CODE);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    public List<OutboxMessage> claim(String owner, LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        Query candidates = new Query(claimable(now))
+                .with(Sort.by(Sort.Direction.ASC, "availableAt"))
+                .limit(limit);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, Document.class, mongoTemplate.getCollectionName(OutboxMessage.class))
+                .stream()
+                .map(document -> document.getString("_id"))
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = new Query(claimable(now).and("_id").in(ids));
+        Update update = new Update()
+                .set("leaseOwner", owner)
+                .set("availableAt", leaseUntil)
+                .inc("attempts", 1);
+        mongoTemplate.updateMulti(query, update, OutboxMessage.class);
+        return mongoTemplate.find(new Query(Criteria.where("_id").in(ids).and("leaseOwner").is(owner)), OutboxMessage.class);
+    }
+
+    public boolean complete(String id, String owner, OutboxStatus status, String error,
+                            LocalDateTime now, LocalDateTime expireAt) {
+        Update update = new Update()
+                .set("status", status)
+                .set("lastError", error)
+                .set("completedAt", now)
+                .set("expireAt", expireAt)
+                .unset("leaseOwner");
+        return mongoTemplate.updateFirst(leased(id, owner), update, OutboxMessage.class).getModifiedCount() > 0;
+    }
+
+    public boolean reschedule(String id, String owner, LocalDateTime availableAt, String error) {
+        Update update = new Update()
+                .set("availableAt", availableAt)
+                .set("lastError", error)
+                .unset("leaseOwner");
+        return mongoTemplate.updateFirst(leased(id, owner), update, OutboxMessage.class).getModifiedCount() > 0;
+    }
+
+    public void release(String id, String owner, LocalDateTime now) {
+        Update update = new Update()
+                .set("availableAt", now)
+                .inc("attempts", -1)
+                .unset("leaseOwner");
+        mongoTemplate.updateFirst(leased(id, owner), update, OutboxMessage.class);
+    }
+
+    public long countPending() {
+        return mongoTemplate.count(new Query(Criteria.where("status").is(OutboxStatus.PENDING)), OutboxMessage.class);
+    }
+
+    private Criteria claimable(LocalDateTime now) {
+        return Criteria.where("status").is(OutboxStatus.PENDING).and("availableAt").lte(now);
+    }
+
+    private Query leased(String id, String owner) {
+        return new Query(Criteria.where("_id").is(id).and("leaseOwner").is(owner).and("status").is(OutboxStatus.PENDING));
+    }
+}
@@ -0,0 +1,189 @@
+package sri.karthikeya.caterers.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.config.MongoConfig;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.entity.QuoteDailyRollup;
+import sri.karthikeya.caterers.entity.RollupWatermark;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class QuoteAnalyticsRepository {
+    private final MongoTemplate mongoTemplate;
+
+    @Qualifier(MongoConfig.READ_MONGO_TEMPLATE)
+    private final MongoTemplate readMongoTemplate;
+
+    public Optional<LocalDateTime> findWatermark(String name) {
+        return Optional.ofNullable(mongoTemplate.findById(name, RollupWatermark.class))
+                .map(RollupWatermark::getWatermark);
+    }
+
+    /**
+     * Saves the watermark only if the caller still holds the lease, so a run that lost it cannot move the watermark.
+     */
+    public boolean saveWatermark(String name, String owner, LocalDateTime watermark) {
+        Query query = new Query(Criteria.where("_id").is(name).and("leaseOwner").is(owner));
+        Update update = new Update()
+                .set("watermark", watermark)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, RollupWatermark.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Takes the lease on the named watermark if it is free, expired or already held by the owner.
+     * Only one node at a time rewrites and prunes the rollups.
+     */
+    public boolean tryAcquireLease(String name, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        Query query = new Query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("leaseOwner").exists(false),
+                Criteria.where("leaseOwner").is(owner),
+                Criteria.where("leaseUntil").lt(now)));
+        Update update = new Update()
+                .set("leaseOwner", owner)
+                .set("leaseUntil", leaseUntil);
+        try {
+            mongoTemplate.upsert(query, update, RollupWatermark.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The document exists and another node holds an unexpired lease
+            return false;
+        }
+    }
+
+    public void releaseLease(String name, String owner) {
+        Query query = new Query(Criteria.where("_id").is(name).and("leaseOwner").is(owner));
+        Update update = new Update()
+                .unset("leaseOwner")
+                .unset("leaseUntil");
+        mongoTemplate.updateFirst(query, update, RollupWatermark.class);
+    }
+
+    /**
+     * Returns the creation days, in the given zone, of quotes that reached MongoDB in [from, to).
+     * Matches on changedAt rather than updatedAt so that write-behind quotes drained late are not skipped.
+     */
+    public List<String> findTouchedDays(LocalDateTime from, LocalDateTime to, ZoneId zone) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("changedAt", new Document("$gte", toDate(from)).append("$lt", toDate(to)))),
+                new Document("$group", new Document("_id", dayOf("$createdAt", zone))));
+        List<String> days = new ArrayList<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Quote.class))
+                .aggregate(pipeline)
+                .forEach(document -> days.add(document.getString("_id")));
+        return days;
+    }
+
+    /**
+     * Recomputes the rollups of the given days, or of every day when days is null, from live and archived quotes.
+     * Returns the time stamped on the rewritten groups, for {@link #removeStaleRollups}.
+     */
+    public Date mergeDailyRollups(List<String> days, ZoneId zone) {
+        Date rebuiltAt = new Date();
+        if (days != null && days.isEmpty()) {
+            return rebuiltAt;
+        }
+        String timezone = zone.getId();
+        Document match = new Document();
+        if (days != null) {
+            match.append("$or", days.stream()
+                    .map(day -> {
+                        LocalDate date = LocalDate.parse(day);
+                        return new Document("createdAt", new Document()
+                                .append("$gte", Date.from(date.atStartOfDay(zone).toInstant()))
+                                .append("$lt", Date.from(date.plusDays(1).atStartOfDay(zone).toInstant())));
+                    })
+                    .toList());
+        }
+
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", match));
+        pipeline.add(new Document("$unionWith", new Document()
+                .append("coll", QuoteArchiveRepository.COLLECTION)
+                .append("pipeline", List.of(new Document("$match", match)))));
+        pipeline.add(new Document("$group", new Document()
+                .append("_id", new Document()
+                        .append("day", dayOf("$createdAt", zone))
+                        .append("eventType", "$eventType"))
+                .append("quoteCount", new Document("$sum", 1))
+                .append("totalGuests", new Document("$sum", new Document("$ifNull", List.of("$expectedGuests", 0))))
+                .append("totalLeadTimeDays", new Document("$sum", new Document("$dateDiff", new Document()
+                        .append("startDate", "$createdAt")
+                        .append("endDate", "$eventDate")
+                        .append("unit", "day")
+                        .append("timezone", timezone))))));
+        pipeline.add(new Document("$project", new Document()
+                .append("_id", new Document("$concat", List.of("$_id.day", ":",
+                        new Document("$ifNull", List.of("$_id.eventType", "UNKNOWN")))))
+                .append("day", "$_id.day")
+                .append("eventType", "$_id.eventType")
+                .append("quoteCount", 1)
+                .append("totalGuests", 1)
+                .append("totalLeadTimeDays", 1)
+                .append("updatedAt", new Document("$literal", rebuiltAt))));
+        pipeline.add(new Document("$merge", new Document()
+                .append("into", mongoTemplate.getCollectionName(QuoteDailyRollup.class))
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert")));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Quote.class))
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .toCollection();
+        return rebuiltAt;
+    }
+
+    /**
+     * Removes the groups of the given days, or of every day when days is null, that the merge at rebuiltAt
+     * did not rewrite. Every group that still has quotes was rewritten; older ones belong to deleted or re-typed quotes.
+     */
+    public void removeStaleRollups(List<String> days, Date rebuiltAt) {
+        if (days != null && days.isEmpty()) {
+            return;
+        }
+        Criteria stale = Criteria.where("updatedAt").lt(rebuiltAt);
+        if (days != null) {
+            stale = stale.and("day").in(days);
+        }
+        mongoTemplate.remove(new Query(stale), QuoteDailyRollup.class);
+    }
+
+    public List<QuoteDailyRollup> findDailyRollups(String fromDay, String toDay, ReviewEventType eventType) {
+        Criteria criteria = Criteria.where("day").gte(fromDay).lte(toDay);
+        if (eventType != null) {
+            criteria = criteria.and("eventType").is(eventType);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "day", "eventType"));
+        return readMongoTemplate.find(query, QuoteDailyRollup.class);
+    }
+
+    private static Document dayOf(String field, ZoneId zone) {
+        return new Document("$dateToString", new Document()
+                .append("date", field)
+                .append("format", "%Y-%m-%d")
+                .append("timezone", zone.getId()));
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
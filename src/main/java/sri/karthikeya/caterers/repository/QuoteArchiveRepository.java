@@ -0,0 +1,83 @@
+package sri.karthikeya.caterers.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.config.MongoConfig;
+import sri.karthikeya.caterers.entity.Quote;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Repository
+@RequiredArgsConstructor
+public class QuoteArchiveRepository {
+    public static final String COLLECTION = "quotes_archive";
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Qualifier(MongoConfig.READ_MONGO_TEMPLATE)
+    private final MongoTemplate readMongoTemplate;
+
+    public Optional<Quote> findById(String id) {
+        return Optional.ofNullable(readMongoTemplate.findById(id, Quote.class, COLLECTION));
+    }
+
+    public Optional<Quote> findByIdFromPrimary(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, Quote.class, COLLECTION));
+    }
+
+    public List<Quote> findAllByIdsFromPrimary(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return mongoTemplate.find(query, Quote.class, COLLECTION);
+    }
+
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(id)), COLLECTION);
+    }
+
+    public boolean deleteById(String id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        return mongoTemplate.remove(query, COLLECTION).getDeletedCount() > 0;
+    }
+
+    /**
+     * Upserts each document by id, so a copy left by an interrupted run is replaced with the current one.
+     * Returns the documents that are now in the archive; the rest failed to write.
+     */
+    public List<Document> replaceAll(List<Document> documents) {
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        List<ReplaceOneModel<Document>> writes = documents.stream()
+                .map(document -> new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document, upsert))
+                .toList();
+        try {
+            mongoTemplate.getCollection(COLLECTION).bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            return documents;
+        } catch (MongoBulkWriteException e) {
+            // A duplicate key means a concurrent upsert of the same quote won, which archived it as well
+            Set<Integer> failed = e.getWriteErrors().stream()
+                    .filter(error -> error.getCode() != DUPLICATE_KEY_CODE)
+                    .map(BulkWriteError::getIndex)
+                    .collect(Collectors.toSet());
+            return IntStream.range(0, documents.size())
+                    .filter(index -> !failed.contains(index))
+                    .mapToObj(documents::get)
+                    .toList();
+        }
+    }
+}
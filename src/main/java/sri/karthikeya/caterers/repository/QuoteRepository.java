@@ -1,43 +1,213 @@
 package sri.karthikeya.caterers.repository;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.config.MongoConfig;
 import sri.karthikeya.caterers.entity.Quote;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class QuoteRepository {
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
     private final MongoTemplate mongoTemplate;
 
-    public Quote save(Quote quote) {
-        return mongoTemplate.save(quote);
+    @Qualifier(MongoConfig.READ_MONGO_TEMPLATE)
+    private final MongoTemplate readMongoTemplate;
+
+    public Quote insert(Quote quote) {
+        quote.setChangedAt(LocalDateTime.now());
+        return mongoTemplate.insert(quote);
     }
 
     public Optional<Quote> findById(String id) {
+        return Optional.ofNullable(readMongoTemplate.findById(id, Quote.class));
+    }
+
+    public Optional<Quote> findByIdFromPrimary(String id) {
         return Optional.ofNullable(mongoTemplate.findById(id, Quote.class));
     }
 
+    public List<Quote> findAllByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return readMongoTemplate.find(query, Quote.class);
+    }
+
+    public List<Quote> findAllByIdsFromPrimary(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return mongoTemplate.find(query, Quote.class);
+    }
+
     public List<Quote> findAll(int page, int size, String sortBy, String sortDir) {
+        return findRange((long) page * size, size, sortBy, sortDir);
+    }
+
+    public List<Quote> findRange(long skip, int limit, String sortBy, String sortDir) {
+        if (limit <= 0) {
+            return List.of();
+        }
         Query query = new Query();
-        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy));
-        query.skip((long) page * size);
-        query.limit(size);
+        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy, "_id"));
+        query.skip(skip);
+        query.limit(limit);
+        return readMongoTemplate.find(query, Quote.class);
+    }
+
+    /**
+     * Counts the stored quotes that sort ahead of the given one in the {@link #findAll} order, which is where
+     * a quote that is not stored yet would appear.
+     */
+    public long countBefore(Quote quote, String sortBy, String sortDir) {
+        Object value = sortValue(toDocument(quote), sortBy);
+        boolean ascending = Sort.Direction.fromString(sortDir).isAscending();
+        Criteria tieBreak = ascending ? Criteria.where("_id").lt(quote.getId()) : Criteria.where("_id").gt(quote.getId());
+        Criteria sameValue = new Criteria().andOperator(Criteria.where(sortBy).is(value), tieBreak);
+        Criteria ahead;
+        if (value == null) {
+            ahead = ascending ? sameValue : new Criteria().orOperator(Criteria.where(sortBy).ne(null), sameValue);
+        } else if (ascending) {
+            ahead = new Criteria().orOperator(Criteria.where(sortBy).is(null), Criteria.where(sortBy).lt(value), sameValue);
+        } else {
+            ahead = new Criteria().orOperator(Criteria.where(sortBy).gt(value), sameValue);
+        }
+        return readMongoTemplate.count(new Query(ahead), Quote.class);
+    }
+
+    /**
+     * Orders quotes in memory the way {@link #findAll} orders them in MongoDB: missing values first when ascending,
+     * then the {@code _id} tie-breaker.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<Quote> sortOrder(String sortBy, String sortDir) {
+        Comparator<Object> values = Comparator.nullsFirst((left, right) -> left instanceof Number a && right instanceof Number b
+                ? Double.compare(a.doubleValue(), b.doubleValue())
+                : ((Comparable) left).compareTo(right));
+        Comparator<Quote> order = Comparator.comparing(quote -> sortValue(toDocument(quote), sortBy), values);
+        order = order.thenComparing(Quote::getId);
+        return Sort.Direction.fromString(sortDir).isAscending() ? order : order.reversed();
+    }
+
+    public List<Quote> findWithPendingNotifications(int limit) {
+        Query query = new Query(Criteria.where("pendingNotifications").exists(true))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(limit);
+        query.fields().include("_id", "pendingNotifications");
         return mongoTemplate.find(query, Quote.class);
     }
 
+    public void clearPendingNotifications(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        mongoTemplate.updateMulti(query, new Update().unset("pendingNotifications"), Quote.class);
+    }
+
+    public Stream<Quote> streamByEventDateBetween(LocalDate from, LocalDate to) {
+        Query query = new Query(Criteria.where("eventDate").gte(from).lte(to));
+        query.fields().include("eventDate", "expectedGuests");
+        return mongoTemplate.stream(query, Quote.class);
+    }
+
     public long count() {
-        return mongoTemplate.count(new Query(), Quote.class);
+        return readMongoTemplate.count(new Query(), Quote.class);
+    }
+
+    public Optional<Quote> update(String id, Long expectedVersion, Quote changes) {
+        Update update = new Update()
+                .set("fullName", changes.getFullName())
+                .set("phoneNumber", changes.getPhoneNumber())
+                .set("email", changes.getEmail())
+                .set("eventDate", changes.getEventDate())
+                .set("eventType", changes.getEventType())
+                .set("expectedGuests", changes.getExpectedGuests())
+                .set("additionalDetails", changes.getAdditionalDetails())
+                .set("updatedAt", changes.getUpdatedAt())
+                .set("changedAt", LocalDateTime.now())
+                .inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(versionedQuery(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), Quote.class));
     }
 
-    public void deleteById(String id) {
+    public boolean deleteById(String id) {
         Query query = new Query(Criteria.where("_id").is(id));
-        mongoTemplate.remove(query, Quote.class);
+        return mongoTemplate.remove(query, Quote.class).getDeletedCount() > 0;
+    }
+
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(id)), Quote.class);
+    }
+
+    public List<Document> findRawWithEventDateBefore(LocalDate cutoff, int limit) {
+        Query query = new Query(Criteria.where("eventDate").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "eventDate"))
+                .limit(limit);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Quote.class));
+    }
+
+    /**
+     * Deletes the given raw quotes only if they still have the version that was read,
+     * so a quote updated after it was copied stays live until the next run archives it again.
+     */
+    public long deleteUnchanged(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        Criteria[] unchanged = documents.stream()
+                .map(document -> Criteria.where("_id").is(document.get("_id")).and("version").is(document.get("version")))
+                .toArray(Criteria[]::new);
+        return mongoTemplate.remove(new Query(new Criteria().orOperator(unchanged)), Quote.class).getDeletedCount();
+    }
+
+    public void insertAllIgnoringDuplicates(List<Document> documents) {
+        Date changedAt = new Date();
+        documents.forEach(document -> document.put("changedAt", changedAt));
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Quote.class))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            boolean onlyDuplicates = e.getWriteErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_CODE);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    public Document toDocument(Quote quote) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(quote, document);
+        return document;
+    }
+
+    public Quote fromDocument(Document document) {
+        return mongoTemplate.getConverter().read(Quote.class, document);
+    }
+
+    private static Object sortValue(Document document, String sortBy) {
+        return document.get("id".equals(sortBy) ? "_id" : sortBy);
+    }
+
+    private Query versionedQuery(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        return new Query(criteria);
     }
 }
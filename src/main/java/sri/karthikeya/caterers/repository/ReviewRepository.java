@@ -1,53 +1,102 @@
 package sri.karthikeya.caterers.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.config.MongoConfig;
 import sri.karthikeya.caterers.entity.Review;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class ReviewRepository {
     private final MongoTemplate mongoTemplate;
 
-    public Review save(Review review) {
-        return mongoTemplate.save(review);
+    @Qualifier(MongoConfig.READ_MONGO_TEMPLATE)
+    private final MongoTemplate readMongoTemplate;
+
+    public Review insert(Review review) {
+        return mongoTemplate.insert(review);
     }
 
     public Optional<Review> findById(String id) {
+        return Optional.ofNullable(readMongoTemplate.findById(id, Review.class));
+    }
+
+    public Optional<Review> findByIdFromPrimary(String id) {
         return Optional.ofNullable(mongoTemplate.findById(id, Review.class));
     }
 
+    public List<Review> findAllByIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return readMongoTemplate.find(query, Review.class);
+    }
+
+    public List<Review> findAllByIdsFromPrimary(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        return mongoTemplate.find(query, Review.class);
+    }
+
     public List<Review> findAll(int page, int size, String sortBy, String sortDir) {
         Query query = new Query();
-        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy));
+        query.with(Sort.by(Sort.Direction.fromString(sortDir), sortBy, "_id"));
         query.skip((long) page * size);
         query.limit(size);
+        return readMongoTemplate.find(query, Review.class);
+    }
+
+    public List<Review> findAll() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "createdAt"));
         return mongoTemplate.find(query, Review.class);
     }
 
+    public Stream<Review> streamAll() {
+        return mongoTemplate.stream(new Query(), Review.class);
+    }
+
     public long count() {
-        return mongoTemplate.count(new Query(), Review.class);
+        return readMongoTemplate.count(new Query(), Review.class);
+    }
+
+    public Optional<Review> update(String id, Long expectedVersion, Review changes) {
+        Update update = new Update()
+                .set("imageId", changes.getImageId())
+                .set("timeline", changes.getTimeline())
+                .set("guestsCount", changes.getGuestsCount())
+                .set("stars", changes.getStars())
+                .set("comments", changes.getComments())
+                .set("topPicks", changes.getTopPicks())
+                .set("type", changes.getType())
+                .set("updatedAt", changes.getUpdatedAt())
+                .inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(versionedQuery(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), Review.class));
     }
 
-    public void deleteById(String id) {
+    public boolean deleteById(String id) {
         Query query = new Query(Criteria.where("_id").is(id));
-        mongoTemplate.remove(query, Review.class);
+        return mongoTemplate.remove(query, Review.class).getDeletedCount() > 0;
     }
 
-    public boolean existsByImageId(String imageId) {
-        Query query = new Query(Criteria.where("imageId").is(imageId));
-        return mongoTemplate.exists(query, Review.class);
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(id)), Review.class);
     }
 
-    public boolean existsByImageIdAndIdNot(String imageId, String id) {
-        Query query = new Query(Criteria.where("imageId").is(imageId).and("_id").ne(id));
-        return mongoTemplate.exists(query, Review.class);
+    private Query versionedQuery(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        return new Query(criteria);
     }
 }
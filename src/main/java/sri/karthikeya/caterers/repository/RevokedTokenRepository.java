@@ -0,0 +1,33 @@
+package sri.karthikeya.caterers.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.entity.RevokedToken;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RevokedTokenRepository {
+    private final MongoTemplate mongoTemplate;
+
+    public boolean insert(RevokedToken token) {
+        try {
+            mongoTemplate.insert(token);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public List<RevokedToken> findUnexpired(LocalDateTime now) {
+        Query query = new Query(Criteria.where("expireAt").gt(now));
+        query.fields().include("_id", "expireAt");
+        return mongoTemplate.find(query, RevokedToken.class);
+    }
+}
@@ -0,0 +1,62 @@
+package sri.karthikeya.caterers.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import sri.karthikeya.caterers.entity.UploadPart;
+import sri.karthikeya.caterers.entity.UploadSession;
+import sri.karthikeya.caterers.enums.UploadStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class UploadSessionRepository {
+    private final MongoTemplate mongoTemplate;
+
+    public UploadSession insert(UploadSession session) {
+        return mongoTemplate.insert(session);
+    }
+
+    public Optional<UploadSession> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, UploadSession.class));
+    }
+
+    public Optional<UploadSession> recordPart(String id, int partNumber, UploadPart part) {
+        Query query = new Query(Criteria.where("_id").is(id).and("status").is(UploadStatus.PENDING));
+        Update update = new Update().set("parts." + partNumber, part);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), UploadSession.class));
+    }
+
+    public boolean markCompleting(String id) {
+        Query query = new Query(Criteria.where("_id").is(id)
+                .and("status").in(UploadStatus.PENDING, UploadStatus.COMPLETING));
+        return mongoTemplate.updateFirst(query, new Update().set("status", UploadStatus.COMPLETING), UploadSession.class)
+                .getMatchedCount() > 0;
+    }
+
+    public void markCompleted(String id) {
+        Query query = new Query(Criteria.where("_id").is(id).and("status").is(UploadStatus.COMPLETING));
+        mongoTemplate.updateFirst(query, new Update().set("status", UploadStatus.COMPLETED), UploadSession.class);
+    }
+
+    public List<UploadSession> findExpired(UploadStatus status, LocalDateTime now, int limit) {
+        Query query = new Query(Criteria.where("status").is(status).and("expiresAt").lt(now))
+                .with(Sort.by(Sort.Direction.ASC, "expiresAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, UploadSession.class);
+    }
+
+    public boolean deleteIfStatus(String id, UploadStatus status) {
+        Query query = new Query(Criteria.where("_id").is(id).and("status").is(status));
+        return mongoTemplate.remove(query, UploadSession.class).getDeletedCount() > 0;
+    }
+}
@@ -0,0 +1,184 @@
+package sri.karthikeya.caterers.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sri.karthikeya.caterers.entity.RevokedToken;
+import sri.karthikeya.caterers.repository.RevokedTokenRepository;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class TokenService {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final String METRIC = "caterers.auth.token.verifications";
+    private static final int MIN_KEY_LENGTH = 32;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final SecretKeySpec signingKey;
+    private final Duration tokenTtl;
+    private final Cache<String, VerifiedToken> verified;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final Counter cacheHits;
+    private final Counter signatureChecks;
+    private final Counter rejections;
+
+    public TokenService(RevokedTokenRepository revokedTokenRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${caterers.auth.signing-key:}") String signingKey,
+                        @Value("${caterers.auth.token-ttl:15m}") Duration tokenTtl,
+                        @Value("${caterers.auth.cache-size:1000}") long cacheSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.signingKey = new SecretKeySpec(signingKeyBytes(signingKey), HMAC_ALGORITHM);
+        this.tokenTtl = tokenTtl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(tokenTtl)
+                .build();
+        this.cacheHits = verifications(meterRegistry, "cache_hit");
+        this.signatureChecks = verifications(meterRegistry, "verified");
+        this.rejections = verifications(meterRegistry, "rejected");
+    }
+
+    public IssuedToken issue(String subject) {
+        Instant expiresAt = Instant.now().plus(tokenTtl);
+        String payload = VERSION + "." + encode(subject) + "." + IdGenerator.newId() + "." + expiresAt.getEpochSecond();
+        String token = payload + "." + sign(payload);
+        return new IssuedToken(token, expiresAt);
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verified.getIfPresent(token);
+        if (cached != null) {
+            cacheHits.increment();
+            return usable(cached);
+        }
+
+        Optional<VerifiedToken> parsed = parse(token);
+        if (parsed.isEmpty()) {
+            rejections.increment();
+            return Optional.empty();
+        }
+        signatureChecks.increment();
+        verified.put(token, parsed.get());
+        return usable(parsed.get());
+    }
+
+    public void revoke(VerifiedToken token) {
+        revoked.put(token.tokenId(), token.expiresAt());
+        revokedTokenRepository.insert(new RevokedToken(token.tokenId(), token.subject(), LocalDateTime.now(),
+                LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault())));
+        log.info("Revoked token {} for {}", token.tokenId(), token.subject());
+    }
+
+    @Scheduled(fixedDelayString = "${caterers.auth.revocation-refresh-interval:10s}")
+    public void refreshRevocations() {
+        try {
+            for (RevokedToken token : revokedTokenRepository.findUnexpired(LocalDateTime.now())) {
+                revoked.putIfAbsent(token.getId(), token.getExpireAt().atZone(ZoneId.systemDefault()).toInstant());
+            }
+            Instant now = Instant.now();
+            revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh revoked tokens: {}", e.getMessage(), e);
+        }
+    }
+
+    private Optional<VerifiedToken> usable(VerifiedToken token) {
+        if (token.expiresAt().isBefore(Instant.now()) || revoked.containsKey(token.tokenId())) {
+            rejections.increment();
+            return Optional.empty();
+        }
+        return Optional.of(token);
+    }
+
+    private Optional<VerifiedToken> parse(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+
+        String[] parts = payload.split("\\.");
+        if (parts.length != 4 || !VERSION.equals(parts[0])) {
+            return Optional.empty();
+        }
+        try {
+            String subject = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[3]));
+            return Optional.of(new VerifiedToken(subject, parts[2], expiresAt));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return encode(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return encode(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private static Counter verifications(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static byte[] signingKeyBytes(String signingKey) {
+        if (!signingKey.isBlank()) {
+            byte[] key = signingKey.getBytes(StandardCharsets.UTF_8);
+            if (key.length < MIN_KEY_LENGTH) {
+                log.warn("caterers.auth.signing-key is shorter than {} bytes", MIN_KEY_LENGTH);
+            }
+            return key;
+        }
+        log.warn("No caterers.auth.signing-key configured, tokens will not survive a restart or work across instances");
+        byte[] random = new byte[MIN_KEY_LENGTH];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    public record VerifiedToken(String subject, String tokenId, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package sri.karthikeya.caterers.service;
+
+import sri.karthikeya.caterers.dto.request.LoginRequest;
+import sri.karthikeya.caterers.dto.response.LoginResponse;
+import sri.karthikeya.caterers.security.TokenService;
+
+public interface AuthService {
+    LoginResponse login(LoginRequest request);
+    void logout(TokenService.VerifiedToken token);
+}
@@ -1,14 +1,22 @@
 package sri.karthikeya.caterers.service;
 
 import sri.karthikeya.caterers.dto.request.GalleryCreateRequest;
+import sri.karthikeya.caterers.dto.request.GalleryStreamRequest;
 import sri.karthikeya.caterers.dto.request.GalleryUpdateRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.GalleryResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
+import sri.karthikeya.caterers.engine.s3.ImageStream;
+
+import java.util.List;
 
 public interface GalleryService {
     GalleryResponse create(GalleryCreateRequest request);
+    GalleryResponse create(GalleryStreamRequest request, ImageStream image);
+    GalleryResponse createFromUpload(String id, GalleryStreamRequest request, String imageKey);
     GalleryResponse getById(String id);
-    PageResponse<GalleryResponse> getAll(int page, int size, String sortBy, String sortDir);
-    GalleryResponse update(String id, GalleryUpdateRequest request);
+    BatchResponse<GalleryResponse> getByIds(List<String> ids, boolean includeImageUrls);
+    PageResponse<GalleryResponse> getAll(int page, int size, String sortBy, String sortDir, boolean includeImageUrls);
+    GalleryResponse update(String id, GalleryUpdateRequest request, Long expectedVersion);
     void delete(String id);
 }
@@ -0,0 +1,7 @@
+package sri.karthikeya.caterers.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> T execute(String idempotencyKey, String scope, String requestHash, Class<T> responseType, Supplier<T> action);
+}
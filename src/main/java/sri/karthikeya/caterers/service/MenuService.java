@@ -1,13 +1,17 @@
 package sri.karthikeya.caterers.service;
 
 import sri.karthikeya.caterers.dto.request.MenuRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.MenuResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 
+import java.util.List;
+
 public interface MenuService {
     MenuResponse create(MenuRequest request);
     MenuResponse getById(String id);
-    PageResponse<MenuResponse> getAll(int page, int size, String sortBy, String sortDir);
-    MenuResponse update(String id, MenuRequest request);
+    BatchResponse<MenuResponse> getByIds(List<String> ids, boolean includeImageUrls);
+    PageResponse<MenuResponse> getAll(int page, int size, String sortBy, String sortDir, boolean includeImageUrls);
+    MenuResponse update(String id, MenuRequest request, Long expectedVersion);
     void delete(String id);
 }
@@ -0,0 +1,12 @@
+package sri.karthikeya.caterers.service;
+
+import sri.karthikeya.caterers.dto.response.QuoteDemandResponse;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface QuoteAnalyticsService {
+    List<QuoteDemandResponse> getDailyDemand(LocalDate from, LocalDate to, ReviewEventType eventType);
+    List<QuoteDemandResponse> getDemandByEventType(LocalDate from, LocalDate to);
+}
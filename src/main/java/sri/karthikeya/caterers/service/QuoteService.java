@@ -1,13 +1,20 @@
 package sri.karthikeya.caterers.service;
 
 import sri.karthikeya.caterers.dto.request.QuoteRequest;
+import sri.karthikeya.caterers.dto.response.AvailabilityResponse;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.dto.response.QuoteResponse;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface QuoteService {
     QuoteResponse create(QuoteRequest request);
     QuoteResponse getById(String id);
+    BatchResponse<QuoteResponse> getByIds(List<String> ids);
     PageResponse<QuoteResponse> getAll(int page, int size, String sortBy, String sortDir);
-    QuoteResponse update(String id, QuoteRequest request);
+    AvailabilityResponse getAvailability(LocalDate from, LocalDate to, boolean includeDays);
+    QuoteResponse update(String id, QuoteRequest request, Long expectedVersion);
     void delete(String id);
 }
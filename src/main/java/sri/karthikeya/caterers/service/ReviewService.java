@@ -1,13 +1,18 @@
 package sri.karthikeya.caterers.service;
 
 import sri.karthikeya.caterers.dto.request.ReviewRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.dto.response.ReviewResponse;
 
+import java.util.List;
+
 public interface ReviewService {
     ReviewResponse create(ReviewRequest request);
     ReviewResponse getById(String id);
-    PageResponse<ReviewResponse> getAll(int page, int size, String sortBy, String sortDir);
-    ReviewResponse update(String id, ReviewRequest request);
+    BatchResponse<ReviewResponse> getByIds(List<String> ids, boolean includeImageUrls);
+    List<ReviewResponse> getFeatured(int limit, boolean includeImageUrls);
+    PageResponse<ReviewResponse> getAll(int page, int size, String sortBy, String sortDir, boolean includeImageUrls);
+    ReviewResponse update(String id, ReviewRequest request, Long expectedVersion);
     void delete(String id);
 }
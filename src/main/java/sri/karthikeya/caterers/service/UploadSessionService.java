@@ -0,0 +1,16 @@
+package sri.karthikeya.caterers.service;
+
+import sri.karthikeya.caterers.dto.request.UploadSessionRequest;
+import sri.karthikeya.caterers.dto.response.ChunkedUploadResponse;
+import sri.karthikeya.caterers.dto.response.GalleryResponse;
+import sri.karthikeya.caterers.dto.response.UploadSessionResponse;
+
+import java.io.InputStream;
+
+public interface UploadSessionService {
+    UploadSessionResponse create(UploadSessionRequest request);
+    ChunkedUploadResponse createChunked(UploadSessionRequest request);
+    ChunkedUploadResponse uploadChunk(String id, int chunkNumber, long contentLength, InputStream content);
+    ChunkedUploadResponse getProgress(String id);
+    GalleryResponse complete(String id);
+}
@@ -0,0 +1,62 @@
+package sri.karthikeya.caterers.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.dto.request.LoginRequest;
+import sri.karthikeya.caterers.dto.response.LoginResponse;
+import sri.karthikeya.caterers.exception.custom.UnauthorizedException;
+import sri.karthikeya.caterers.security.TokenService;
+import sri.karthikeya.caterers.service.AuthService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Slf4j
+@Service
+public class AuthServiceImpl implements AuthService {
+    private final TokenService tokenService;
+    private final PasswordEncoder passwordEncoder;
+    private final String username;
+    private final String passwordHash;
+
+    public AuthServiceImpl(TokenService tokenService,
+                           PasswordEncoder passwordEncoder,
+                           @Value("${caterers.auth.admin.username:admin}") String username,
+                           @Value("${caterers.auth.admin.password-hash:}") String passwordHash) {
+        this.tokenService = tokenService;
+        this.passwordEncoder = passwordEncoder;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        if (passwordHash.isBlank()) {
+            log.warn("No caterers.auth.admin.password-hash configured, admin login is disabled");
+        }
+    }
+
+    @Override
+    public LoginResponse login(LoginRequest request) {
+        boolean knownUser = MessageDigest.isEqual(username.getBytes(StandardCharsets.UTF_8),
+                request.getUsername().getBytes(StandardCharsets.UTF_8));
+        boolean passwordMatches = !passwordHash.isBlank() && passwordEncoder.matches(request.getPassword(), passwordHash);
+        if (!knownUser || !passwordMatches) {
+            log.warn("Failed login attempt for user: {}", request.getUsername());
+            throw new UnauthorizedException("Invalid username or password");
+        }
+
+        TokenService.IssuedToken token = tokenService.issue(username);
+        log.info("Issued access token for: {}", username);
+        return LoginResponse.builder()
+                .accessToken(token.token())
+                .tokenType("Bearer")
+                .expiresAt(LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Override
+    public void logout(TokenService.VerifiedToken token) {
+        tokenService.revoke(token);
+    }
+}
@@ -1,66 +1,125 @@
 package sri.karthikeya.caterers.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.config.MetricsConfig;
 import sri.karthikeya.caterers.dto.request.GalleryCreateRequest;
+import sri.karthikeya.caterers.dto.request.GalleryStreamRequest;
 import sri.karthikeya.caterers.dto.request.GalleryUpdateRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.GalleryResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
+import sri.karthikeya.caterers.engine.catalog.CatalogPublisher;
+import sri.karthikeya.caterers.engine.s3.ImageStream;
+import sri.karthikeya.caterers.engine.s3.ImageUrlResolver;
 import sri.karthikeya.caterers.entity.Gallery;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.exception.custom.PreconditionFailedException;
 import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
 import sri.karthikeya.caterers.mapper.GalleryMapper;
 import sri.karthikeya.caterers.repository.GalleryRepository;
 import sri.karthikeya.caterers.service.GalleryService;
 import sri.karthikeya.caterers.engine.s3.S3PathConstants;
 import sri.karthikeya.caterers.engine.s3.S3Service;
+import sri.karthikeya.caterers.util.BatchLookup;
+import sri.karthikeya.caterers.util.IdGenerator;
 import sri.karthikeya.caterers.util.ValidationUtil;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Slf4j
 @Service
+@Timed("caterers.service")
 @RequiredArgsConstructor
 public class GalleryServiceImpl implements GalleryService {
     private final GalleryRepository galleryRepository;
     private final GalleryMapper galleryMapper;
+    private final CatalogPublisher catalogPublisher;
+    private final ImageUrlResolver imageUrlResolver;
     private final S3Service s3Service;
 
     @Override
     public GalleryResponse create(GalleryCreateRequest request) {
-        log.info("Creating gallery with name: {}", request.getName());
+        log.debug("Creating gallery with name: {}", request.getName());
         
         String imageKey = s3Service.uploadFile(request.getImage(), S3PathConstants.getPathByType(request.getType()));
-        
+        return insert(IdGenerator.newId(), imageKey, request.getType(), request.getName(), request.getDescription());
+    }
+
+    @Override
+    public GalleryResponse create(GalleryStreamRequest request, ImageStream image) {
+        log.debug("Creating gallery from stream with name: {}", request.getName());
+
+        String imageKey = s3Service.uploadStream(image, S3PathConstants.getPathByType(request.getType()));
+        return insert(IdGenerator.newId(), imageKey, request.getType(), request.getName(), request.getDescription());
+    }
+
+    @Override
+    public GalleryResponse createFromUpload(String id, GalleryStreamRequest request, String imageKey) {
+        log.debug("Creating gallery {} from uploaded object {}", id, imageKey);
+        return insert(id, imageKey, request.getType(), request.getName(), request.getDescription());
+    }
+
+    private GalleryResponse insert(String id, String imageKey, GalleryType type, String name, String description) {
         Gallery gallery = new Gallery();
-        gallery.setId(UUID.randomUUID().toString());
+        gallery.setId(id);
         gallery.setImageId(imageKey);
-        gallery.setType(request.getType());
-        gallery.setName(request.getName());
-        gallery.setDescription(request.getDescription());
+        gallery.setType(type);
+        gallery.setName(name);
+        gallery.setDescription(description);
         gallery.setCreatedAt(LocalDateTime.now());
         gallery.setUpdatedAt(LocalDateTime.now());
-        
-        Gallery saved = galleryRepository.save(gallery);
+
+        Gallery saved;
+        try {
+            saved = galleryRepository.insert(gallery);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Gallery already exists with id: " + id);
+        } catch (RuntimeException e) {
+            s3Service.deleteFile(imageKey);
+            throw e;
+        }
         log.info("Gallery created with id: {}", saved.getId());
+        catalogPublisher.requestPublish();
         return galleryMapper.toResponse(saved);
     }
 
     @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
     public GalleryResponse getById(String id) {
-        log.info("Fetching gallery with id: {}", id);
+        log.debug("Fetching gallery with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
         
         Gallery gallery = galleryRepository.findById(id)
+                .or(() -> galleryRepository.findByIdFromPrimary(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Gallery not found with id: " + id));
         return galleryMapper.toResponse(gallery);
     }
 
     @Override
-    public PageResponse<GalleryResponse> getAll(int page, int size, String sortBy, String sortDir) {
-        log.info("Fetching all galleries - page: {}, size: {}", page, size);
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public BatchResponse<GalleryResponse> getByIds(List<String> ids, boolean includeImageUrls) {
+        log.debug("Fetching galleries by ids: {}", ids);
+        ValidationUtil.validateUUIDs(ids, "ids");
+
+        BatchResponse<GalleryResponse> batch = BatchLookup.fetch(ids, galleryRepository::findAllByIds,
+                galleryRepository::findAllByIdsFromPrimary, Gallery::getId, galleryMapper::toResponse);
+        if (includeImageUrls) {
+            attachImageUrls(batch.getContent());
+        }
+        return batch;
+    }
+
+    @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public PageResponse<GalleryResponse> getAll(int page, int size, String sortBy, String sortDir, boolean includeImageUrls) {
+        log.debug("Fetching all galleries - page: {}, size: {}", page, size);
         ValidationUtil.validatePagination(page, size);
         
         List<Gallery> galleries = galleryRepository.findAll(page, size, sortBy, sortDir);
@@ -70,6 +129,10 @@ public class GalleryServiceImpl implements GalleryService {
                 .map(galleryMapper::toResponse)
                 .toList();
         
+        if (includeImageUrls) {
+            attachImageUrls(responses);
+        }
+
         return PageResponse.<GalleryResponse>builder()
                 .content(responses)
                 .pageNumber(page)
@@ -81,39 +144,81 @@ public class GalleryServiceImpl implements GalleryService {
     }
 
     @Override
-    public GalleryResponse update(String id, GalleryUpdateRequest request) {
-        log.info("Updating gallery with id: {}", id);
+    public GalleryResponse update(String id, GalleryUpdateRequest request, Long expectedVersion) {
+        log.debug("Updating gallery with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
-        
-        Gallery gallery = galleryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Gallery not found with id: " + id));
-        
+
+        Gallery changes = new Gallery();
+        String previousImageId = null;
+        Long version = expectedVersion;
         if (request.getImage() != null && !request.getImage().isEmpty()) {
-            s3Service.deleteFile(gallery.getImageId());
-            String newImageKey = s3Service.uploadFile(request.getImage(), S3PathConstants.getPathByType(request.getType()));
-            gallery.setImageId(newImageKey);
+            // Checked before uploading; the versioned update below guarantees the image is still this one
+            Gallery current = galleryRepository.findByIdFromPrimary(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Gallery not found with id: " + id));
+            if (version != null && !version.equals(current.getVersion())) {
+                throw updateFailed(id, version);
+            }
+            // Without If-Match the version read here still pins the image that is replaced
+            version = current.getVersion();
+            previousImageId = current.getImageId();
+            changes.setImageId(s3Service.uploadFile(request.getImage(), S3PathConstants.getPathByType(request.getType())));
         }
-        
-        gallery.setType(request.getType());
-        gallery.setName(request.getName());
-        gallery.setDescription(request.getDescription());
-        gallery.setUpdatedAt(LocalDateTime.now());
-        
-        Gallery updated = galleryRepository.save(gallery);
-        log.info("Gallery updated with id: {}", updated.getId());
+        changes.setType(request.getType());
+        changes.setName(request.getName());
+        changes.setDescription(request.getDescription());
+        changes.setUpdatedAt(LocalDateTime.now());
+
+        Long guard = version;
+        Gallery updated;
+        try {
+            updated = galleryRepository.update(id, guard, changes)
+                    .orElseThrow(() -> updateFailed(id, guard));
+        } catch (RuntimeException e) {
+            if (changes.getImageId() != null) {
+                s3Service.deleteFile(changes.getImageId());
+            }
+            throw e;
+        }
+        if (previousImageId != null) {
+            s3Service.deleteFile(previousImageId);
+        }
+
+        log.info("Gallery updated with id: {} to version {}", id, updated.getVersion());
+        catalogPublisher.requestPublish();
         return galleryMapper.toResponse(updated);
     }
 
     @Override
     public void delete(String id) {
-        log.info("Deleting gallery with id: {}", id);
+        log.debug("Deleting gallery with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
-        
-        Gallery gallery = galleryRepository.findById(id)
+
+        Gallery gallery = galleryRepository.findByIdFromPrimary(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Gallery not found with id: " + id));
-        
+
+        // The object goes first: if S3 fails nothing has changed and the delete can be retried,
+        // whereas removing the document first would orphan the object
         s3Service.deleteFile(gallery.getImageId());
-        galleryRepository.deleteById(id);
+        // An image that replaced this one in the meantime goes with the document
+        galleryRepository.deleteById(id)
+                .map(Gallery::getImageId)
+                .filter(imageId -> !imageId.equals(gallery.getImageId()))
+                .ifPresent(s3Service::deleteFile);
         log.info("Gallery deleted with id: {}", id);
+        catalogPublisher.requestPublish();
+    }
+
+    private RuntimeException updateFailed(String id, Long expectedVersion) {
+        if (galleryRepository.existsById(id)) {
+            return new PreconditionFailedException("Gallery " + id + " was modified concurrently; expected version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Gallery not found with id: " + id);
+    }
+
+    private void attachImageUrls(List<GalleryResponse> responses) {
+        Map<String, String> urls = imageUrlResolver.resolveKeys(responses.stream()
+                .map(GalleryResponse::getImageId)
+                .toList());
+        responses.forEach(response -> response.setImageUrl(urls.get(response.getImageId())));
     }
 }
@@ -0,0 +1,242 @@
+package sri.karthikeya.caterers.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.entity.IdempotencyRecord;
+import sri.karthikeya.caterers.enums.IdempotencyStatus;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.exception.custom.InternalServerException;
+import sri.karthikeya.caterers.exception.custom.UnprocessableEntityException;
+import sri.karthikeya.caterers.repository.IdempotencyRepository;
+import sri.karthikeya.caterers.service.IdempotencyService;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@Timed("caterers.service")
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lease;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotencyServiceImpl(IdempotencyRepository idempotencyRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${caterers.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${caterers.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                                  @Value("${caterers.idempotency.lease:1m}") Duration lease,
+                                  @Value("${caterers.idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.lease = lease;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public <T> T execute(String idempotencyKey, String scope, String requestHash, Class<T> responseType,
+                         Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        IdempotencyRecord cached = completed.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            log.info("Replaying stored response for Idempotency-Key: {}", idempotencyKey);
+            return readResponse(cached, scope, requestHash, responseType);
+        }
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> existing = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (existing != null) {
+            log.info("Waiting on in-flight request for Idempotency-Key: {}", idempotencyKey);
+            return readResponse(await(existing), scope, requestHash, responseType);
+        }
+
+        try {
+            IdempotencyRecord record = reserveOrAwait(idempotencyKey, scope, requestHash);
+            if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                mine.complete(record);
+                return readResponse(record, scope, requestHash, responseType);
+            }
+
+            T response;
+            ScheduledFuture<?> heartbeat = startHeartbeat(idempotencyKey, record.getOwner());
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                idempotencyRepository.release(idempotencyKey, record.getOwner());
+                throw e;
+            } finally {
+                heartbeat.cancel(false);
+            }
+
+            record.setResponse(writeResponse(response));
+            record.setStatus(IdempotencyStatus.COMPLETED);
+            if (idempotencyRepository.complete(idempotencyKey, record.getOwner(), record.getResponse())) {
+                completed.put(idempotencyKey, record);
+            } else {
+                log.error("Lease on Idempotency-Key {} was lost before its response could be stored", idempotencyKey);
+            }
+            mine.complete(record);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    private IdempotencyRecord reserveOrAwait(String idempotencyKey, String scope, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord(idempotencyKey, scope, requestHash,
+                IdempotencyStatus.IN_PROGRESS, null, now, IdGenerator.newId(), now.plus(lease), now.plus(ttl));
+        if (idempotencyRepository.tryReserve(record)) {
+            return record;
+        }
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        LocalDateTime deadlineAt = now.plus(waitTimeout);
+        while (System.nanoTime() < deadline) {
+            IdempotencyRecord stored = idempotencyRepository.findById(idempotencyKey).orElse(null);
+            if (stored == null) {
+                if (idempotencyRepository.tryReserve(record)) {
+                    return record;
+                }
+            } else if (stored.getStatus() == IdempotencyStatus.COMPLETED) {
+                completed.put(idempotencyKey, stored);
+                return stored;
+            } else {
+                checkSameRequest(stored, scope, requestHash);
+                LocalDateTime lockedUntil = LocalDateTime.now().plus(lease);
+                if (isLeaseExpired(stored)
+                        && idempotencyRepository.tryTakeOver(idempotencyKey, record.getOwner(), LocalDateTime.now(), lockedUntil)) {
+                    log.warn("Taking over Idempotency-Key {} whose lease expired", idempotencyKey);
+                    record.setLockedUntil(lockedUntil);
+                    return record;
+                }
+                if (stored.getLockedUntil() != null && stored.getLockedUntil().isAfter(deadlineAt)) {
+                    break;
+                }
+            }
+            sleep();
+        }
+        throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+    }
+
+    /**
+     * Extends the lease while the action runs, so a slow request is not taken over by a retry and run twice.
+     */
+    private ScheduledFuture<?> startHeartbeat(String idempotencyKey, String owner) {
+        long interval = Math.max(1, lease.toMillis() / 3);
+        return heartbeats.scheduleAtFixedRate(() -> {
+            try {
+                if (!idempotencyRepository.renew(idempotencyKey, owner, LocalDateTime.now().plus(lease))) {
+                    log.warn("Lease on Idempotency-Key {} could not be renewed", idempotencyKey);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew lease on Idempotency-Key {}: {}", idempotencyKey, e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InternalServerException("Original request failed");
+        } catch (TimeoutException e) {
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("Interrupted while waiting for original request");
+        }
+    }
+
+    private boolean isLeaseExpired(IdempotencyRecord record) {
+        return record.getLockedUntil() == null || record.getLockedUntil().isBefore(LocalDateTime.now());
+    }
+
+    private void checkSameRequest(IdempotencyRecord record, String scope, String requestHash) {
+        if (!scope.equals(record.getScope())) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+        }
+        if (record.getRequestHash() != null && !record.getRequestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException("Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    private <T> T readResponse(IdempotencyRecord record, String scope, String requestHash, Class<T> responseType) {
+        checkSameRequest(record, scope, requestHash);
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException("Failed to read stored idempotent response");
+        }
+    }
+
+    private String writeResponse(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException("Failed to store idempotent response");
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("Interrupted while waiting for original request");
+        }
+    }
+}
@@ -1,62 +1,93 @@
 package sri.karthikeya.caterers.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.config.MetricsConfig;
 import sri.karthikeya.caterers.dto.request.MenuRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.MenuResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
+import sri.karthikeya.caterers.engine.catalog.CatalogPublisher;
+import sri.karthikeya.caterers.engine.s3.ImageUrlResolver;
 import sri.karthikeya.caterers.entity.Menu;
 import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.exception.custom.PreconditionFailedException;
 import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
 import sri.karthikeya.caterers.mapper.MenuMapper;
 import sri.karthikeya.caterers.repository.MenuRepository;
 import sri.karthikeya.caterers.service.MenuService;
+import sri.karthikeya.caterers.util.BatchLookup;
+import sri.karthikeya.caterers.util.IdGenerator;
 import sri.karthikeya.caterers.util.ValidationUtil;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Slf4j
 @Service
+@Timed("caterers.service")
 @RequiredArgsConstructor
 public class MenuServiceImpl implements MenuService {
     private final MenuRepository menuRepository;
     private final MenuMapper menuMapper;
+    private final CatalogPublisher catalogPublisher;
+    private final ImageUrlResolver imageUrlResolver;
 
     @Override
     public MenuResponse create(MenuRequest request) {
-        log.info("Creating menu with name: {}", request.getName());
+        log.debug("Creating menu with name: {}", request.getName());
         ValidationUtil.validateUUID(request.getImageId(), "imageId");
         
-        if (menuRepository.existsByImageId(request.getImageId())) {
-            throw new DuplicateResourceException("Menu with imageId " + request.getImageId() + " already exists");
-        }
-
         Menu menu = menuMapper.toEntity(request);
-        menu.setId(UUID.randomUUID().toString());
+        menu.setId(IdGenerator.newId());
         menu.setCreatedAt(LocalDateTime.now());
         menu.setUpdatedAt(LocalDateTime.now());
         
-        Menu saved = menuRepository.save(menu);
+        Menu saved;
+        try {
+            saved = menuRepository.insert(menu);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Menu with imageId " + request.getImageId() + " already exists");
+        }
         log.info("Menu created with id: {}", saved.getId());
+        catalogPublisher.requestPublish();
         return menuMapper.toResponse(saved);
     }
 
     @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
     public MenuResponse getById(String id) {
-        log.info("Fetching menu with id: {}", id);
+        log.debug("Fetching menu with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
         
         Menu menu = menuRepository.findById(id)
+                .or(() -> menuRepository.findByIdFromPrimary(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Menu not found with id: " + id));
         return menuMapper.toResponse(menu);
     }
 
     @Override
-    public PageResponse<MenuResponse> getAll(int page, int size, String sortBy, String sortDir) {
-        log.info("Fetching all menus - page: {}, size: {}", page, size);
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public BatchResponse<MenuResponse> getByIds(List<String> ids, boolean includeImageUrls) {
+        log.debug("Fetching menus by ids: {}", ids);
+        ValidationUtil.validateUUIDs(ids, "ids");
+
+        BatchResponse<MenuResponse> batch = BatchLookup.fetch(ids, menuRepository::findAllByIds,
+                menuRepository::findAllByIdsFromPrimary, Menu::getId, menuMapper::toResponse);
+        if (includeImageUrls) {
+            attachImageUrls(batch.getContent());
+        }
+        return batch;
+    }
+
+    @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public PageResponse<MenuResponse> getAll(int page, int size, String sortBy, String sortDir, boolean includeImageUrls) {
+        log.debug("Fetching all menus - page: {}, size: {}", page, size);
         ValidationUtil.validatePagination(page, size);
         
         List<Menu> menus = menuRepository.findAll(page, size, sortBy, sortDir);
@@ -66,6 +97,10 @@ public class MenuServiceImpl implements MenuService {
                 .map(menuMapper::toResponse)
                 .toList();
         
+        if (includeImageUrls) {
+            attachImageUrls(responses);
+        }
+
         return PageResponse.<MenuResponse>builder()
                 .content(responses)
                 .pageNumber(page)
@@ -77,36 +112,49 @@ public class MenuServiceImpl implements MenuService {
     }
 
     @Override
-    public MenuResponse update(String id, MenuRequest request) {
-        log.info("Updating menu with id: {}", id);
+    public MenuResponse update(String id, MenuRequest request, Long expectedVersion) {
+        log.debug("Updating menu with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
         ValidationUtil.validateUUID(request.getImageId(), "imageId");
-        
-        Menu menu = menuRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Menu not found with id: " + id));
-        
-        if (menuRepository.existsByImageIdAndIdNot(request.getImageId(), id)) {
+
+        Menu changes = menuMapper.toEntity(request);
+        changes.setUpdatedAt(LocalDateTime.now());
+
+        Menu updated;
+        try {
+            updated = menuRepository.update(id, expectedVersion, changes)
+                    .orElseThrow(() -> updateFailed(id, expectedVersion));
+        } catch (DuplicateKeyException e) {
             throw new DuplicateResourceException("Menu with imageId " + request.getImageId() + " already exists");
         }
-        
-        menuMapper.updateEntity(request, menu);
-        menu.setUpdatedAt(LocalDateTime.now());
-        
-        Menu updated = menuRepository.save(menu);
-        log.info("Menu updated with id: {}", updated.getId());
+        log.info("Menu updated with id: {} to version {}", updated.getId(), updated.getVersion());
+        catalogPublisher.requestPublish();
         return menuMapper.toResponse(updated);
     }
 
     @Override
     public void delete(String id) {
-        log.info("Deleting menu with id: {}", id);
+        log.debug("Deleting menu with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
-        
-        if (!menuRepository.findById(id).isPresent()) {
+
+        if (!menuRepository.deleteById(id)) {
             throw new ResourceNotFoundException("Menu not found with id: " + id);
         }
-        
-        menuRepository.deleteById(id);
         log.info("Menu deleted with id: {}", id);
+        catalogPublisher.requestPublish();
+    }
+
+    private RuntimeException updateFailed(String id, Long expectedVersion) {
+        if (menuRepository.existsById(id)) {
+            return new PreconditionFailedException("Menu " + id + " was modified concurrently; expected version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Menu not found with id: " + id);
+    }
+
+    private void attachImageUrls(List<MenuResponse> responses) {
+        Map<String, String> urls = imageUrlResolver.resolveGalleryIds(responses.stream()
+                .map(MenuResponse::getImageId)
+                .toList());
+        responses.forEach(response -> response.setImageUrl(urls.get(response.getImageId())));
     }
 }
@@ -0,0 +1,75 @@
+package sri.karthikeya.caterers.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.dto.response.QuoteDemandResponse;
+import sri.karthikeya.caterers.entity.QuoteDailyRollup;
+import sri.karthikeya.caterers.enums.ReviewEventType;
+import sri.karthikeya.caterers.repository.QuoteAnalyticsRepository;
+import sri.karthikeya.caterers.service.QuoteAnalyticsService;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+@Timed("caterers.service")
+@RequiredArgsConstructor
+public class QuoteAnalyticsServiceImpl implements QuoteAnalyticsService {
+    private final QuoteAnalyticsRepository quoteAnalyticsRepository;
+
+    @Override
+    public List<QuoteDemandResponse> getDailyDemand(LocalDate from, LocalDate to, ReviewEventType eventType) {
+        log.debug("Fetching daily quote demand from {} to {} for {}", from, to, eventType == null ? "all event types" : eventType);
+        ValidationUtil.validateDateRange(from, to);
+
+        List<QuoteDailyRollup> rollups = quoteAnalyticsRepository.findDailyRollups(from.toString(), to.toString(), eventType);
+        return aggregate(rollups, QuoteDailyRollup::getDay, day -> QuoteDemandResponse.builder()
+                .day(LocalDate.parse(day))
+                .eventType(eventType)
+                .build());
+    }
+
+    @Override
+    public List<QuoteDemandResponse> getDemandByEventType(LocalDate from, LocalDate to) {
+        log.debug("Fetching quote demand by event type from {} to {}", from, to);
+        ValidationUtil.validateDateRange(from, to);
+
+        List<QuoteDailyRollup> rollups = quoteAnalyticsRepository.findDailyRollups(from.toString(), to.toString(), null);
+        return aggregate(rollups, QuoteDailyRollup::getEventType, eventType -> QuoteDemandResponse.builder()
+                .eventType(eventType)
+                .build());
+    }
+
+    private <K extends Comparable<K>> List<QuoteDemandResponse> aggregate(List<QuoteDailyRollup> rollups,
+                                                                          Function<QuoteDailyRollup, K> key,
+                                                                          Function<K, QuoteDemandResponse> template) {
+        Map<K, long[]> totals = new TreeMap<>();
+        for (QuoteDailyRollup rollup : rollups) {
+            if (key.apply(rollup) == null) {
+                continue;
+            }
+            long[] sums = totals.computeIfAbsent(key.apply(rollup), k -> new long[3]);
+            sums[0] += rollup.getQuoteCount();
+            sums[1] += rollup.getTotalGuests();
+            sums[2] += rollup.getTotalLeadTimeDays();
+        }
+
+        List<QuoteDemandResponse> responses = new ArrayList<>(totals.size());
+        totals.forEach((k, sums) -> {
+            QuoteDemandResponse response = template.apply(k);
+            response.setQuoteCount(sums[0]);
+            response.setTotalGuests(sums[1]);
+            response.setAverageLeadTimeDays(sums[0] == 0 ? null : (double) sums[2] / sums[0]);
+            responses.add(response);
+        });
+        return responses;
+    }
+}
@@ -1,60 +1,125 @@
 package sri.karthikeya.caterers.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.config.MetricsConfig;
 import sri.karthikeya.caterers.dto.request.QuoteRequest;
+import sri.karthikeya.caterers.dto.response.AvailabilityResponse;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.dto.response.QuoteResponse;
+import sri.karthikeya.caterers.engine.availability.AvailabilityIndex;
+import sri.karthikeya.caterers.engine.consistency.RecentWrites;
+import sri.karthikeya.caterers.engine.journal.QuoteJournal;
+import sri.karthikeya.caterers.engine.outbox.QuoteOutbox;
 import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.exception.custom.PreconditionFailedException;
 import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
 import sri.karthikeya.caterers.mapper.QuoteMapper;
+import sri.karthikeya.caterers.repository.QuoteArchiveRepository;
 import sri.karthikeya.caterers.repository.QuoteRepository;
 import sri.karthikeya.caterers.service.QuoteService;
+import sri.karthikeya.caterers.util.BatchLookup;
+import sri.karthikeya.caterers.util.IdGenerator;
 import sri.karthikeya.caterers.util.ValidationUtil;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("caterers.service")
 @RequiredArgsConstructor
 public class QuoteServiceImpl implements QuoteService {
     private final QuoteRepository quoteRepository;
+    private final QuoteArchiveRepository quoteArchiveRepository;
     private final QuoteMapper quoteMapper;
+    private final QuoteJournal quoteJournal;
+    private final AvailabilityIndex availabilityIndex;
+    private final QuoteOutbox quoteOutbox;
+    private final RecentWrites recentWrites;
 
     @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
     public QuoteResponse create(QuoteRequest request) {
-        log.info("Creating quote for: {}", request.getFullName());
+        log.debug("Creating quote for: {}", request.getFullName());
         
         Quote quote = quoteMapper.toEntity(request);
-        quote.setId(UUID.randomUUID().toString());
+        quote.setId(IdGenerator.newId());
         quote.setCreatedAt(LocalDateTime.now());
         quote.setUpdatedAt(LocalDateTime.now());
+        quoteOutbox.attach(quote);
+
+        if (quoteJournal.isEnabled()) {
+            quote.setVersion(0L);
+            quoteJournal.append(quote);
+            recentWrites.record(quote.getId());
+            availabilityIndex.record(quote);
+            log.info("Quote journaled with id: {}", quote.getId());
+            return quoteMapper.toResponse(quote);
+        }
         
-        Quote saved = quoteRepository.save(quote);
+        Quote saved = quoteRepository.insert(quote);
+        recentWrites.record(saved.getId());
+        availabilityIndex.record(saved);
         log.info("Quote created with id: {}", saved.getId());
         return quoteMapper.toResponse(saved);
     }
 
     @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
     public QuoteResponse getById(String id) {
-        log.info("Fetching quote with id: {}", id);
+        log.debug("Fetching quote with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
         
-        Quote quote = quoteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Quote not found with id: " + id));
+        // A quote written through this node recently may still be stale or missing on a secondary
+        Optional<Quote> found = recentWrites.isRecent(id)
+                ? quoteRepository.findByIdFromPrimary(id)
+                        .or(() -> quoteJournal.findPending(id))
+                        .or(() -> quoteArchiveRepository.findByIdFromPrimary(id))
+                : quoteRepository.findById(id)
+                        .or(() -> quoteJournal.findPending(id))
+                        .or(() -> quoteRepository.findByIdFromPrimary(id))
+                        .or(() -> quoteArchiveRepository.findById(id))
+                        .or(() -> quoteArchiveRepository.findByIdFromPrimary(id));
+        Quote quote = found.orElseThrow(() -> new ResourceNotFoundException("Quote not found with id: " + id));
         return quoteMapper.toResponse(quote);
     }
 
     @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public BatchResponse<QuoteResponse> getByIds(List<String> ids) {
+        log.debug("Fetching quotes by ids: {}", ids);
+        ValidationUtil.validateUUIDs(ids, "ids");
+
+        return BatchLookup.fetch(ids, this::findRecentOnPrimary, this::findOutsideSecondary, Quote::getId,
+                quoteMapper::toResponse);
+    }
+
+    @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
     public PageResponse<QuoteResponse> getAll(int page, int size, String sortBy, String sortDir) {
-        log.info("Fetching all quotes - page: {}, size: {}", page, size);
+        log.debug("Fetching all quotes - page: {}, size: {}", page, size);
         ValidationUtil.validatePagination(page, size);
-        
-        List<Quote> quotes = quoteRepository.findAll(page, size, sortBy, sortDir);
-        long total = quoteRepository.count();
+
+        List<Quote> journaled = journaledOnly(quoteJournal.pendingQuotes());
+        List<Quote> quotes = journaled.isEmpty()
+                ? quoteRepository.findAll(page, size, sortBy, sortDir)
+                : mergePage(journaled, page, size, sortBy, sortDir);
+        long total = quoteRepository.count() + journaled.size();
         
         List<QuoteResponse> responses = quotes.stream()
                 .map(quoteMapper::toResponse)
@@ -71,31 +136,130 @@ public class QuoteServiceImpl implements QuoteService {
     }
 
     @Override
-    public QuoteResponse update(String id, QuoteRequest request) {
-        log.info("Updating quote with id: {}", id);
+    public AvailabilityResponse getAvailability(LocalDate from, LocalDate to, boolean includeDays) {
+        log.debug("Fetching availability from {} to {}", from, to);
+        ValidationUtil.validateDateRange(from, to);
+        return availabilityIndex.query(from, to, includeDays);
+    }
+
+    @Override
+    public QuoteResponse update(String id, QuoteRequest request, Long expectedVersion) {
+        log.debug("Updating quote with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
-        
-        Quote quote = quoteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Quote not found with id: " + id));
-        
-        quoteMapper.updateEntity(request, quote);
-        quote.setUpdatedAt(LocalDateTime.now());
-        
-        Quote updated = quoteRepository.save(quote);
-        log.info("Quote updated with id: {}", updated.getId());
+        quoteJournal.persistPending(id);
+
+        Quote changes = quoteMapper.toEntity(request);
+        changes.setUpdatedAt(LocalDateTime.now());
+
+        Quote updated = quoteRepository.update(id, expectedVersion, changes)
+                .orElseThrow(() -> updateFailed(id, expectedVersion));
+        quoteJournal.replacePending(updated);
+        recentWrites.record(id);
+        availabilityIndex.record(updated);
+        log.info("Quote updated with id: {} to version {}", updated.getId(), updated.getVersion());
         return quoteMapper.toResponse(updated);
     }
 
     @Override
     public void delete(String id) {
-        log.info("Deleting quote with id: {}", id);
+        log.debug("Deleting quote with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
-        
-        if (!quoteRepository.findById(id).isPresent()) {
+
+        // A journaled quote may also have been persisted early by an update, so MongoDB is cleaned up as well
+        boolean journaled = quoteJournal.remove(id);
+        if (!quoteRepository.deleteById(id) && !quoteArchiveRepository.deleteById(id) && !journaled) {
             throw new ResourceNotFoundException("Quote not found with id: " + id);
         }
-        
-        quoteRepository.deleteById(id);
+        recentWrites.record(id);
+        availabilityIndex.remove(id);
         log.info("Quote deleted with id: {}", id);
     }
+
+    /**
+     * Journaled quotes the secondary already returns are counted there, so only the rest are merged in.
+     */
+    private List<Quote> journaledOnly(List<Quote> pending) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        Set<String> stored = quoteRepository.findAllByIds(pending.stream().map(Quote::getId).toList()).stream()
+                .map(Quote::getId)
+                .collect(Collectors.toSet());
+        return pending.stream().filter(quote -> !stored.contains(quote.getId())).toList();
+    }
+
+    /**
+     * Places journaled quotes at their global rank among the stored ones, so the page has the same content
+     * it will have once the journal drains, then fills the rest of the page from MongoDB.
+     */
+    private List<Quote> mergePage(List<Quote> journaled, int page, int size, String sortBy, String sortDir) {
+        List<Quote> sorted = journaled.stream().sorted(quoteRepository.sortOrder(sortBy, sortDir)).toList();
+        long start = (long) page * size;
+        Map<Long, Quote> onPage = new HashMap<>();
+        long ahead = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            long rank = quoteRepository.countBefore(sorted.get(i), sortBy, sortDir) + i;
+            if (rank < start) {
+                ahead++;
+            } else if (rank < start + size) {
+                onPage.put(rank, sorted.get(i));
+            }
+        }
+
+        Iterator<Quote> stored = quoteRepository.findRange(start - ahead, size - onPage.size(), sortBy, sortDir).iterator();
+        List<Quote> quotes = new ArrayList<>(size);
+        for (long rank = start; rank < start + size; rank++) {
+            Quote quote = onPage.get(rank);
+            if (quote != null) {
+                quotes.add(quote);
+            } else if (stored.hasNext()) {
+                quotes.add(stored.next());
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Reads ids written through this node recently from the primary and the rest from a secondary.
+     */
+    private List<Quote> findRecentOnPrimary(Collection<String> ids) {
+        List<String> recent = recentWrites.recentOf(ids);
+        if (recent.isEmpty()) {
+            return quoteRepository.findAllByIds(ids);
+        }
+        Set<String> onPrimary = new HashSet<>(recent);
+        List<String> rest = ids.stream().filter(id -> !onPrimary.contains(id)).toList();
+        List<Quote> found = new ArrayList<>(quoteRepository.findAllByIdsFromPrimary(recent));
+        if (!rest.isEmpty()) {
+            found.addAll(quoteRepository.findAllByIds(rest));
+        }
+        return found;
+    }
+
+    /**
+     * Resolves ids a secondary read missed: quotes still in the write-behind journal, quotes the secondary
+     * has not replicated yet, and archived quotes.
+     */
+    private List<Quote> findOutsideSecondary(Collection<String> ids) {
+        List<Quote> found = new ArrayList<>();
+        List<String> remaining = new ArrayList<>();
+        for (String id : ids) {
+            quoteJournal.findPending(id).ifPresentOrElse(found::add, () -> remaining.add(id));
+        }
+        if (!remaining.isEmpty()) {
+            found.addAll(quoteRepository.findAllByIdsFromPrimary(remaining));
+            found.addAll(quoteArchiveRepository.findAllByIdsFromPrimary(remaining));
+        }
+        return found;
+    }
+
+    private RuntimeException updateFailed(String id, Long expectedVersion) {
+        if (quoteRepository.existsById(id)) {
+            return new PreconditionFailedException("Quote " + id + " was modified concurrently; expected version " + expectedVersion);
+        }
+        if (quoteArchiveRepository.existsById(id)) {
+            return new DuplicateResourceException("Quote " + id + " has been archived and can no longer be updated");
+        }
+        return new ResourceNotFoundException("Quote not found with id: " + id);
+    }
 }
@@ -1,62 +1,114 @@
 package sri.karthikeya.caterers.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import sri.karthikeya.caterers.config.MetricsConfig;
 import sri.karthikeya.caterers.dto.request.ReviewRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
 import sri.karthikeya.caterers.dto.response.PageResponse;
 import sri.karthikeya.caterers.dto.response.ReviewResponse;
+import sri.karthikeya.caterers.engine.catalog.CatalogPublisher;
+import sri.karthikeya.caterers.engine.featured.FeaturedReviewIndex;
+import sri.karthikeya.caterers.engine.s3.ImageUrlResolver;
 import sri.karthikeya.caterers.entity.Review;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
 import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.exception.custom.PreconditionFailedException;
 import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
 import sri.karthikeya.caterers.mapper.ReviewMapper;
 import sri.karthikeya.caterers.repository.ReviewRepository;
 import sri.karthikeya.caterers.service.ReviewService;
+import sri.karthikeya.caterers.util.BatchLookup;
+import sri.karthikeya.caterers.util.IdGenerator;
 import sri.karthikeya.caterers.util.ValidationUtil;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Slf4j
 @Service
+@Timed("caterers.service")
 @RequiredArgsConstructor
 public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final ReviewMapper reviewMapper;
+    private final CatalogPublisher catalogPublisher;
+    private final ImageUrlResolver imageUrlResolver;
+    private final FeaturedReviewIndex featuredReviewIndex;
 
     @Override
     public ReviewResponse create(ReviewRequest request) {
-        log.info("Creating review for event type: {}", request.getType());
+        log.debug("Creating review for event type: {}", request.getType());
         ValidationUtil.validateUUID(request.getImageId(), "imageId");
         
-        if (reviewRepository.existsByImageId(request.getImageId())) {
-            throw new DuplicateResourceException("Review with imageId " + request.getImageId() + " already exists");
-        }
-
         Review review = reviewMapper.toEntity(request);
-        review.setId(UUID.randomUUID().toString());
+        review.setId(IdGenerator.newId());
         review.setCreatedAt(LocalDateTime.now());
         review.setUpdatedAt(LocalDateTime.now());
         
-        Review saved = reviewRepository.save(review);
+        Review saved;
+        try {
+            saved = reviewRepository.insert(review);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Review with imageId " + request.getImageId() + " already exists");
+        }
         log.info("Review created with id: {}", saved.getId());
+        featuredReviewIndex.record(saved);
+        catalogPublisher.requestPublish();
         return reviewMapper.toResponse(saved);
     }
 
     @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
     public ReviewResponse getById(String id) {
-        log.info("Fetching review with id: {}", id);
+        log.debug("Fetching review with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
         
         Review review = reviewRepository.findById(id)
+                .or(() -> reviewRepository.findByIdFromPrimary(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
         return reviewMapper.toResponse(review);
     }
 
     @Override
-    public PageResponse<ReviewResponse> getAll(int page, int size, String sortBy, String sortDir) {
-        log.info("Fetching all reviews - page: {}, size: {}", page, size);
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public BatchResponse<ReviewResponse> getByIds(List<String> ids, boolean includeImageUrls) {
+        log.debug("Fetching reviews by ids: {}", ids);
+        ValidationUtil.validateUUIDs(ids, "ids");
+
+        BatchResponse<ReviewResponse> batch = BatchLookup.fetch(ids, reviewRepository::findAllByIds,
+                reviewRepository::findAllByIdsFromPrimary, Review::getId, reviewMapper::toResponse);
+        if (includeImageUrls) {
+            attachImageUrls(batch.getContent());
+        }
+        return batch;
+    }
+
+    @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public List<ReviewResponse> getFeatured(int limit, boolean includeImageUrls) {
+        log.debug("Fetching {} featured reviews", limit);
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+
+        List<ReviewResponse> responses = featuredReviewIndex.top(limit).stream()
+                .map(reviewMapper::toResponse)
+                .toList();
+        if (includeImageUrls) {
+            attachImageUrls(responses);
+        }
+        return responses;
+    }
+
+    @Override
+    @Timed(value = MetricsConfig.HOT_PATH_TIMER, histogram = true)
+    public PageResponse<ReviewResponse> getAll(int page, int size, String sortBy, String sortDir, boolean includeImageUrls) {
+        log.debug("Fetching all reviews - page: {}, size: {}", page, size);
         ValidationUtil.validatePagination(page, size);
         
         List<Review> reviews = reviewRepository.findAll(page, size, sortBy, sortDir);
@@ -66,6 +118,10 @@ public class ReviewServiceImpl implements ReviewService {
                 .map(reviewMapper::toResponse)
                 .toList();
         
+        if (includeImageUrls) {
+            attachImageUrls(responses);
+        }
+
         return PageResponse.<ReviewResponse>builder()
                 .content(responses)
                 .pageNumber(page)
@@ -77,36 +133,51 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
-    public ReviewResponse update(String id, ReviewRequest request) {
-        log.info("Updating review with id: {}", id);
+    public ReviewResponse update(String id, ReviewRequest request, Long expectedVersion) {
+        log.debug("Updating review with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
         ValidationUtil.validateUUID(request.getImageId(), "imageId");
-        
-        Review review = reviewRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
-        
-        if (reviewRepository.existsByImageIdAndIdNot(request.getImageId(), id)) {
+
+        Review changes = reviewMapper.toEntity(request);
+        changes.setUpdatedAt(LocalDateTime.now());
+
+        Review updated;
+        try {
+            updated = reviewRepository.update(id, expectedVersion, changes)
+                    .orElseThrow(() -> updateFailed(id, expectedVersion));
+        } catch (DuplicateKeyException e) {
             throw new DuplicateResourceException("Review with imageId " + request.getImageId() + " already exists");
         }
-        
-        reviewMapper.updateEntity(request, review);
-        review.setUpdatedAt(LocalDateTime.now());
-        
-        Review updated = reviewRepository.save(review);
-        log.info("Review updated with id: {}", updated.getId());
+        log.info("Review updated with id: {} to version {}", updated.getId(), updated.getVersion());
+        featuredReviewIndex.record(updated);
+        catalogPublisher.requestPublish();
         return reviewMapper.toResponse(updated);
     }
 
     @Override
     public void delete(String id) {
-        log.info("Deleting review with id: {}", id);
+        log.debug("Deleting review with id: {}", id);
         ValidationUtil.validateUUID(id, "id");
-        
-        if (!reviewRepository.findById(id).isPresent()) {
+
+        if (!reviewRepository.deleteById(id)) {
             throw new ResourceNotFoundException("Review not found with id: " + id);
         }
-        
-        reviewRepository.deleteById(id);
         log.info("Review deleted with id: {}", id);
+        featuredReviewIndex.remove(id);
+        catalogPublisher.requestPublish();
+    }
+
+    private RuntimeException updateFailed(String id, Long expectedVersion) {
+        if (reviewRepository.existsById(id)) {
+            return new PreconditionFailedException("Review " + id + " was modified concurrently; expected version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Review not found with id: " + id);
+    }
+
+    private void attachImageUrls(List<ReviewResponse> responses) {
+        Map<String, String> urls = imageUrlResolver.resolveGalleryIds(responses.stream()
+                .map(ReviewResponse::getImageId)
+                .toList());
+        responses.forEach(response -> response.setImageUrl(urls.get(response.getImageId())));
     }
 }
@@ -0,0 +1,280 @@
+package sri.karthikeya.caterers.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import sri.karthikeya.caterers.dto.request.GalleryStreamRequest;
+import sri.karthikeya.caterers.dto.request.UploadSessionRequest;
+import sri.karthikeya.caterers.dto.response.ChunkedUploadResponse;
+import sri.karthikeya.caterers.dto.response.GalleryResponse;
+import sri.karthikeya.caterers.dto.response.UploadSessionResponse;
+import sri.karthikeya.caterers.engine.s3.ImageStream;
+import sri.karthikeya.caterers.engine.s3.PresignedUpload;
+import sri.karthikeya.caterers.engine.s3.S3PathConstants;
+import sri.karthikeya.caterers.engine.s3.S3Service;
+import sri.karthikeya.caterers.engine.s3.StoredObject;
+import sri.karthikeya.caterers.engine.s3.UploadValidator;
+import sri.karthikeya.caterers.entity.UploadPart;
+import sri.karthikeya.caterers.entity.UploadSession;
+import sri.karthikeya.caterers.enums.UploadStatus;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
+import sri.karthikeya.caterers.repository.UploadSessionRepository;
+import sri.karthikeya.caterers.service.GalleryService;
+import sri.karthikeya.caterers.service.UploadSessionService;
+import sri.karthikeya.caterers.util.IdGenerator;
+import sri.karthikeya.caterers.util.ValidationUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@Timed("caterers.service")
+public class UploadSessionServiceImpl implements UploadSessionService {
+    private final UploadSessionRepository uploadSessionRepository;
+    private final GalleryService galleryService;
+    private final S3Service s3Service;
+    private final int urlExpirationMinutes;
+    private final Duration completionWindow;
+    private final Duration resumableWindow;
+    private final long chunkSize;
+
+    public UploadSessionServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                    GalleryService galleryService,
+                                    S3Service s3Service,
+                                    @Value("${caterers.uploads.url-expiration-minutes:15}") int urlExpirationMinutes,
+                                    @Value("${caterers.uploads.completion-window:1h}") Duration completionWindow,
+                                    @Value("${caterers.uploads.resumable-window:24h}") Duration resumableWindow,
+                                    @Value("${caterers.uploads.chunk-size:5MB}") DataSize chunkSize) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.galleryService = galleryService;
+        this.s3Service = s3Service;
+        this.urlExpirationMinutes = urlExpirationMinutes;
+        this.completionWindow = completionWindow;
+        this.resumableWindow = resumableWindow;
+        this.chunkSize = Math.max(chunkSize.toBytes(), s3Service.minimumPartSize());
+    }
+
+    @Override
+    public UploadSessionResponse create(UploadSessionRequest request) {
+        log.debug("Creating upload session for gallery item: {}", request.getName());
+        UploadSession session = newSession(request,
+                LocalDateTime.now().plusMinutes(urlExpirationMinutes).plus(completionWindow));
+
+        PresignedUpload upload = s3Service.presignUpload(session.getObjectKey(), session.getContentType(),
+                request.getSize(), urlExpirationMinutes);
+        uploadSessionRepository.insert(session);
+        log.info("Upload session created with id: {}", session.getId());
+
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .objectKey(session.getObjectKey())
+                .uploadUrl(upload.url())
+                .method(upload.method())
+                .headers(upload.headers())
+                .uploadExpiresAt(LocalDateTime.ofInstant(upload.expiresAt(), ZoneId.systemDefault()))
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    @Override
+    public ChunkedUploadResponse createChunked(UploadSessionRequest request) {
+        log.debug("Creating resumable upload session for gallery item: {}", request.getName());
+        UploadSession session = newSession(request, LocalDateTime.now().plus(resumableWindow));
+        session.setChunkSize(chunkSize);
+        session.setParts(new HashMap<>());
+        session.setMultipartUploadId(s3Service.createMultipartUpload(session.getObjectKey(), session.getContentType()));
+
+        try {
+            uploadSessionRepository.insert(session);
+        } catch (RuntimeException e) {
+            s3Service.abortMultipartUpload(session.getObjectKey(), session.getMultipartUploadId());
+            throw e;
+        }
+        log.info("Resumable upload session created with id: {}", session.getId());
+        return toChunkedResponse(session);
+    }
+
+    @Override
+    public ChunkedUploadResponse uploadChunk(String id, int chunkNumber, long contentLength, InputStream content) {
+        log.debug("Receiving chunk {} of upload session {}", chunkNumber, id);
+        UploadSession session = findResumable(id);
+        if (session.getStatus() != UploadStatus.PENDING) {
+            throw new BadRequestException("Upload session is already completed: " + id);
+        }
+
+        int totalChunks = totalChunks(session);
+        if (chunkNumber < 1 || chunkNumber > totalChunks) {
+            throw new BadRequestException("Chunk number must be between 1 and " + totalChunks);
+        }
+        long expectedLength = chunkLength(session, chunkNumber);
+        if (contentLength != expectedLength) {
+            throw new BadRequestException("Chunk " + chunkNumber + " must be exactly " + expectedLength + " bytes");
+        }
+
+        InputStream body = chunkNumber == 1 ? inspectFirstChunk(session, content) : content;
+        String etag = s3Service.uploadPart(session.getObjectKey(), session.getMultipartUploadId(), chunkNumber,
+                body, expectedLength);
+        UploadSession updated = uploadSessionRepository.recordPart(id, chunkNumber, new UploadPart(etag, expectedLength))
+                .orElseThrow(() -> new BadRequestException("Upload session is no longer accepting chunks: " + id));
+        return toChunkedResponse(updated);
+    }
+
+    @Override
+    public ChunkedUploadResponse getProgress(String id) {
+        log.debug("Fetching progress of upload session {}", id);
+        return toChunkedResponse(findResumable(id));
+    }
+
+    @Override
+    public GalleryResponse complete(String id) {
+        log.debug("Completing upload session with id: {}", id);
+        UploadSession session = find(id);
+        if (session.getStatus() == UploadStatus.COMPLETED) {
+            return galleryService.getById(id);
+        }
+
+        if (session.getMultipartUploadId() != null && s3Service.headObject(session.getObjectKey()).isEmpty()) {
+            List<Integer> missing = missingChunks(session);
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("Upload is missing chunks: " + missing);
+            }
+            SortedMap<Integer, String> partETags = new TreeMap<>();
+            session.getParts().forEach((number, part) -> partETags.put(Integer.parseInt(number), part.getEtag()));
+            s3Service.completeMultipartUpload(session.getObjectKey(), session.getMultipartUploadId(), partETags);
+        }
+
+        StoredObject object = s3Service.headObject(session.getObjectKey())
+                .orElseThrow(() -> new BadRequestException("No object has been uploaded for session " + id));
+        if (object.size() != session.getSize() || !session.getContentType().equalsIgnoreCase(object.contentType())) {
+            s3Service.deleteFile(session.getObjectKey());
+            throw new BadRequestException("Uploaded object does not match the declared size and content type");
+        }
+
+        if (!uploadSessionRepository.markCompleting(id)) {
+            throw new BadRequestException("Upload session is no longer pending: " + id);
+        }
+        GalleryResponse response;
+        try {
+            response = galleryService.createFromUpload(id, new GalleryStreamRequest(session.getType(),
+                    session.getName(), session.getDescription()), session.getObjectKey());
+        } catch (DuplicateResourceException e) {
+            response = galleryService.getById(id);
+        }
+        uploadSessionRepository.markCompleted(id);
+        log.info("Upload session completed with id: {}", id);
+        return response;
+    }
+
+    private UploadSession newSession(UploadSessionRequest request, LocalDateTime expiresAt) {
+        String extension = UploadValidator.extensionForContentType(request.getContentType());
+        LocalDateTime now = LocalDateTime.now();
+
+        UploadSession session = new UploadSession();
+        session.setId(IdGenerator.newId());
+        session.setObjectKey(UploadValidator.generateKey(S3PathConstants.getPathByType(request.getType()), extension));
+        session.setType(request.getType());
+        session.setName(request.getName());
+        session.setDescription(request.getDescription());
+        session.setContentType(request.getContentType().toLowerCase());
+        session.setSize(request.getSize());
+        session.setStatus(UploadStatus.PENDING);
+        session.setCreatedAt(now);
+        session.setExpiresAt(expiresAt);
+        return session;
+    }
+
+    private UploadSession find(String id) {
+        ValidationUtil.validateUUID(id, "id");
+        UploadSession session = uploadSessionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + id));
+        if (session.getStatus() == UploadStatus.PENDING && session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Upload session has expired: " + id);
+        }
+        return session;
+    }
+
+    private UploadSession findResumable(String id) {
+        UploadSession session = find(id);
+        if (session.getMultipartUploadId() == null) {
+            throw new BadRequestException("Upload session is not resumable: " + id);
+        }
+        return session;
+    }
+
+    private InputStream inspectFirstChunk(UploadSession session, InputStream content) {
+        try {
+            ImageStream image = UploadValidator.inspect(content);
+            if (!image.contentType().equals(session.getContentType())) {
+                throw new BadRequestException("Chunk content is " + image.contentType()
+                        + " but the session declared " + session.getContentType());
+            }
+            return image.content();
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read chunk");
+        }
+    }
+
+    private int totalChunks(UploadSession session) {
+        return (int) ((session.getSize() + session.getChunkSize() - 1) / session.getChunkSize());
+    }
+
+    private long chunkLength(UploadSession session, int chunkNumber) {
+        long start = (chunkNumber - 1) * session.getChunkSize();
+        return Math.min(session.getChunkSize(), session.getSize() - start);
+    }
+
+    private List<Integer> missingChunks(UploadSession session) {
+        Map<String, UploadPart> parts = session.getParts() == null ? Map.of() : session.getParts();
+        List<Integer> missing = new ArrayList<>();
+        for (int number = 1; number <= totalChunks(session); number++) {
+            if (!parts.containsKey(Integer.toString(number))) {
+                missing.add(number);
+            }
+        }
+        return missing;
+    }
+
+    private ChunkedUploadResponse toChunkedResponse(UploadSession session) {
+        Map<String, UploadPart> parts = session.getParts() == null ? Map.of() : session.getParts();
+        int totalChunks = totalChunks(session);
+        List<Integer> received = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        long offset = 0;
+        for (int number = 1; number <= totalChunks; number++) {
+            if (parts.containsKey(Integer.toString(number))) {
+                received.add(number);
+                if (missing.isEmpty()) {
+                    offset += chunkLength(session, number);
+                }
+            } else {
+                missing.add(number);
+            }
+        }
+
+        return ChunkedUploadResponse.builder()
+                .id(session.getId())
+                .objectKey(session.getObjectKey())
+                .size(session.getSize())
+                .chunkSize(session.getChunkSize())
+                .totalChunks(totalChunks)
+                .offset(offset)
+                .receivedChunks(received)
+                .missingChunks(missing)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
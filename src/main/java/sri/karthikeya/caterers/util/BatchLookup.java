@@ -0,0 +1,54 @@
+package sri.karthikeya.caterers.util;
+
+import sri.karthikeya.caterers.dto.response.BatchResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public final class BatchLookup {
+
+    private BatchLookup() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Fetches ids in request order without duplicates. Ids the lookup misses, for example because a secondary
+     * has not replicated them yet, are retried once with the fallback before they are reported as missing.
+     */
+    public static <E, R> BatchResponse<R> fetch(List<String> ids,
+                                                Function<Collection<String>, List<E>> lookup,
+                                                Function<Collection<String>, List<E>> fallback,
+                                                Function<E, String> idOf,
+                                                Function<E, R> toResponse) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Map<String, E> found = new HashMap<>();
+        lookup.apply(uniqueIds).forEach(entity -> found.put(idOf.apply(entity), entity));
+
+        List<String> notFound = uniqueIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!notFound.isEmpty()) {
+            fallback.apply(notFound).forEach(entity -> found.put(idOf.apply(entity), entity));
+        }
+
+        List<R> responses = new ArrayList<>(uniqueIds.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : uniqueIds) {
+            E entity = found.get(id);
+            if (entity == null) {
+                missingIds.add(id);
+            } else {
+                responses.add(toResponse.apply(entity));
+            }
+        }
+
+        return BatchResponse.<R>builder()
+                .content(responses)
+                .missingIds(missingIds)
+                .build();
+    }
+}
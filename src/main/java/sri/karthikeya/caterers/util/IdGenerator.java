@@ -0,0 +1,33 @@
+package sri.karthikeya.caterers.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class IdGenerator {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private IdGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static String newId() {
+        return newUuid().toString();
+    }
+
+    public static UUID newUuid() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long next = LAST.updateAndGet(last -> Math.max(last + 1, now));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+
+        long mostSignificant = (millis << 16) | VERSION_7 | sequence;
+        long leastSignificant = (RANDOM.nextLong() & VARIANT_MASK) | VARIANT_RFC_4122;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -0,0 +1,78 @@
+package sri.karthikeya.caterers.util;
+
+import org.springframework.web.multipart.MultipartFile;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+public final class RequestFingerprint {
+    private static final int SHA_256_LENGTH = 32;
+
+    private RequestFingerprint() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static String of(Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            byte[] bytes = part instanceof byte[] raw ? raw : String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static byte[] digest(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return new byte[0];
+        }
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read uploaded file");
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Returns the SHA-256 value of an RFC 9530 {@code Content-Digest} header such as {@code sha-256=:<base64>:}.
+     */
+    public static byte[] contentDigest(String header) {
+        for (String member : header.split(",")) {
+            String[] entry = member.trim().split("=", 2);
+            if (entry.length == 2 && entry[0].trim().equalsIgnoreCase("sha-256")) {
+                String value = entry[1].trim();
+                if (value.length() < 2 || value.charAt(0) != ':' || value.charAt(value.length() - 1) != ':') {
+                    break;
+                }
+                try {
+                    byte[] digest = Base64.getDecoder().decode(value.substring(1, value.length() - 1));
+                    if (digest.length == SHA_256_LENGTH) {
+                        return digest;
+                    }
+                } catch (IllegalArgumentException e) {
+                    break;
+                }
+            }
+        }
+        throw new BadRequestException("Content-Digest must contain a sha-256 value");
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
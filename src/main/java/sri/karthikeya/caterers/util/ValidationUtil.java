@@ -1,12 +1,18 @@
 package sri.karthikeya.caterers.util;
 
 import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.PreconditionRequiredException;
 import sri.karthikeya.caterers.exception.custom.ValidationException;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 public class ValidationUtil {
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final long MAX_RANGE_DAYS = 366;
 
     public static void validateUUID(String uuid, String fieldName) {
         if (uuid == null || uuid.isBlank()) {
@@ -19,6 +25,53 @@ public class ValidationUtil {
         }
     }
 
+    public static void validateUUIDs(List<String> uuids, String fieldName) {
+        if (uuids == null || uuids.isEmpty()) {
+            throw new ValidationException(fieldName + " cannot be null or empty");
+        }
+        if (uuids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Cannot fetch more than " + MAX_BATCH_SIZE + " " + fieldName + " at once");
+        }
+        for (String uuid : uuids) {
+            validateUUID(uuid, fieldName);
+        }
+    }
+
+    public static void validateDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new ValidationException("from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("to date cannot be before from date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    /**
+     * Returns the version in an If-Match header, or null when the header is absent and not required,
+     * in which case the update is applied unconditionally.
+     */
+    public static Long parseVersion(String ifMatch, boolean required) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            if (!required) {
+                return null;
+            }
+            throw new PreconditionRequiredException("If-Match with the current resource version is required");
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("If-Match must be the resource version");
+        }
+    }
+
     public static void validatePagination(int page, int size) {
         if (page < 0) {
             throw new BadRequestException("Page number cannot be negative");
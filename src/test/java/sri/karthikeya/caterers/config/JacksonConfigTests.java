@@ -0,0 +1,48 @@
+package sri.karthikeya.caterers.config;
+
+import org.junit.jupiter.api.Test;
+import sri.karthikeya.caterers.dto.response.ApiResponse;
+import sri.karthikeya.caterers.dto.response.MenuResponse;
+import sri.karthikeya.caterers.dto.response.PageResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JacksonConfigTests {
+
+    @Test
+    void optimizedModeRegistersBlackbirdOnTheJsonMapper() {
+        JsonMapper optimized = JacksonConfig.customizeJsonMapper(JsonMapper.builder(), true).build();
+        JsonMapper plain = JacksonConfig.customizeJsonMapper(JsonMapper.builder(), false).build();
+
+        assertThat(optimized.registeredModules()).anyMatch(module -> module.getModuleName().equals("BlackbirdModule"));
+        assertThat(plain.registeredModules()).noneMatch(module -> module.getModuleName().equals("BlackbirdModule"));
+    }
+
+    @Test
+    void optimizedModeWritesTheSameBytes() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 19, 9, 30);
+        MenuResponse menu = new MenuResponse("m1", "i1", null, "Veg thali", 450.0, "Lunch",
+                List.of("Rice", "Dal"), createdAt, createdAt, 0L);
+        PageResponse<MenuResponse> page = PageResponse.<MenuResponse>builder()
+                .content(List.of(menu))
+                .pageNumber(0)
+                .pageSize(10)
+                .totalElements(1)
+                .totalPages(1)
+                .last(true)
+                .build();
+        ApiResponse<PageResponse<MenuResponse>> response = ApiResponse.<PageResponse<MenuResponse>>builder()
+                .success(true)
+                .data(page)
+                .build();
+
+        byte[] plain = JacksonConfig.customizeJsonMapper(JsonMapper.builder(), false).build().writeValueAsBytes(response);
+        byte[] optimized = JacksonConfig.customizeJsonMapper(JsonMapper.builder(), true).build().writeValueAsBytes(response);
+
+        assertThat(optimized).isEqualTo(plain);
+    }
+}
@@ -0,0 +1,98 @@
+package sri.karthikeya.caterers.engine.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import sri.karthikeya.caterers.repository.QuoteAnalyticsRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteRollupJobTests {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+    private static final List<String> DAYS = List.of("2026-10-18");
+
+    private QuoteAnalyticsRepository quoteAnalyticsRepository;
+    private QuoteRollupJob job;
+
+    @BeforeEach
+    void setUp() {
+        quoteAnalyticsRepository = mock(QuoteAnalyticsRepository.class);
+        when(quoteAnalyticsRepository.tryAcquireLease(eq(QuoteRollupJob.WATERMARK), anyString(), any(), any())).thenReturn(true);
+        when(quoteAnalyticsRepository.saveWatermark(eq(QuoteRollupJob.WATERMARK), anyString(), any())).thenReturn(true);
+        when(quoteAnalyticsRepository.findWatermark(QuoteRollupJob.WATERMARK))
+                .thenReturn(Optional.of(LocalDateTime.now().minusHours(1)));
+        when(quoteAnalyticsRepository.findTouchedDays(any(), any(), eq(ZONE))).thenReturn(DAYS);
+        when(quoteAnalyticsRepository.mergeDailyRollups(any(), eq(ZONE))).thenReturn(new Date());
+        job = new QuoteRollupJob(quoteAnalyticsRepository);
+        ReflectionTestUtils.setField(job, "lag", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(job, "lease", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(job, "zone", ZONE);
+    }
+
+    @Test
+    void refreshRunsUnderOneOwnerAndReleasesTheLease() {
+        job.run();
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        InOrder order = inOrder(quoteAnalyticsRepository);
+        order.verify(quoteAnalyticsRepository).tryAcquireLease(eq(QuoteRollupJob.WATERMARK), owner.capture(), any(), any());
+        order.verify(quoteAnalyticsRepository).mergeDailyRollups(DAYS, ZONE);
+        order.verify(quoteAnalyticsRepository).removeStaleRollups(eq(DAYS), any());
+        order.verify(quoteAnalyticsRepository).saveWatermark(eq(QuoteRollupJob.WATERMARK), eq(owner.getValue()), any());
+        order.verify(quoteAnalyticsRepository).releaseLease(QuoteRollupJob.WATERMARK, owner.getValue());
+    }
+
+    @Test
+    void nothingRunsWhileAnotherNodeHoldsTheLease() {
+        when(quoteAnalyticsRepository.tryAcquireLease(eq(QuoteRollupJob.WATERMARK), anyString(), any(), any())).thenReturn(false);
+
+        job.run();
+        job.rebuild();
+
+        verify(quoteAnalyticsRepository, never()).mergeDailyRollups(any(), any());
+        verify(quoteAnalyticsRepository, never()).removeStaleRollups(any(), any());
+        verify(quoteAnalyticsRepository, never()).releaseLease(anyString(), anyString());
+    }
+
+    @Test
+    void runThatLosesItsLeaseNeitherPrunesNorMovesTheWatermark() {
+        when(quoteAnalyticsRepository.tryAcquireLease(eq(QuoteRollupJob.WATERMARK), anyString(), any(), any()))
+                .thenReturn(true, false);
+
+        job.run();
+
+        verify(quoteAnalyticsRepository).mergeDailyRollups(DAYS, ZONE);
+        verify(quoteAnalyticsRepository, never()).removeStaleRollups(anyList(), any());
+        verify(quoteAnalyticsRepository, never()).saveWatermark(anyString(), anyString(), any());
+    }
+
+    @Test
+    void firstRunRebuildsEveryDayBeforeSettingTheWatermark() {
+        when(quoteAnalyticsRepository.findWatermark(QuoteRollupJob.WATERMARK)).thenReturn(Optional.empty());
+
+        job.run();
+
+        InOrder order = inOrder(quoteAnalyticsRepository);
+        order.verify(quoteAnalyticsRepository).mergeDailyRollups(null, ZONE);
+        order.verify(quoteAnalyticsRepository).removeStaleRollups(eq(null), any());
+        order.verify(quoteAnalyticsRepository).saveWatermark(eq(QuoteRollupJob.WATERMARK), anyString(), any());
+        verify(quoteAnalyticsRepository, never()).findTouchedDays(any(), any(), any());
+    }
+}
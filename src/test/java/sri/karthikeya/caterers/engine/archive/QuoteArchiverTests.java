@@ -0,0 +1,95 @@
+package sri.karthikeya.caterers.engine.archive;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import sri.karthikeya.caterers.repository.QuoteArchiveRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteArchiverTests {
+    private QuoteRepository quoteRepository;
+    private QuoteArchiveRepository quoteArchiveRepository;
+    private QuoteArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        quoteRepository = mock(QuoteRepository.class);
+        quoteArchiveRepository = mock(QuoteArchiveRepository.class);
+        when(quoteArchiveRepository.replaceAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(quoteRepository.deleteUnchanged(anyList()))
+                .thenAnswer(invocation -> (long) invocation.<List<Document>>getArgument(0).size());
+        archiver = new QuoteArchiver(quoteRepository, quoteArchiveRepository);
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "afterMonths", 12);
+        ReflectionTestUtils.setField(archiver, "batchSize", 2);
+        ReflectionTestUtils.setField(archiver, "maxBatchesPerRun", 10);
+    }
+
+    @Test
+    void copiesEachBatchBeforeDeletingItUntilNoneAreLeft() {
+        List<Document> first = List.of(quote("a"), quote("b"));
+        List<Document> second = List.of(quote("c"));
+        when(quoteRepository.findRawWithEventDateBefore(LocalDate.now().minusMonths(12), 2)).thenReturn(first, second);
+
+        long archived = archiver.archive();
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(first).allSatisfy(document -> assertThat(document.get("archivedAt")).isNotNull());
+        InOrder order = inOrder(quoteArchiveRepository, quoteRepository);
+        order.verify(quoteArchiveRepository).replaceAll(first);
+        order.verify(quoteRepository).deleteUnchanged(first);
+        order.verify(quoteArchiveRepository).replaceAll(second);
+        order.verify(quoteRepository).deleteUnchanged(second);
+    }
+
+    @Test
+    void quotesThatFailedToCopyStayLiveAndTheRunStops() {
+        Document copied = quote("a");
+        when(quoteRepository.findRawWithEventDateBefore(any(), anyInt())).thenReturn(List.of(copied, quote("b")));
+        when(quoteArchiveRepository.replaceAll(anyList())).thenReturn(List.of(copied));
+
+        archiver.archive();
+
+        verify(quoteRepository).deleteUnchanged(List.of(copied));
+        verify(quoteRepository, times(1)).findRawWithEventDateBefore(any(), anyInt());
+    }
+
+    @Test
+    void runIsBoundedByTheBatchLimit() {
+        ReflectionTestUtils.setField(archiver, "maxBatchesPerRun", 3);
+        when(quoteRepository.findRawWithEventDateBefore(any(), anyInt()))
+                .thenAnswer(invocation -> List.of(quote("a"), quote("b")));
+
+        assertThat(archiver.archive()).isEqualTo(6);
+        verify(quoteRepository, times(3)).findRawWithEventDateBefore(any(), anyInt());
+    }
+
+    @Test
+    void disabledArchiverDoesNothing() {
+        ReflectionTestUtils.setField(archiver, "enabled", false);
+
+        archiver.archiveQuietly();
+
+        verify(quoteRepository, never()).findRawWithEventDateBefore(any(), anyInt());
+    }
+
+    private static Document quote(String id) {
+        return new Document("_id", id).append("version", 0L);
+    }
+}
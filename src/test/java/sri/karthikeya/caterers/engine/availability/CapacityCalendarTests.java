@@ -0,0 +1,117 @@
+package sri.karthikeya.caterers.engine.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CapacityCalendarTests {
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void sumsRangesAndDays() {
+        CapacityCalendar calendar = new CapacityCalendar(START, 30);
+        calendar.upsert("a", START, 100);
+        calendar.upsert("b", START.plusDays(3), 50);
+        calendar.upsert("c", START.plusDays(3), 25);
+        calendar.upsert("d", START.plusDays(29), 10);
+
+        assertThat(calendar.guestsBetween(START, START.plusDays(29))).isEqualTo(185);
+        assertThat(calendar.quotesBetween(START, START.plusDays(29))).isEqualTo(4);
+        assertThat(calendar.guestsBetween(START.plusDays(1), START.plusDays(3))).isEqualTo(75);
+        assertThat(calendar.guestsOn(START.plusDays(3))).isEqualTo(75);
+        assertThat(calendar.quotesOn(START.plusDays(3))).isEqualTo(2);
+        assertThat(calendar.guestsOn(START.plusDays(4))).isZero();
+    }
+
+    @Test
+    void upsertMovesAnExistingBooking() {
+        CapacityCalendar calendar = new CapacityCalendar(START, 10);
+        calendar.upsert("a", START.plusDays(2), 40);
+        calendar.upsert("a", START.plusDays(5), 60);
+
+        assertThat(calendar.size()).isEqualTo(1);
+        assertThat(calendar.guestsOn(START.plusDays(2))).isZero();
+        assertThat(calendar.quotesOn(START.plusDays(2))).isZero();
+        assertThat(calendar.guestsOn(START.plusDays(5))).isEqualTo(60);
+        assertThat(calendar.guestsBetween(START, START.plusDays(9))).isEqualTo(60);
+    }
+
+    @Test
+    void removeSubtractsAndIgnoresUnknownIds() {
+        CapacityCalendar calendar = new CapacityCalendar(START, 10);
+        calendar.upsert("a", START.plusDays(1), 40);
+        calendar.upsert("b", START.plusDays(1), 20);
+
+        calendar.remove("a");
+        calendar.remove("missing");
+
+        assertThat(calendar.size()).isEqualTo(1);
+        assertThat(calendar.guestsBetween(START, START.plusDays(9))).isEqualTo(20);
+        assertThat(calendar.quotesOn(START.plusDays(1))).isEqualTo(1);
+    }
+
+    @Test
+    void datesOutsideTheWindowAreNotTracked() {
+        CapacityCalendar calendar = new CapacityCalendar(START, 10);
+        calendar.upsert("a", START.minusDays(1), 40);
+        calendar.upsert("b", START.plusDays(10), 40);
+
+        assertThat(calendar.covers(START.minusDays(1))).isFalse();
+        assertThat(calendar.covers(START.plusDays(10))).isFalse();
+        assertThat(calendar.covers(calendar.getEnd())).isTrue();
+        assertThat(calendar.size()).isZero();
+        assertThat(calendar.guestsBetween(START, calendar.getEnd())).isZero();
+    }
+
+    @Test
+    void movingABookingOutOfTheWindowDropsIt() {
+        CapacityCalendar calendar = new CapacityCalendar(START, 10);
+        calendar.upsert("a", START.plusDays(4), 40);
+        calendar.upsert("a", START.plusDays(40), 40);
+
+        assertThat(calendar.size()).isZero();
+        assertThat(calendar.guestsOn(START.plusDays(4))).isZero();
+    }
+
+    @Test
+    void rangeSumsMatchABruteForceTotal() {
+        int days = 97;
+        CapacityCalendar calendar = new CapacityCalendar(START, days);
+        long[] expected = new long[days];
+        Map<String, int[]> bookings = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            String id = "q" + random.nextInt(300);
+            int[] previous = bookings.remove(id);
+            if (previous != null) {
+                expected[previous[0]] -= previous[1];
+            }
+            if (random.nextInt(5) == 0) {
+                calendar.remove(id);
+                continue;
+            }
+            int day = random.nextInt(days);
+            int guests = 1 + random.nextInt(500);
+            calendar.upsert(id, START.plusDays(day), guests);
+            bookings.put(id, new int[]{day, guests});
+            expected[day] += guests;
+        }
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(days);
+            int to = from + random.nextInt(days - from);
+            long total = 0;
+            for (int day = from; day <= to; day++) {
+                total += expected[day];
+            }
+            assertThat(calendar.guestsBetween(START.plusDays(from), START.plusDays(to))).isEqualTo(total);
+        }
+        assertThat(calendar.size()).isEqualTo(bookings.size());
+        assertThat(calendar.quotesBetween(START, calendar.getEnd())).isEqualTo(bookings.size());
+    }
+}
@@ -0,0 +1,93 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import sri.karthikeya.caterers.entity.Review;
+import sri.karthikeya.caterers.repository.ReviewRepository;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeaturedReviewIndexTests {
+    private ReviewRepository reviewRepository;
+    private FeaturedReviewIndex index;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = mock(ReviewRepository.class);
+        index = new FeaturedReviewIndex(reviewRepository, review -> review.getStars());
+        ReflectionTestUtils.setField(index, "size", 2);
+        ReflectionTestUtils.setField(index, "capacity", 3);
+        ReflectionTestUtils.setField(index, "reloadInterval", Duration.ofHours(1));
+    }
+
+    @Test
+    void reloadKeepsTheBestScoringReviews() {
+        when(reviewRepository.streamAll()).thenReturn(Stream.of(review("a", 3, 0), review("b", 5, 0),
+                review("c", 1, 0), review("d", 4, 0)));
+
+        index.reload();
+
+        assertThat(index.top(10)).extracting(Review::getId).containsExactly("b", "d");
+    }
+
+    @Test
+    void writesUpdateTheRankingWithoutAReload() {
+        when(reviewRepository.streamAll()).thenReturn(Stream.of(review("a", 3, 0), review("b", 4, 0)));
+        index.reload();
+
+        index.record(review("c", 5, 0));
+        index.remove("b");
+
+        assertThat(index.top(10)).extracting(Review::getId).containsExactly("c", "a");
+    }
+
+    @Test
+    void olderVersionOfAReviewDoesNotReplaceANewerOne() {
+        when(reviewRepository.streamAll()).thenReturn(Stream.empty());
+        index.reload();
+
+        index.record(review("a", 2, 2));
+        index.record(review("a", 5, 1));
+
+        assertThat(index.top(1)).extracting(Review::getStars).containsExactly(2);
+    }
+
+    @Test
+    void removedReviewIsNotBroughtBackByALateWrite() {
+        TopKReviews reviews = new TopKReviews(2, 3);
+
+        reviews.upsert(review("a", 5, 0), 5);
+        reviews.remove("a");
+        reviews.upsert(review("a", 5, 1), 5);
+
+        assertThat(reviews.top(10)).isEmpty();
+    }
+
+    @Test
+    void evictionBelowTheSizeMarksTheRankingIncomplete() {
+        TopKReviews reviews = new TopKReviews(2, 2);
+        reviews.upsert(review("a", 5, 0), 5);
+        reviews.upsert(review("b", 4, 0), 4);
+        reviews.upsert(review("c", 3, 0), 3);
+        assertThat(reviews.isComplete()).isTrue();
+
+        reviews.remove("a");
+
+        assertThat(reviews.top(10)).extracting(Review::getId).containsExactly("b");
+        assertThat(reviews.isComplete()).isFalse();
+    }
+
+    private static Review review(String id, int stars, long version) {
+        Review review = new Review();
+        review.setId(id);
+        review.setStars(stars);
+        review.setVersion(version);
+        return review;
+    }
+}
@@ -0,0 +1,96 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import org.junit.jupiter.api.Test;
+import sri.karthikeya.caterers.entity.Review;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKReviewsTests {
+
+    @Test
+    void ranksByScoreThenId() {
+        TopKReviews reviews = new TopKReviews(3, 3);
+        reviews.upsert(review("b", 0), 4);
+        reviews.upsert(review("c", 0), 5);
+        reviews.upsert(review("a", 0), 4);
+
+        assertThat(ids(reviews.top(10))).containsExactly("c", "a", "b");
+        assertThat(ids(reviews.top(2))).containsExactly("c", "a");
+    }
+
+    @Test
+    void updateMovesReview() {
+        TopKReviews reviews = new TopKReviews(2, 2);
+        reviews.upsert(review("a", 0), 5);
+        reviews.upsert(review("b", 0), 4);
+        reviews.upsert(review("b", 1), 6);
+
+        assertThat(ids(reviews.top(2))).containsExactly("b", "a");
+        assertThat(reviews.tracked()).isEqualTo(2);
+    }
+
+    @Test
+    void evictionBeyondCapacityRaisesTheFloor() {
+        TopKReviews reviews = new TopKReviews(2, 3);
+        reviews.upsert(review("a", 0), 5);
+        reviews.upsert(review("b", 0), 4);
+        reviews.upsert(review("c", 0), 3);
+        reviews.upsert(review("d", 0), 2);
+        reviews.upsert(review("e", 0), 6);
+
+        assertThat(reviews.tracked()).isEqualTo(3);
+        assertThat(ids(reviews.top(10))).containsExactly("e", "a");
+        assertThat(reviews.isComplete()).isTrue();
+    }
+
+    @Test
+    void removalsBelowSizeMarkTheIndexIncomplete() {
+        TopKReviews reviews = new TopKReviews(2, 2);
+        reviews.upsert(review("a", 0), 5);
+        reviews.upsert(review("b", 0), 4);
+        reviews.upsert(review("c", 0), 3);
+
+        reviews.remove("a");
+
+        assertThat(ids(reviews.top(2))).containsExactly("b");
+        assertThat(reviews.isComplete()).isFalse();
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewer() {
+        TopKReviews reviews = new TopKReviews(2, 2);
+        reviews.upsert(review("a", 2), 3);
+        reviews.upsert(review("b", 0), 4);
+
+        reviews.upsert(review("a", 1), 9);
+
+        List<Review> top = reviews.top(2);
+        assertThat(ids(top)).containsExactly("b", "a");
+        assertThat(top.get(1).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void writeAfterRemovalIsIgnored() {
+        TopKReviews reviews = new TopKReviews(2, 2);
+        reviews.upsert(review("a", 0), 5);
+
+        reviews.remove("a");
+        reviews.upsert(review("a", 1), 5);
+
+        assertThat(reviews.top(2)).isEmpty();
+        assertThat(reviews.tracked()).isZero();
+    }
+
+    private static Review review(String id, long version) {
+        Review review = new Review();
+        review.setId(id);
+        review.setVersion(version);
+        return review;
+    }
+
+    private static List<String> ids(List<Review> reviews) {
+        return reviews.stream().map(Review::getId).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package sri.karthikeya.caterers.engine.featured;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import sri.karthikeya.caterers.entity.Review;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeightedReviewScorerTests {
+    private static final Instant NOW = Instant.parse("2026-06-01T00:00:00Z");
+
+    private WeightedReviewScorer scorer;
+
+    @BeforeEach
+    void setUp() {
+        scorer = new WeightedReviewScorer(0, 0, 0, 1.0, Duration.ofDays(90));
+        ReflectionTestUtils.setField(scorer, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void recencyDecaysFromTheWeightTowardsZero() {
+        assertThat(scorer.score(createdDaysAgo(0))).isCloseTo(1.0, within(1e-9));
+        assertThat(scorer.score(createdDaysAgo(90))).isCloseTo(Math.exp(-1), within(1e-9));
+        assertThat(scorer.score(createdDaysAgo(3650))).isBetween(0.0, 1e-12);
+    }
+
+    @Test
+    void futureCreatedAtIsCappedAtTheWeight() {
+        assertThat(scorer.score(createdDaysAgo(-30))).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void starsOutweighAnyAmountOfRecency() {
+        WeightedReviewScorer weighted = new WeightedReviewScorer(2.0, 1.0, 0.5, 1.0, Duration.ofDays(90));
+        ReflectionTestUtils.setField(weighted, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+        Review older = createdDaysAgo(3650);
+        older.setStars(5);
+        Review newer = createdDaysAgo(0);
+        newer.setStars(4);
+
+        assertThat(weighted.score(older)).isGreaterThan(weighted.score(newer));
+    }
+
+    private static Review createdDaysAgo(long days) {
+        Review review = new Review();
+        review.setCreatedAt(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusDays(days));
+        return review;
+    }
+}
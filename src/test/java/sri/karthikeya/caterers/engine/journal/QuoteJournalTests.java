@@ -0,0 +1,162 @@
+package sri.karthikeya.caterers.engine.journal;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteJournalTests {
+    @TempDir
+    Path journalDir;
+
+    private QuoteRepository quoteRepository;
+    private final List<String> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        quoteRepository = mock(QuoteRepository.class);
+        when(quoteRepository.toDocument(any())).thenAnswer(invocation ->
+                new Document("_id", invocation.<Quote>getArgument(0).getId()));
+        when(quoteRepository.fromDocument(any())).thenAnswer(invocation -> {
+            Quote quote = new Quote();
+            quote.setId(invocation.<Document>getArgument(0).getString("_id"));
+            return quote;
+        });
+        doAnswer(invocation -> {
+            invocation.<List<Document>>getArgument(0).forEach(document -> inserted.add(document.getString("_id")));
+            return null;
+        }).when(quoteRepository).insertAllIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void cleanShutdownLeavesNothingToReplay() throws IOException {
+        QuoteJournal journal = started();
+        journal.append(quote("a"));
+        journal.append(quote("b"));
+        journal.drain();
+        journal.append(quote("c"));
+        journal.stop();
+        assertThat(segments()).isEmpty();
+
+        QuoteJournal restarted = started();
+        assertThat(restarted.pendingQuotes()).isEmpty();
+        restarted.drain();
+        restarted.stop();
+
+        assertThat(inserted).containsExactly("a", "b", "c");
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void drainedRecordsSurviveACrashWithoutStop() throws IOException {
+        QuoteJournal journal = started();
+        journal.append(quote("a"));
+        journal.drain();
+        journal.append(quote("b"));
+
+        QuoteJournal restarted = started();
+        assertThat(restarted.pendingQuotes()).extracting(Quote::getId).containsExactly("b");
+        restarted.drain();
+
+        assertThat(inserted).containsExactly("a", "b");
+    }
+
+    @Test
+    void onlyRecordsAfterTheDrainedPrefixAreReplayed() throws IOException {
+        QuoteJournal journal = started();
+        journal.append(quote("a"));
+        journal.append(quote("b"));
+        journal.drain();
+        journal.append(quote("c"));
+        journal.append(quote("d"));
+
+        QuoteJournal restarted = started();
+
+        assertThat(restarted.pendingQuotes()).extracting(Quote::getId).containsExactlyInAnyOrder("c", "d");
+    }
+
+    @Test
+    void removedQuotesAreDeletedByTheDrainAndNotReplayed() throws IOException {
+        QuoteJournal journal = started();
+        journal.append(quote("a"));
+        journal.append(quote("b"));
+
+        assertThat(journal.remove("a")).isTrue();
+        assertThat(journal.remove("missing")).isFalse();
+        assertThat(journal.findPending("a")).isEmpty();
+
+        QuoteJournal restarted = started();
+        assertThat(restarted.pendingQuotes()).extracting(Quote::getId).containsExactly("b");
+        restarted.drain();
+
+        assertThat(inserted).containsExactly("b");
+        verify(quoteRepository).deleteById("a");
+    }
+
+    @Test
+    void persistPendingInsertsWithoutDraining() throws IOException {
+        QuoteJournal journal = started();
+        journal.append(quote("a"));
+        journal.append(quote("b"));
+
+        journal.persistPending("a");
+        journal.persistPending("missing");
+
+        assertThat(inserted).containsExactly("a");
+        assertThat(journal.pendingQuotes()).extracting(Quote::getId).containsExactlyInAnyOrder("a", "b");
+        journal.stop();
+    }
+
+    private QuoteJournal started() throws IOException {
+        QuoteJournal journal = new QuoteJournal(quoteRepository);
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "journalDir", journalDir);
+        ReflectionTestUtils.setField(journal, "segmentSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(journal, "syncInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(journal, "drainInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(journal, "drainBatchSize", 100);
+        journal.start();
+        ScheduledExecutorService scheduler = (ScheduledExecutorService) ReflectionTestUtils.getField(journal, "scheduler");
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return journal;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.toList();
+        }
+    }
+
+    private static Quote quote(String id) {
+        Quote quote = new Quote();
+        quote.setId(id);
+        return quote;
+    }
+}
@@ -0,0 +1,227 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+import sri.karthikeya.caterers.enums.OutboxStatus;
+import sri.karthikeya.caterers.repository.OutboxRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTests {
+    private OutboxRepository outboxRepository;
+    private QuoteRepository quoteRepository;
+    private QuoteOutbox quoteOutbox;
+    private NotificationSender sender;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        quoteRepository = mock(QuoteRepository.class);
+        quoteOutbox = mock(QuoteOutbox.class);
+        sender = mock(NotificationSender.class);
+        when(sender.channels()).thenReturn(Set.of(NotificationChannel.STAFF_EMAIL));
+        when(outboxRepository.complete(anyString(), anyString(), any(), any(), any(), any())).thenReturn(true);
+        when(outboxRepository.reschedule(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        dispatcher = new OutboxDispatcher(outboxRepository, quoteRepository, quoteOutbox, new SimpleMeterRegistry(),
+                List.of(sender));
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchesPerPoll", 3);
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(dispatcher, "sendBudget", Duration.ofSeconds(15));
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dispatcher, "orphanGrace", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(dispatcher, "retention", Duration.ofDays(7));
+    }
+
+    @Test
+    void claimsWithALeaseAndCompletesUnderTheSameOwner() {
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).claim(owner.capture(), now.capture(), leaseUntil.capture(), eq(2));
+        assertThat(Duration.between(now.getValue(), leaseUntil.getValue())).isEqualTo(Duration.ofMinutes(2));
+        verify(sender).send(eq(message), any(Quote.class));
+        verify(outboxRepository).complete(eq("m1"), eq(owner.getValue()), eq(OutboxStatus.SENT), isNull(), any(), any());
+    }
+
+    @Test
+    void retryableFailureReschedulesWithBackoff() {
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+        doThrow(new DeliveryException("smtp down", true)).when(sender).send(any(), any());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq("m1"), anyString(), availableAt.capture(), eq("smtp down"));
+        assertThat(availableAt.getValue()).isAfterOrEqualTo(before.plusSeconds(5)).isBefore(before.plusSeconds(11));
+        verify(outboxRepository, never()).complete(anyString(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void failureOnTheLastAttemptMarksTheMessageFailed() {
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_EMAIL, 3, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+        doThrow(new IllegalStateException("boom")).when(sender).send(any(), any());
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).complete(eq("m1"), anyString(), eq(OutboxStatus.FAILED), eq("boom"), any(), any());
+        verify(outboxRepository, never()).reschedule(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void permanentFailureIsNotRetried() {
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+        doThrow(new DeliveryException("bad address", false)).when(sender).send(any(), any());
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).complete(eq("m1"), anyString(), eq(OutboxStatus.FAILED), eq("bad address"), any(), any());
+        verify(outboxRepository, never()).reschedule(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void missingQuoteIsRetriedUntilTheOrphanGraceExpires() {
+        OutboxMessage fresh = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        OutboxMessage orphan = message("m2", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now().minusMinutes(5));
+        claims(fresh, orphan);
+        when(quoteRepository.findAllByIdsFromPrimary(any())).thenReturn(List.of());
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).reschedule(eq("m1"), anyString(), any(), any());
+        verify(outboxRepository).complete(eq("m2"), anyString(), eq(OutboxStatus.DISCARDED), any(), any(), any());
+        verify(sender, never()).send(any(), any());
+    }
+
+    @Test
+    void channelWithoutASenderFails() {
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_WEBHOOK, 1, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).complete(eq("m1"), anyString(), eq(OutboxStatus.FAILED), any(), any(), any());
+    }
+
+    @Test
+    void messagesThatCannotFinishWithinTheLeaseAreReleased() {
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofSeconds(10));
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).claim(owner.capture(), any(), any(), anyInt());
+        verify(outboxRepository).release(eq("m1"), eq(owner.getValue()), any());
+        verify(sender, never()).send(any(), any());
+        verify(outboxRepository, never()).complete(anyString(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void pollKeepsClaimingWhileBatchesAreFull() {
+        OutboxMessage first = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        OutboxMessage second = message("m2", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        when(outboxRepository.claim(anyString(), any(), any(), anyInt())).thenReturn(List.of(first, second));
+        when(quoteRepository.findAllByIdsFromPrimary(any())).thenReturn(List.of(quote("q-m1"), quote("q-m2")));
+
+        dispatcher.poll();
+
+        verify(outboxRepository, times(3)).claim(anyString(), any(), any(), anyInt());
+    }
+
+    @Test
+    void pollStopsAtThePartialBatch() {
+        OutboxMessage message = message("m1", NotificationChannel.STAFF_EMAIL, 1, LocalDateTime.now());
+        claims(message);
+        quoteExists("q-m1");
+
+        dispatcher.poll();
+
+        verify(outboxRepository, times(1)).claim(anyString(), any(), any(), anyInt());
+    }
+
+    @Test
+    void pollExtractsEmbeddedNotificationsBeforeClaiming() {
+        when(quoteOutbox.extract(2)).thenReturn(2, 1);
+        when(outboxRepository.claim(anyString(), any(), any(), anyInt())).thenReturn(List.of());
+
+        dispatcher.poll();
+
+        InOrder order = inOrder(quoteOutbox, outboxRepository);
+        order.verify(quoteOutbox, times(2)).extract(2);
+        order.verify(outboxRepository).claim(anyString(), any(), any(), anyInt());
+    }
+
+    private void claims(OutboxMessage... messages) {
+        when(outboxRepository.claim(anyString(), any(), any(), anyInt()))
+                .thenReturn(List.of(messages))
+                .thenReturn(Collections.emptyList());
+    }
+
+    private void quoteExists(String id) {
+        when(quoteRepository.findAllByIdsFromPrimary(any())).thenReturn(List.of(quote(id)));
+    }
+
+    private static OutboxMessage message(String id, NotificationChannel channel, int attempts, LocalDateTime createdAt) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setQuoteId("q-" + id);
+        message.setChannel(channel);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAttempts(attempts);
+        message.setCreatedAt(createdAt);
+        return message;
+    }
+
+    private static Quote quote(String id) {
+        Quote quote = new Quote();
+        quote.setId(id);
+        return quote;
+    }
+}
@@ -0,0 +1,96 @@
+package sri.karthikeya.caterers.engine.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import sri.karthikeya.caterers.entity.OutboxMessage;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.enums.NotificationChannel;
+import sri.karthikeya.caterers.enums.OutboxStatus;
+import sri.karthikeya.caterers.repository.OutboxRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteOutboxTests {
+    private OutboxRepository outboxRepository;
+    private QuoteRepository quoteRepository;
+    private QuoteOutbox quoteOutbox;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        quoteRepository = mock(QuoteRepository.class);
+        quoteOutbox = new QuoteOutbox(outboxRepository, quoteRepository);
+        ReflectionTestUtils.setField(quoteOutbox, "enabled", true);
+        ReflectionTestUtils.setField(quoteOutbox, "staffEmails", new String[]{"staff@example.com"});
+        ReflectionTestUtils.setField(quoteOutbox, "webhookUrl", "");
+        ReflectionTestUtils.setField(quoteOutbox, "customerAcknowledgement", true);
+    }
+
+    @Test
+    void attachEmbedsTheConfiguredChannels() {
+        Quote quote = quote("q1", null);
+
+        quoteOutbox.attach(quote);
+
+        assertThat(quote.getPendingNotifications())
+                .containsExactly(NotificationChannel.STAFF_EMAIL, NotificationChannel.CUSTOMER_EMAIL);
+    }
+
+    @Test
+    void attachDoesNothingWhenNotificationsAreDisabled() {
+        ReflectionTestUtils.setField(quoteOutbox, "enabled", false);
+        Quote quote = quote("q1", null);
+
+        quoteOutbox.attach(quote);
+
+        assertThat(quote.getPendingNotifications()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void extractWritesDeterministicMessagesBeforeClearingTheQuotes() {
+        when(quoteRepository.findWithPendingNotifications(10)).thenReturn(List.of(
+                quote("q1", List.of(NotificationChannel.STAFF_EMAIL, NotificationChannel.CUSTOMER_EMAIL)),
+                quote("q2", List.of(NotificationChannel.STAFF_WEBHOOK))));
+
+        assertThat(quoteOutbox.extract(10)).isEqualTo(2);
+
+        ArgumentCaptor<List<OutboxMessage>> messages = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(outboxRepository, quoteRepository);
+        order.verify(outboxRepository).insertAllIgnoringDuplicates(messages.capture());
+        order.verify(quoteRepository).clearPendingNotifications(List.of("q1", "q2"));
+        assertThat(messages.getValue()).extracting(OutboxMessage::getId)
+                .containsExactly("q1:staff_email", "q1:customer_email", "q2:staff_webhook");
+        assertThat(messages.getValue()).allMatch(message -> message.getStatus() == OutboxStatus.PENDING);
+    }
+
+    @Test
+    void extractWithNothingPendingWritesNothing() {
+        when(quoteRepository.findWithPendingNotifications(10)).thenReturn(List.of());
+
+        assertThat(quoteOutbox.extract(10)).isZero();
+
+        verify(outboxRepository, never()).insertAllIgnoringDuplicates(anyList());
+        verify(quoteRepository, never()).clearPendingNotifications(any());
+    }
+
+    private static Quote quote(String id, List<NotificationChannel> channels) {
+        Quote quote = new Quote();
+        quote.setId(id);
+        quote.setPendingNotifications(channels);
+        return quote;
+    }
+}
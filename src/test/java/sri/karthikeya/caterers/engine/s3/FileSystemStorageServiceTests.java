@@ -0,0 +1,98 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import sri.karthikeya.caterers.controller.FileController;
+import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSystemStorageServiceTests {
+    private static final String KEY = "gallery/a.png";
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 1, 2, 3};
+
+    @TempDir
+    Path root;
+
+    private FileSystemStorageService storageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageService = new FileSystemStorageService(root, "http://localhost:8080", "test-signing-key");
+        Files.createDirectories(root.resolve("gallery"));
+        Files.write(root.resolve(KEY), PNG);
+    }
+
+    @Test
+    void signedUrlOpensTheObject() {
+        UriComponents url = parse(storageService.getPresignedUrl(KEY, 5));
+
+        assertThat(storageService.openSigned(KEY, expires(url), url.getQueryParams().getFirst("signature")))
+                .contains(root.resolve(KEY).normalize());
+    }
+
+    @Test
+    void unsignedOrTamperedUrlsAreRejected() {
+        UriComponents url = parse(storageService.getPresignedUrl(KEY, 5));
+        String signature = url.getQueryParams().getFirst("signature");
+
+        assertThat(storageService.openSigned(KEY, expires(url), null)).isEmpty();
+        assertThat(storageService.openSigned(KEY, expires(url) + 60, signature)).isEmpty();
+        assertThat(storageService.openSigned("gallery/b.png", expires(url), signature)).isEmpty();
+    }
+
+    @Test
+    void expiredUrlIsRejectedEvenWithAValidSignature() {
+        UriComponents url = parse(storageService.getPresignedUrl(KEY, -1));
+
+        assertThat(expires(url)).isLessThan(Instant.now().getEpochSecond());
+        assertThat(storageService.openSigned(KEY, expires(url), url.getQueryParams().getFirst("signature"))).isEmpty();
+    }
+
+    @Test
+    void downloadThroughTheControllerIsNotFoundForAnUnsignedUrl() {
+        FileController controller = new FileController(storageService);
+        long expires = Instant.now().plusSeconds(60).getEpochSecond();
+
+        assertThatThrownBy(() -> controller.download("/" + KEY, expires, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void uploadNeedsASignatureOverTheContentTypeAndLength() throws IOException {
+        UriComponents url = parse(storageService.presignUpload("gallery/c.png", "image/png", PNG.length, 5).url());
+        String signature = url.getQueryParams().getFirst("signature");
+
+        assertThat(storageService.acceptSignedUpload("gallery/c.png", expires(url), null, "image/png", PNG.length,
+                new ByteArrayInputStream(PNG))).isFalse();
+        assertThat(storageService.acceptSignedUpload("gallery/c.png", expires(url), signature, "image/jpeg", PNG.length,
+                new ByteArrayInputStream(PNG))).isFalse();
+        assertThat(Files.exists(root.resolve("gallery/c.png"))).isFalse();
+
+        FileController controller = new FileController(storageService);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/files/gallery/c.png");
+        request.setContent(PNG);
+        assertThatThrownBy(() -> controller.upload("/gallery/c.png", expires(url), "forged", "image/png", PNG.length, request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(Files.exists(root.resolve("gallery/c.png"))).isFalse();
+    }
+
+    private static UriComponents parse(String url) {
+        return UriComponentsBuilder.fromUriString(url).build();
+    }
+
+    private static long expires(UriComponents url) {
+        return Long.parseLong(url.getQueryParams().getFirst("expires"));
+    }
+}
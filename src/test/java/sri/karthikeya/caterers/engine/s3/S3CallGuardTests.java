@@ -0,0 +1,120 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import sri.karthikeya.caterers.exception.custom.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3CallGuardTests {
+    private SimpleMeterRegistry meterRegistry;
+    private S3CallGuard guard;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new S3CallGuard(meterRegistry, 1, Duration.ZERO, 1, 50, Duration.ofSeconds(5), 80, 2, 2,
+                Duration.ofSeconds(30), 1);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void storageFaultsOpenTheCircuitAndLaterCallsFailFast() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw s3Exception(503);
+            })).isInstanceOf(S3Exception.class);
+        }
+
+        assertThatThrownBy(() -> guard.execute(() -> "never called"))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(30));
+        assertThat(rejections("circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw s3Exception(404);
+            })).isInstanceOf(S3Exception.class);
+        }
+
+        assertThat(guard.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void fullBulkheadRejectsInsteadOfQueueing() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slow = executor.submit(() -> guard.execute(() -> block(started, release)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.execute(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(rejections("bulkhead_full")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void clientPacedCallsDoNotTakeRegularPermits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> part = executor.submit(() -> guard.executeClientPaced(() -> block(started, release)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(guard.execute(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> guard.executeClientPaced(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        assertThat(part.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void sdkTimeoutsAreReportedAsUnavailable() {
+        assertThatThrownBy(() -> guard.execute(() -> {
+            throw ApiCallTimeoutException.create(1000);
+        })).isInstanceOf(ServiceUnavailableException.class);
+
+        assertThat(meterRegistry.counter("caterers.s3.timeouts").count()).isEqualTo(1);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.counter("caterers.s3.rejections", "reason", reason).count();
+    }
+
+    private static S3Exception s3Exception(int status) {
+        return (S3Exception) S3Exception.builder().statusCode(status).message("status " + status).build();
+    }
+
+    private static String block(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
@@ -0,0 +1,91 @@
+package sri.karthikeya.caterers.engine.s3;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.util.RequestFingerprint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingMultipartReaderTests {
+    private static final String BOUNDARY = "boundary42";
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 1, 2, 3};
+
+    private final StreamingMultipartReader reader = new StreamingMultipartReader();
+
+    @Test
+    void handsFieldsAndTheImageStreamToTheHandler() {
+        MockHttpServletRequest request = multipart(body("gallery name"));
+
+        String result = reader.read(request, new MockHttpServletResponse(), "image",
+                (fields, image) -> fields.get("name") + ":" + image.contentType() + ":" + readAll(image).length);
+
+        assertThat(result).isEqualTo("gallery name:image/png:" + PNG.length);
+    }
+
+    @Test
+    void bodyDigestCoversTheWholeRequest() {
+        byte[] body = body("gallery name");
+        MessageDigest digest = RequestFingerprint.sha256();
+
+        reader.read(multipart(body), new MockHttpServletResponse(), "image", digest, (fields, image) -> readAll(image));
+
+        assertThat(digest.digest()).isEqualTo(RequestFingerprint.sha256().digest(body));
+    }
+
+    @Test
+    void nonMultipartRequestsAreRejectedAndTheConnectionClosed() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/gallery/stream");
+        request.setContentType("application/json");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> reader.read(request, response, "image", (fields, image) -> image))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(response.getHeader(HttpHeaders.CONNECTION)).isEqualTo("close");
+    }
+
+    @Test
+    void missingImagePartIsRejected() {
+        String body = "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"name\"\r\n\r\nx\r\n--" + BOUNDARY + "--\r\n";
+
+        assertThatThrownBy(() -> reader.read(multipart(body.getBytes(StandardCharsets.UTF_8)),
+                new MockHttpServletResponse(), "image", (fields, image) -> image))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Image file is required");
+    }
+
+    private static MockHttpServletRequest multipart(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/gallery/stream");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] body(String name) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"name\"\r\n\r\n" + name + "\r\n"
+                + "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"a.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(PNG);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(ImageStream image) {
+        try {
+            return image.content().readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
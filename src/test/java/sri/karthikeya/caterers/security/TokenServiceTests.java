@@ -0,0 +1,111 @@
+package sri.karthikeya.caterers.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sri.karthikeya.caterers.entity.RevokedToken;
+import sri.karthikeya.caterers.repository.RevokedTokenRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TokenServiceTests {
+    private static final String KEY = "0123456789abcdef0123456789abcdef";
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenService = service(KEY);
+    }
+
+    @Test
+    void verifiesAnIssuedToken() {
+        TokenService.IssuedToken issued = tokenService.issue("admin");
+
+        Optional<TokenService.VerifiedToken> verified = tokenService.verify(issued.token());
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().subject()).isEqualTo("admin");
+        assertThat(verified.get().expiresAt().getEpochSecond()).isEqualTo(issued.expiresAt().getEpochSecond());
+        assertThat(verified.get().tokenId()).isNotBlank();
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String token = tokenService.issue("admin").token();
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertThat(tokenService.verify(tampered)).isEmpty();
+        assertThat(rejections()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = tokenService.issue("guest").token();
+        String[] parts = token.split("\\.");
+        parts[1] = Base64.getUrlEncoder().withoutPadding().encodeToString("admin".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(tokenService.verify(String.join(".", parts))).isEmpty();
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        String token = service("fedcba9876543210fedcba9876543210").issue("admin").token();
+
+        assertThat(tokenService.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(tokenService.verify("")).isEmpty();
+        assertThat(tokenService.verify("not-a-token")).isEmpty();
+        assertThat(tokenService.verify("v1.a.b")).isEmpty();
+    }
+
+    @Test
+    void repeatedVerificationsAreServedFromTheCache() {
+        String token = tokenService.issue("admin").token();
+
+        tokenService.verify(token);
+        tokenService.verify(token);
+
+        assertThat(count("verified")).isEqualTo(1);
+        assertThat(count("cache_hit")).isEqualTo(1);
+    }
+
+    @Test
+    void revokedTokensAreRejectedEvenWhenCached() {
+        String token = tokenService.issue("admin").token();
+        TokenService.VerifiedToken verified = tokenService.verify(token).orElseThrow();
+
+        tokenService.revoke(verified);
+
+        verify(revokedTokenRepository).insert(any(RevokedToken.class));
+        assertThat(tokenService.verify(token)).isEmpty();
+    }
+
+    private TokenService service(String key) {
+        return new TokenService(revokedTokenRepository, meterRegistry, key, Duration.ofMinutes(15), 100);
+    }
+
+    private double rejections() {
+        return count("rejected");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("caterers.auth.token.verifications").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,109 @@
+package sri.karthikeya.caterers.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import sri.karthikeya.caterers.dto.request.GalleryUpdateRequest;
+import sri.karthikeya.caterers.engine.catalog.CatalogPublisher;
+import sri.karthikeya.caterers.engine.s3.ImageUrlResolver;
+import sri.karthikeya.caterers.engine.s3.S3Service;
+import sri.karthikeya.caterers.entity.Gallery;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.exception.custom.InternalServerException;
+import sri.karthikeya.caterers.exception.custom.PreconditionFailedException;
+import sri.karthikeya.caterers.mapper.GalleryMapper;
+import sri.karthikeya.caterers.repository.GalleryRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GalleryServiceImplTests {
+    private static final String ID = "00000000-0000-7000-8000-000000000001";
+
+    private GalleryRepository galleryRepository;
+    private S3Service s3Service;
+    private GalleryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        galleryRepository = mock(GalleryRepository.class);
+        s3Service = mock(S3Service.class);
+        service = new GalleryServiceImpl(galleryRepository, mock(GalleryMapper.class), mock(CatalogPublisher.class),
+                mock(ImageUrlResolver.class), s3Service);
+    }
+
+    @Test
+    void deleteRemovesTheObjectBeforeTheDocument() {
+        when(galleryRepository.findByIdFromPrimary(ID)).thenReturn(Optional.of(gallery("gallery/a.jpg", 2L)));
+        when(galleryRepository.deleteById(ID)).thenReturn(Optional.of(gallery("gallery/a.jpg", 2L)));
+
+        service.delete(ID);
+
+        InOrder order = inOrder(s3Service, galleryRepository);
+        order.verify(s3Service).deleteFile("gallery/a.jpg");
+        order.verify(galleryRepository).deleteById(ID);
+    }
+
+    @Test
+    void failedObjectDeleteKeepsTheDocument() {
+        when(galleryRepository.findByIdFromPrimary(ID)).thenReturn(Optional.of(gallery("gallery/a.jpg", 2L)));
+        doThrow(new InternalServerException("Failed to delete file from S3")).when(s3Service).deleteFile("gallery/a.jpg");
+
+        assertThatThrownBy(() -> service.delete(ID)).isInstanceOf(InternalServerException.class);
+
+        verify(galleryRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void deleteAlsoRemovesAnImageThatReplacedTheOneRead() {
+        when(galleryRepository.findByIdFromPrimary(ID)).thenReturn(Optional.of(gallery("gallery/a.jpg", 2L)));
+        when(galleryRepository.deleteById(ID)).thenReturn(Optional.of(gallery("gallery/b.jpg", 3L)));
+
+        service.delete(ID);
+
+        verify(s3Service).deleteFile("gallery/a.jpg");
+        verify(s3Service).deleteFile("gallery/b.jpg");
+    }
+
+    @Test
+    void imageReplacementWithoutIfMatchIsPinnedToTheVersionRead() {
+        when(galleryRepository.findByIdFromPrimary(ID)).thenReturn(Optional.of(gallery("gallery/a.jpg", 2L)));
+        when(s3Service.uploadFile(any(), anyString())).thenReturn("gallery/b.jpg");
+        when(galleryRepository.update(eq(ID), eq(2L), any())).thenReturn(Optional.empty());
+        when(galleryRepository.existsById(ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.update(ID, updateRequest(), null))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(s3Service).deleteFile("gallery/b.jpg");
+        verify(s3Service, never()).deleteFile("gallery/a.jpg");
+    }
+
+    private static GalleryUpdateRequest updateRequest() {
+        GalleryUpdateRequest request = new GalleryUpdateRequest();
+        request.setImage(new MockMultipartFile("image", "b.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+        request.setType(GalleryType.GALLERY);
+        request.setName("Stage");
+        request.setDescription("Wedding stage");
+        return request;
+    }
+
+    private static Gallery gallery(String imageId, Long version) {
+        Gallery gallery = new Gallery();
+        gallery.setId(ID);
+        gallery.setImageId(imageId);
+        gallery.setVersion(version);
+        return gallery;
+    }
+}
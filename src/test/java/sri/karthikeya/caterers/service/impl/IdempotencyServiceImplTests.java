@@ -0,0 +1,128 @@
+package sri.karthikeya.caterers.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import sri.karthikeya.caterers.entity.IdempotencyRecord;
+import sri.karthikeya.caterers.enums.IdempotencyStatus;
+import sri.karthikeya.caterers.exception.custom.UnprocessableEntityException;
+import sri.karthikeya.caterers.repository.IdempotencyRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceImplTests {
+    private static final String KEY = "key-1";
+
+    private IdempotencyRepository idempotencyRepository;
+    private IdempotencyServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRepository = mock(IdempotencyRepository.class);
+        when(idempotencyRepository.tryReserve(any())).thenReturn(true);
+        when(idempotencyRepository.complete(anyString(), anyString(), anyString())).thenReturn(true);
+        when(idempotencyRepository.renew(anyString(), anyString(), any())).thenReturn(true);
+        service = new IdempotencyServiceImpl(idempotencyRepository, new ObjectMapper(), Duration.ofHours(24),
+                Duration.ofSeconds(2), Duration.ofMillis(300), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void completesUnderTheOwnerThatReservedTheKey() {
+        String response = service.execute(KEY, "scope", "hash", String.class, () -> "done");
+
+        assertThat(response).isEqualTo("done");
+        ArgumentCaptor<IdempotencyRecord> reserved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRepository).tryReserve(reserved.capture());
+        assertThat(reserved.getValue().getOwner()).isNotBlank();
+        verify(idempotencyRepository).complete(KEY, reserved.getValue().getOwner(), "\"done\"");
+    }
+
+    @Test
+    void failedActionReleasesOnlyItsOwnReservation() {
+        assertThatThrownBy(() -> service.execute(KEY, "scope", "hash", String.class, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<IdempotencyRecord> reserved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRepository).tryReserve(reserved.capture());
+        verify(idempotencyRepository).release(KEY, reserved.getValue().getOwner());
+        verify(idempotencyRepository, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void leaseIsRenewedWhileASlowActionRuns() {
+        service.execute(KEY, "scope", "hash", String.class, () -> {
+            sleep(450);
+            return "done";
+        });
+
+        verify(idempotencyRepository, atLeast(2)).renew(eq(KEY), anyString(), any());
+    }
+
+    @Test
+    void lostLeaseIsNotCachedAsCompleted() {
+        when(idempotencyRepository.complete(anyString(), anyString(), anyString())).thenReturn(false);
+        when(idempotencyRepository.tryReserve(any())).thenReturn(true, false);
+        when(idempotencyRepository.findById(KEY)).thenReturn(Optional.of(new IdempotencyRecord(KEY, "scope", "hash",
+                IdempotencyStatus.COMPLETED, "\"other\"", LocalDateTime.now(), null, null, LocalDateTime.now())));
+
+        service.execute(KEY, "scope", "hash", String.class, () -> "done");
+        String replayed = service.execute(KEY, "scope", "hash", String.class, () -> "again");
+
+        assertThat(replayed).isEqualTo("other");
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverWithANewOwner() {
+        when(idempotencyRepository.tryReserve(any())).thenReturn(false);
+        when(idempotencyRepository.findById(KEY)).thenReturn(Optional.of(new IdempotencyRecord(KEY, "scope", "hash",
+                IdempotencyStatus.IN_PROGRESS, null, LocalDateTime.now(), "previous", LocalDateTime.now().minusSeconds(1),
+                LocalDateTime.now().plusHours(1))));
+        when(idempotencyRepository.tryTakeOver(eq(KEY), anyString(), any(), any())).thenReturn(true);
+
+        service.execute(KEY, "scope", "hash", String.class, () -> "done");
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRepository).tryTakeOver(eq(KEY), owner.capture(), any(), any());
+        assertThat(owner.getValue()).isNotEqualTo("previous");
+        verify(idempotencyRepository).complete(KEY, owner.getValue(), "\"done\"");
+    }
+
+    @Test
+    void reusedKeyWithADifferentBodyIsRejected() {
+        when(idempotencyRepository.tryReserve(any())).thenReturn(false);
+        when(idempotencyRepository.findById(KEY)).thenReturn(Optional.of(new IdempotencyRecord(KEY, "scope", "other",
+                IdempotencyStatus.COMPLETED, "\"done\"", LocalDateTime.now(), null, null, LocalDateTime.now())));
+
+        assertThatThrownBy(() -> service.execute(KEY, "scope", "hash", String.class, () -> "done"))
+                .isInstanceOf(UnprocessableEntityException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package sri.karthikeya.caterers.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import sri.karthikeya.caterers.dto.request.QuoteRequest;
+import sri.karthikeya.caterers.dto.response.BatchResponse;
+import sri.karthikeya.caterers.dto.response.PageResponse;
+import sri.karthikeya.caterers.dto.response.QuoteResponse;
+import sri.karthikeya.caterers.engine.availability.AvailabilityIndex;
+import sri.karthikeya.caterers.engine.consistency.RecentWrites;
+import sri.karthikeya.caterers.engine.journal.QuoteJournal;
+import sri.karthikeya.caterers.engine.outbox.QuoteOutbox;
+import sri.karthikeya.caterers.entity.Quote;
+import sri.karthikeya.caterers.exception.custom.DuplicateResourceException;
+import sri.karthikeya.caterers.mapper.QuoteMapper;
+import sri.karthikeya.caterers.repository.QuoteArchiveRepository;
+import sri.karthikeya.caterers.repository.QuoteRepository;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteServiceImplTests {
+    private static final String P = "00000000-0000-7000-8000-000000000001";
+    private static final String Q = "00000000-0000-7000-8000-000000000002";
+    private static final String ID = "00000000-0000-7000-8000-000000000003";
+
+    private final List<Quote> stored = List.of(quote("s1"), quote("s2"), quote("s3"), quote("s4"), quote("s5"));
+
+    private QuoteRepository quoteRepository;
+    private QuoteArchiveRepository quoteArchiveRepository;
+    private QuoteJournal quoteJournal;
+    private QuoteOutbox quoteOutbox;
+    private RecentWrites recentWrites;
+    private QuoteServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        quoteRepository = mock(QuoteRepository.class);
+        quoteArchiveRepository = mock(QuoteArchiveRepository.class);
+        quoteJournal = mock(QuoteJournal.class);
+        quoteOutbox = mock(QuoteOutbox.class);
+        QuoteMapper quoteMapper = mock(QuoteMapper.class);
+        when(quoteMapper.toResponse(any())).thenAnswer(invocation -> {
+            QuoteResponse response = new QuoteResponse();
+            response.setId(invocation.<Quote>getArgument(0).getId());
+            return response;
+        });
+        when(quoteMapper.toEntity(any())).thenAnswer(invocation -> new Quote());
+        when(quoteRepository.count()).thenReturn((long) stored.size());
+        when(quoteRepository.findAll(anyInt(), anyInt(), anyString(), anyString())).thenAnswer(invocation -> {
+            int page = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            return range(page * size, size);
+        });
+        when(quoteRepository.findRange(anyLong(), anyInt(), anyString(), anyString())).thenAnswer(invocation -> {
+            long skip = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return range((int) skip, limit);
+        });
+        when(quoteRepository.sortOrder(anyString(), anyString())).thenReturn(Comparator.comparing(Quote::getId));
+
+        recentWrites = new RecentWrites(Duration.ofMinutes(2), 100);
+        service = new QuoteServiceImpl(quoteRepository, quoteArchiveRepository, quoteMapper, quoteJournal,
+                mock(AvailabilityIndex.class), quoteOutbox, recentWrites);
+    }
+
+    @Test
+    void createInsertsTheQuoteWithItsNotificationsInOneWrite() {
+        when(quoteRepository.insert(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.create(new QuoteRequest());
+
+        InOrder order = inOrder(quoteOutbox, quoteRepository);
+        order.verify(quoteOutbox).attach(any(Quote.class));
+        order.verify(quoteRepository).insert(any(Quote.class));
+    }
+
+    @Test
+    void pagesReadStraightFromMongoWhenNothingIsJournaled() {
+        when(quoteJournal.pendingQuotes()).thenReturn(List.of());
+
+        PageResponse<QuoteResponse> response = service.getAll(1, 2, "createdAt", "desc");
+
+        assertThat(ids(response)).containsExactly("s3", "s4");
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        verify(quoteJournal, never()).persistPending(anyString());
+    }
+
+    @Test
+    void journaledQuotesAreMergedAtTheirGlobalRank() {
+        Quote p = quote(P);
+        Quote q = quote(Q);
+        when(quoteJournal.pendingQuotes()).thenReturn(List.of(q, p));
+        when(quoteRepository.findAllByIds(any())).thenReturn(List.of());
+        when(quoteRepository.countBefore(eq(p), anyString(), anyString())).thenReturn(0L);
+        when(quoteRepository.countBefore(eq(q), anyString(), anyString())).thenReturn(3L);
+
+        PageResponse<QuoteResponse> first = service.getAll(0, 3, "createdAt", "desc");
+        PageResponse<QuoteResponse> second = service.getAll(1, 3, "createdAt", "desc");
+        PageResponse<QuoteResponse> third = service.getAll(2, 3, "createdAt", "desc");
+
+        assertThat(ids(first)).containsExactly(P, "s1", "s2");
+        assertThat(ids(second)).containsExactly("s3", Q, "s4");
+        assertThat(ids(third)).containsExactly("s5");
+        assertThat(first.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void journaledQuotesAlreadyOnTheSecondaryAreNotCountedTwice() {
+        Quote p = quote(P);
+        when(quoteJournal.pendingQuotes()).thenReturn(List.of(p));
+        when(quoteRepository.findAllByIds(any())).thenReturn(List.of(p));
+
+        PageResponse<QuoteResponse> response = service.getAll(0, 10, "createdAt", "desc");
+
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        assertThat(ids(response)).containsExactly("s1", "s2", "s3", "s4", "s5");
+    }
+
+    @Test
+    void deletingAJournaledQuoteDoesNotNeedMongo() {
+        when(quoteJournal.remove(ID)).thenReturn(true);
+
+        service.delete(ID);
+
+        verify(quoteRepository).deleteById(ID);
+    }
+
+    @Test
+    void updatePersistsAJournaledQuoteInsteadOfDrainingTheJournal() {
+        Quote updated = quote(ID);
+        updated.setVersion(1L);
+        when(quoteRepository.update(eq(ID), eq(0L), any())).thenReturn(Optional.of(updated));
+
+        service.update(ID, new QuoteRequest(), 0L);
+
+        verify(quoteJournal).persistPending(ID);
+        verify(quoteJournal).replacePending(updated);
+    }
+
+    @Test
+    void readAfterAnUpdateGoesToThePrimary() {
+        Quote updated = quote(ID);
+        updated.setVersion(1L);
+        when(quoteRepository.update(eq(ID), eq(0L), any())).thenReturn(Optional.of(updated));
+        when(quoteRepository.findByIdFromPrimary(ID)).thenReturn(Optional.of(updated));
+
+        service.update(ID, new QuoteRequest(), 0L);
+        QuoteResponse response = service.getById(ID);
+
+        assertThat(response.getId()).isEqualTo(ID);
+        verify(quoteRepository).findByIdFromPrimary(ID);
+        verify(quoteRepository, never()).findById(ID);
+    }
+
+    @Test
+    void readOfAQuoteNotWrittenRecentlyGoesToTheSecondary() {
+        when(quoteRepository.findById(ID)).thenReturn(Optional.of(quote(ID)));
+
+        service.getById(ID);
+
+        verify(quoteRepository, never()).findByIdFromPrimary(ID);
+    }
+
+    @Test
+    void batchReadsOnlyRecentlyWrittenIdsFromThePrimary() {
+        Quote updated = quote(ID);
+        when(quoteRepository.update(eq(ID), eq(0L), any())).thenReturn(Optional.of(updated));
+        when(quoteRepository.findAllByIdsFromPrimary(List.of(ID))).thenReturn(List.of(updated));
+        when(quoteRepository.findAllByIds(List.of(P))).thenReturn(List.of(quote(P)));
+        service.update(ID, new QuoteRequest(), 0L);
+
+        BatchResponse<QuoteResponse> response = service.getByIds(List.of(P, ID));
+
+        assertThat(response.getContent()).extracting(QuoteResponse::getId).containsExactly(P, ID);
+        assertThat(response.getMissingIds()).isEmpty();
+    }
+
+    @Test
+    void archivedQuoteIsFoundWhenTheHotCollectionMisses() {
+        when(quoteArchiveRepository.findById(ID)).thenReturn(Optional.of(quote(ID)));
+
+        QuoteResponse response = service.getById(ID);
+
+        assertThat(response.getId()).isEqualTo(ID);
+        verify(quoteRepository).findByIdFromPrimary(ID);
+    }
+
+    @Test
+    void archivedQuoteCannotBeUpdated() {
+        when(quoteArchiveRepository.existsById(ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.update(ID, new QuoteRequest(), 0L))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    private List<Quote> range(int from, int limit) {
+        return stored.subList(Math.min(from, stored.size()), Math.min(from + limit, stored.size()));
+    }
+
+    private static List<String> ids(PageResponse<QuoteResponse> response) {
+        return response.getContent().stream().map(QuoteResponse::getId).toList();
+    }
+
+    private static Quote quote(String id) {
+        Quote quote = new Quote();
+        quote.setId(id);
+        return quote;
+    }
+}
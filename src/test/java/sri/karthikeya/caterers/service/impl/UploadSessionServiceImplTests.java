@@ -0,0 +1,225 @@
+package sri.karthikeya.caterers.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import sri.karthikeya.caterers.dto.request.GalleryStreamRequest;
+import sri.karthikeya.caterers.dto.request.UploadSessionRequest;
+import sri.karthikeya.caterers.dto.response.ChunkedUploadResponse;
+import sri.karthikeya.caterers.dto.response.GalleryResponse;
+import sri.karthikeya.caterers.dto.response.UploadSessionResponse;
+import sri.karthikeya.caterers.engine.s3.PresignedUpload;
+import sri.karthikeya.caterers.engine.s3.S3PathConstants;
+import sri.karthikeya.caterers.engine.s3.S3Service;
+import sri.karthikeya.caterers.engine.s3.StoredObject;
+import sri.karthikeya.caterers.entity.UploadPart;
+import sri.karthikeya.caterers.entity.UploadSession;
+import sri.karthikeya.caterers.enums.GalleryType;
+import sri.karthikeya.caterers.enums.UploadStatus;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+import sri.karthikeya.caterers.exception.custom.ResourceNotFoundException;
+import sri.karthikeya.caterers.repository.UploadSessionRepository;
+import sri.karthikeya.caterers.service.GalleryService;
+import sri.karthikeya.caterers.util.IdGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadSessionServiceImplTests {
+    private static final String OBJECT_KEY = "gallery/object.png";
+    private static final long SIZE = 1024;
+    private static final long CHUNK = DataSize.ofMegabytes(5).toBytes();
+    private static final long CHUNKED_SIZE = CHUNK + SIZE;
+    private static final String UPLOAD_ID = "multipart-1";
+
+    private UploadSessionRepository uploadSessionRepository;
+    private GalleryService galleryService;
+    private S3Service s3Service;
+    private UploadSessionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        uploadSessionRepository = mock(UploadSessionRepository.class);
+        galleryService = mock(GalleryService.class);
+        s3Service = mock(S3Service.class);
+        when(s3Service.minimumPartSize()).thenReturn(DataSize.ofMegabytes(5).toBytes());
+        service = new UploadSessionServiceImpl(uploadSessionRepository, galleryService, s3Service, 15,
+                Duration.ofHours(1), Duration.ofHours(24), DataSize.ofMegabytes(5));
+    }
+
+    @Test
+    void createPresignsAKeyUnderTheTypePathAndStoresAPendingSession() {
+        when(s3Service.presignUpload(anyString(), eq("image/png"), eq(SIZE), eq(15)))
+                .thenReturn(new PresignedUpload("https://upload", "PUT", Map.of(), Instant.now()));
+
+        UploadSessionResponse response = service.create(request(SIZE));
+
+        ArgumentCaptor<UploadSession> stored = ArgumentCaptor.forClass(UploadSession.class);
+        verify(uploadSessionRepository).insert(stored.capture());
+        assertThat(stored.getValue().getStatus()).isEqualTo(UploadStatus.PENDING);
+        assertThat(stored.getValue().getObjectKey())
+                .startsWith(S3PathConstants.getPathByType(GalleryType.GALLERY))
+                .endsWith(".png")
+                .isEqualTo(response.getObjectKey());
+        assertThat(response.getUploadUrl()).isEqualTo("https://upload");
+    }
+
+    @Test
+    void completeCreatesTheGalleryFromTheUploadedObject() {
+        UploadSession session = pending();
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        when(s3Service.headObject(OBJECT_KEY)).thenReturn(Optional.of(new StoredObject(SIZE, "image/png")));
+        when(uploadSessionRepository.markCompleting(session.getId())).thenReturn(true);
+        GalleryResponse created = new GalleryResponse();
+        when(galleryService.createFromUpload(eq(session.getId()), any(GalleryStreamRequest.class), eq(OBJECT_KEY)))
+                .thenReturn(created);
+
+        assertThat(service.complete(session.getId())).isSameAs(created);
+        verify(uploadSessionRepository).markCompleted(session.getId());
+    }
+
+    @Test
+    void completeDeletesAnObjectThatDoesNotMatchTheSession() {
+        UploadSession session = pending();
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        when(s3Service.headObject(OBJECT_KEY)).thenReturn(Optional.of(new StoredObject(SIZE * 4, "image/png")));
+
+        assertThatThrownBy(() -> service.complete(session.getId())).isInstanceOf(BadRequestException.class);
+
+        verify(s3Service).deleteFile(OBJECT_KEY);
+        verify(galleryService, never()).createFromUpload(anyString(), any(), anyString());
+    }
+
+    @Test
+    void completingTwiceReturnsTheExistingGallery() {
+        UploadSession session = pending();
+        session.setStatus(UploadStatus.COMPLETED);
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        GalleryResponse existing = new GalleryResponse();
+        when(galleryService.getById(session.getId())).thenReturn(existing);
+
+        assertThat(service.complete(session.getId())).isSameAs(existing);
+        verify(s3Service, never()).headObject(anyString());
+    }
+
+    @Test
+    void expiredSessionCannotBeCompleted() {
+        UploadSession session = pending();
+        session.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+
+        assertThatThrownBy(() -> service.complete(session.getId())).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void createChunkedStartsAMultipartUploadSplitIntoChunks() {
+        when(s3Service.createMultipartUpload(anyString(), eq("image/png"))).thenReturn(UPLOAD_ID);
+
+        ChunkedUploadResponse response = service.createChunked(request(CHUNKED_SIZE));
+
+        ArgumentCaptor<UploadSession> stored = ArgumentCaptor.forClass(UploadSession.class);
+        verify(uploadSessionRepository).insert(stored.capture());
+        assertThat(stored.getValue().getMultipartUploadId()).isEqualTo(UPLOAD_ID);
+        assertThat(response.getTotalChunks()).isEqualTo(2);
+        assertThat(response.getMissingChunks()).containsExactly(1, 2);
+    }
+
+    @Test
+    void chunkOfTheWrongLengthIsRejectedBeforeReachingStorage() {
+        UploadSession session = chunked(Map.of());
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+
+        assertThatThrownBy(() -> service.uploadChunk(session.getId(), 2, SIZE - 1, new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(BadRequestException.class);
+        verify(s3Service, never()).uploadPart(anyString(), anyString(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void chunkIsStreamedIntoItsPartAndRecorded() {
+        UploadSession session = chunked(Map.of());
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[(int) SIZE]);
+        when(s3Service.uploadPart(OBJECT_KEY, UPLOAD_ID, 2, content, SIZE)).thenReturn("etag-2");
+        when(uploadSessionRepository.recordPart(session.getId(), 2, new UploadPart("etag-2", SIZE)))
+                .thenReturn(Optional.of(chunked(Map.of("2", new UploadPart("etag-2", SIZE)))));
+
+        ChunkedUploadResponse response = service.uploadChunk(session.getId(), 2, SIZE, content);
+
+        assertThat(response.getReceivedChunks()).containsExactly(2);
+        assertThat(response.getMissingChunks()).containsExactly(1);
+        assertThat(response.getOffset()).isZero();
+    }
+
+    @Test
+    void completeListsTheChunksStillMissing() {
+        UploadSession session = chunked(Map.of("1", new UploadPart("etag-1", CHUNK)));
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        when(s3Service.headObject(OBJECT_KEY)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.complete(session.getId()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("[2]");
+        verify(s3Service, never()).completeMultipartUpload(anyString(), anyString(), any());
+    }
+
+    @Test
+    void completeAssemblesThePartsInOrder() {
+        UploadSession session = chunked(Map.of("2", new UploadPart("etag-2", SIZE), "1", new UploadPart("etag-1", CHUNK)));
+        when(uploadSessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        when(s3Service.headObject(OBJECT_KEY))
+                .thenReturn(Optional.empty(), Optional.of(new StoredObject(CHUNKED_SIZE, "image/png")));
+        when(uploadSessionRepository.markCompleting(session.getId())).thenReturn(true);
+
+        service.complete(session.getId());
+
+        verify(s3Service).completeMultipartUpload(OBJECT_KEY, UPLOAD_ID, new TreeMap<>(Map.of(1, "etag-1", 2, "etag-2")));
+        verify(galleryService).createFromUpload(eq(session.getId()), any(GalleryStreamRequest.class), eq(OBJECT_KEY));
+    }
+
+    private static UploadSessionRequest request(long size) {
+        return new UploadSessionRequest(GalleryType.GALLERY, "Buffet", "Wedding buffet", "image/png", size);
+    }
+
+    private static UploadSession pending() {
+        UploadSession session = new UploadSession();
+        session.setId(IdGenerator.newId());
+        session.setObjectKey(OBJECT_KEY);
+        session.setType(GalleryType.GALLERY);
+        session.setName("Buffet");
+        session.setDescription("Wedding buffet");
+        session.setContentType("image/png");
+        session.setSize(SIZE);
+        session.setStatus(UploadStatus.PENDING);
+        session.setCreatedAt(LocalDateTime.now());
+        session.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return session;
+    }
+
+    private static UploadSession chunked(Map<String, UploadPart> parts) {
+        UploadSession session = pending();
+        session.setSize(CHUNKED_SIZE);
+        session.setMultipartUploadId(UPLOAD_ID);
+        session.setChunkSize(CHUNK);
+        session.setParts(new HashMap<>(parts));
+        return session;
+    }
+}
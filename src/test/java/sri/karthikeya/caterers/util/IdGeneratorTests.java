@@ -0,0 +1,71 @@
+package sri.karthikeya.caterers.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdGeneratorTests {
+
+    @Test
+    void producesVersion7RfcVariantUuids() {
+        UUID id = IdGenerator.newUuid();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UUID.fromString(IdGenerator.newId()).version()).isEqualTo(7);
+    }
+
+    @Test
+    void embedsTheCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = IdGenerator.newUuid();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // Bursts in other tests can push the counter a few ms ahead of the clock, never behind it
+        assertThat(millis).isGreaterThanOrEqualTo(before).isLessThan(after + 1_000);
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingWithinAMillisecondBurst() {
+        UUID previous = IdGenerator.newUuid();
+        for (int i = 0; i < 20_000; i++) {
+            UUID next = IdGenerator.newUuid();
+            assertThat(next.getMostSignificantBits()).isGreaterThan(previous.getMostSignificantBits());
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverCollide() throws Exception {
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        seen.add(IdGenerator.newUuid());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).hasSize(80_000);
+    }
+}
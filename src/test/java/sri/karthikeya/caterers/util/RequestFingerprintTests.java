@@ -0,0 +1,39 @@
+package sri.karthikeya.caterers.util;
+
+import org.junit.jupiter.api.Test;
+import sri.karthikeya.caterers.exception.custom.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestFingerprintTests {
+
+    @Test
+    void fingerprintSeparatesParts() {
+        assertThat(RequestFingerprint.of("ab", "c")).isNotEqualTo(RequestFingerprint.of("a", "bc"));
+        assertThat(RequestFingerprint.of("stream", 10L, new byte[]{1}))
+                .isNotEqualTo(RequestFingerprint.of("stream", 10L, new byte[]{2}));
+    }
+
+    @Test
+    void readsTheSha256MemberOfAContentDigest() {
+        byte[] digest = RequestFingerprint.sha256().digest("body".getBytes(StandardCharsets.UTF_8));
+        String encoded = Base64.getEncoder().encodeToString(digest);
+
+        assertThat(RequestFingerprint.contentDigest("sha-256=:" + encoded + ":")).isEqualTo(digest);
+        assertThat(RequestFingerprint.contentDigest("sha-512=:AAAA:, sha-256=:" + encoded + ":")).isEqualTo(digest);
+    }
+
+    @Test
+    void rejectsContentDigestsWithoutAUsableSha256() {
+        assertThatThrownBy(() -> RequestFingerprint.contentDigest("sha-512=:AAAA:"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RequestFingerprint.contentDigest("sha-256=:AAAA:"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RequestFingerprint.contentDigest("sha-256=not-base64"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,31 @@
+package sri.karthikeya.caterers.util;
+
+import org.junit.jupiter.api.Test;
+import sri.karthikeya.caterers.exception.custom.PreconditionRequiredException;
+import sri.karthikeya.caterers.exception.custom.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValidationUtilTests {
+
+    @Test
+    void parsesStrongAndWeakVersionTags() {
+        assertThat(ValidationUtil.parseVersion("\"3\"", true)).isEqualTo(3L);
+        assertThat(ValidationUtil.parseVersion("W/\"4\"", false)).isEqualTo(4L);
+    }
+
+    @Test
+    void missingIfMatchIsUnconditionalUnlessRequired() {
+        assertThat(ValidationUtil.parseVersion(null, false)).isNull();
+        assertThat(ValidationUtil.parseVersion(" ", false)).isNull();
+        assertThatThrownBy(() -> ValidationUtil.parseVersion(null, true))
+                .isInstanceOf(PreconditionRequiredException.class);
+    }
+
+    @Test
+    void rejectsNonNumericVersions() {
+        assertThatThrownBy(() -> ValidationUtil.parseVersion("\"abc\"", false))
+                .isInstanceOf(ValidationException.class);
+    }
+}